@@ -0,0 +1,190 @@
+package com.bank.bench;
+
+import com.bank.exception.BankingException;
+import com.bank.model.Transaction;
+import com.bank.service.BatchResult;
+import com.bank.service.OperationBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Core {@link com.bank.service.BankService} operations against random accounts.
+ *
+ * Throughput mode gives operations per second; sample-time mode gives the latency
+ * distribution with percentiles. Thread count and the GC profiler (allocation rate)
+ * come from the command line or {@link BenchmarkRunner}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "--add-modules=jdk.incubator.vector"})
+public class BankServiceBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final double DECLINED_AMOUNT = 900_000.0;
+
+    /**
+     * Per-thread random source, so threads do not contend on picking accounts.
+     */
+    @State(Scope.Thread)
+    public static class Picker {
+        private final SplittableRandom random = new SplittableRandom();
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    /**
+     * Checking accounts whose histories are seeded to {@code historyDepth} entries and
+     * then kept on the heap or moved to the mapped or tiered store. Only a sample of
+     * accounts is seeded: deep histories on every account of the largest banks would
+     * not fit in any heap.
+     */
+    @State(Scope.Benchmark)
+    public static class HistoryState {
+        private static final int SEEDED_ACCOUNTS = 1000;
+        private static final int TIERED_HOT_ENTRIES = 64;
+        private static final long TIERED_CACHE_BYTES = 64L << 20;
+
+        @Param({"10", "1000"})
+        public int historyDepth;
+
+        @Param({"heap", "mapped", "tiered"})
+        public String historyStore;
+
+        String[] accounts;
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp(BankState state) throws IOException {
+            accounts = Arrays.copyOf(state.checking, Math.min(SEEDED_ACCOUNTS, state.checking.length));
+            for (String number : accounts) {
+                for (int i = 1; i < historyDepth; i++) { // The initial deposit is the first entry
+                    state.bank.deposit(number, 1.0);
+                }
+            }
+            switch (historyStore) {
+                case "heap" -> { }
+                case "mapped" -> {
+                    directory = Files.createTempDirectory("bank-history");
+                    state.bank.useMappedTransactionHistory(directory);
+                }
+                case "tiered" -> {
+                    directory = Files.createTempDirectory("bank-history");
+                    state.bank.useTieredTransactionHistory(directory, TIERED_HOT_ENTRIES, TIERED_CACHE_BYTES);
+                }
+                default -> throw new IllegalArgumentException("Unknown history store: " + historyStore);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (directory != null) {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void deposit(BankState state, Picker picker) {
+        state.bank.deposit(state.savings[picker.next(state.savings.length)], 1.0);
+    }
+
+    // Scored per deposit, so it compares directly with deposit()
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResult batchDeposit(BankState state, Picker picker) {
+        OperationBatch batch = new OperationBatch(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.deposit(state.savings[picker.next(state.savings.length)], 1.0);
+        }
+        return state.bank.apply(batch);
+    }
+
+    @Benchmark
+    public void withdraw(BankState state, Picker picker) {
+        // Checking accounts have no monthly withdrawal limit
+        state.bank.withdraw(state.checking[picker.next(state.checking.length)], 1.0);
+    }
+
+    // Declines: more than any checking account can cover, reported by exception or by code
+    @Benchmark
+    public boolean declinedWithdraw(BankState state, Picker picker) {
+        try {
+            state.bank.withdraw(state.checking[picker.next(state.checking.length)], DECLINED_AMOUNT);
+            return true;
+        } catch (BankingException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public byte declinedTryWithdraw(BankState state, Picker picker) {
+        return state.bank.tryWithdraw(state.checking[picker.next(state.checking.length)], DECLINED_AMOUNT);
+    }
+
+    @Benchmark
+    public void transfer(BankState state, Picker picker) {
+        int from = picker.next(state.checking.length);
+        int to = picker.next(state.checking.length);
+        if (from == to) {
+            to = (to + 1) % state.checking.length;
+        }
+        if (from != to) {
+            state.bank.transfer(state.checking[from], state.checking[to], 1.0);
+        }
+    }
+
+    @Benchmark
+    public Object getAccount(BankState state, Picker picker) {
+        return state.bank.getAccount(state.savings[picker.next(state.savings.length)]);
+    }
+
+    @Benchmark
+    public Object getAccountsByHolder(BankState state, Picker picker) {
+        return state.bank.getAccountsByHolder(state.holders[picker.next(state.holders.length)]);
+    }
+
+    @Benchmark
+    public String getBankSummary(BankState state) {
+        return state.bank.getBankSummary();
+    }
+
+    @Benchmark
+    public long getTransactionHistory(BankState state, HistoryState seeded, Picker picker) {
+        List<Transaction> history = state.bank.getAccount(seeded.accounts[picker.next(seeded.accounts.length)])
+                .getTransactionHistory();
+        long total = 0;
+        for (Transaction transaction : history) {
+            total += transaction.getAmountCents();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.bench;
+
+import com.bank.service.BankService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+/**
+ * A populated bank shared by all benchmark threads: half savings, half checking,
+ * with two accounts per holder name.
+ *
+ * Balances are large enough that withdrawals and transfers never run dry during a
+ * trial. Ten million accounts need several gigabytes of heap.
+ */
+@State(Scope.Benchmark)
+public class BankState {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int accounts;
+
+    public BankService bank;
+    public String[] savings;
+    public String[] checking;
+    public String[] holders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bank = new BankService("Benchmark Bank");
+        int pairs = Math.max(1, accounts / 2);
+        savings = new String[pairs];
+        checking = new String[pairs];
+        holders = new String[pairs];
+        for (int i = 0; i < pairs; i++) {
+            holders[i] = "Holder " + i;
+            savings[i] = bank.createSavingsAccount(holders[i], 1_000_000.0, 0.03).getAccountNumber();
+            checking[i] = bank.createCheckingAccount(holders[i], 1_000_000.0, 1_000.0).getAccountNumber();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        bank.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.format.ResultFormatType;
+
+/**
+ * Runs the operation benchmarks once per thread count with the GC profiler, writing
+ * one JSON result file per thread count for comparison against earlier runs.
+ *
+ * Usage: {@code BenchmarkRunner [accountCounts] [threadCounts] [outputPrefix]}, for
+ * example {@code BenchmarkRunner 1000,100000 1,4,16 results/bank}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String[] accountCounts = (args.length > 0 ? args[0] : "1000,100000,1000000,10000000").split(",");
+        String[] threadCounts = (args.length > 1 ? args[1] : "1,4,16").split(",");
+        String output = args.length > 2 ? args[2] : "bank-bench";
+
+        for (String threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(BankServiceBenchmark.class.getSimpleName())
+                    .param("accounts", accountCounts)
+                    .threads(Integer.parseInt(threads))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(output + "-t" + threads + ".json");
+            new Runner(options.build()).run();
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(MaintenanceBenchmark.class.getSimpleName())
+                .param("accounts", accountCounts)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output + "-maintenance.json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.bench;
+
+import com.bank.model.Account;
+import com.bank.server.BankHttpServer;
+import com.bank.service.BankService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load against the HTTP server: for each concurrency level, that many
+ * clients send requests back to back for a fixed time, and the throughput and latency
+ * percentiles are printed, showing where adding clients stops adding throughput.
+ *
+ * The mix is 60% deposits, 20% withdrawals (some declined) and 20% balance reads over
+ * random accounts. Without a URL the bank and server are started in-process.
+ *
+ * Usage: {@code HttpLoadGenerator [accounts] [concurrencies] [seconds] [serverThreads] [url]},
+ * for example {@code HttpLoadGenerator 10000 1,4,16,64 10 64}.
+ */
+public class HttpLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String[] concurrencies = (args.length > 1 ? args[1] : "1,4,16,64").split(",");
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int serverThreads = args.length > 3 ? Integer.parseInt(args[3]) : BankHttpServer.DEFAULT_THREADS;
+
+        BankHttpServer server = null;
+        String url;
+        List<String> accountNumbers = new ArrayList<>();
+        if (args.length > 4) {
+            url = args[4];
+            HttpClient setup = HttpClient.newHttpClient();
+            for (int i = 0; i < accountCount; i++) {
+                String created = send(setup, post(url + "/accounts",
+                        "{\"type\":\"savings\",\"holder\":\"Load " + i + "\",\"initialDeposit\":1000}")).body();
+                accountNumbers.add(accountNumberOf(created));
+            }
+        } else {
+            BankService bank = new BankService("Load Bank");
+            for (int i = 0; i < accountCount; i++) {
+                Account account = bank.createSavingsAccount("Load " + i, 1000.0);
+                accountNumbers.add(account.getAccountNumber());
+            }
+            BankHttpServer.enableNoDelay();
+            server = new BankHttpServer(bank, new InetSocketAddress("127.0.0.1", 0), serverThreads);
+            server.start();
+            url = "http://127.0.0.1:" + server.getPort();
+        }
+
+        System.out.printf("%d accounts, %d s per level, %s%n", accountCount, seconds, url);
+        System.out.printf("%8s %12s %10s %10s %10s %8s%n", "clients", "requests/s", "p50 (us)", "p99 (us)",
+                "max (us)", "errors");
+        try {
+            for (String level : concurrencies) {
+                run(url, accountNumbers, Integer.parseInt(level), seconds);
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void run(String url, List<String> accountNumbers, int clients, int seconds)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        int[] errors = new int[clients];
+
+        // Warm up for a second at this level, then measure
+        long warmupEnd = System.nanoTime() + 1_000_000_000L;
+        long end = warmupEnd + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[1 << 16];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        String accountNumber = accountNumbers.get(random.nextInt(accountNumbers.size()));
+                        String account = url + "/accounts/" + accountNumber;
+                        int pick = random.nextInt(10);
+                        HttpRequest request = pick < 6 ? post(account + "/deposit", "{\"amount\":10.00}")
+                                : pick < 8 ? post(account + "/withdraw", "{\"amount\":25.00}")
+                                : HttpRequest.newBuilder(URI.create(account)).GET().build();
+                        int status;
+                        try {
+                            status = send(http, request).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long finished = System.nanoTime();
+                        if (now < warmupEnd) {
+                            continue;
+                        }
+                        if (status != 200 && status != 422) {
+                            errors[client]++;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = finished - now;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[client] = samples;
+                    counts[client] = count;
+                    done.countDown();
+                }
+            }, "bank-load");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int position = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, position, counts[c]);
+            position += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf("%8d %12.0f %10.1f %10.1f %10.1f %8d%n", clients, total / (double) seconds,
+                percentile(all, 0.50) / 1000.0, percentile(all, 0.99) / 1000.0,
+                total == 0 ? 0 : all[total - 1] / 1000.0, Arrays.stream(errors).sum());
+    }
+
+    // Account responses start with {"accountNumber":"..."
+    private static String accountNumberOf(String json) {
+        int start = json.indexOf(':') + 2;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, (long) (sorted.length * fraction))];
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpClient http, HttpRequest request)
+            throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
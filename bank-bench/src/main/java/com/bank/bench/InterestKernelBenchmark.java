@@ -0,0 +1,98 @@
+package com.bank.bench;
+
+import com.bank.model.Account;
+import com.bank.model.CheckingAccount;
+import com.bank.model.Money;
+import com.bank.model.SavingsAccount;
+import com.bank.service.InterestKernel;
+import com.bank.service.ScalarInterestKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly interest for a whole bank: one virtual call chain per account object versus
+ * the batch kernels over struct-of-arrays copies of the same balances and rates.
+ *
+ * Only the computation is measured; posting is the same per-account work either way.
+ * The per-object path visits accounts in shuffled order, as a hash-map registry does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class InterestKernelBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int accounts;
+
+    private Account[] registry;
+    private long[] balances;
+    private double[] rates;
+    private long[] interest;
+    private final InterestKernel scalar = new ScalarInterestKernel();
+    private final InterestKernel vector = InterestKernel.best();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Account> created = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            double deposit = 100 + random.nextInt(1_000_000) / 100.0;
+            created.add(i % 2 == 0
+                    ? new SavingsAccount("SAV-" + i, "Holder " + i, deposit, 0.01 + random.nextInt(10) / 100.0)
+                    : new CheckingAccount("CHK-" + i, "Holder " + i, deposit));
+        }
+        Collections.shuffle(created, random);
+        registry = created.toArray(new Account[0]);
+
+        balances = new long[accounts];
+        rates = new double[accounts];
+        interest = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            balances[i] = registry[i].getBalanceCents();
+            rates[i] = registry[i].getInterestRate() / 12;
+        }
+    }
+
+    @Benchmark
+    public long perObject() {
+        long total = 0;
+        for (Account account : registry) {
+            long balance = account.getBalanceCents();
+            if (balance > 0) {
+                total += Money.multiply(balance, account.getInterestRate() / 12, RoundingMode.HALF_EVEN);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long[] scalarKernel() {
+        scalar.computeInterest(balances, rates, interest, accounts);
+        return interest;
+    }
+
+    @Benchmark
+    public long[] vectorKernel() {
+        vector.computeInterest(balances, rates, interest, accounts);
+        return interest;
+    }
+}
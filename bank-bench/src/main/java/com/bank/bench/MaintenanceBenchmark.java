@@ -0,0 +1,31 @@
+package com.bank.bench;
+
+import com.bank.service.MaintenanceReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full month-end run over every account, timed run by run. Maintenance is
+ * parallel internally, so the benchmark itself uses a single thread.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Threads(1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "--add-modules=jdk.incubator.vector"})
+public class MaintenanceBenchmark {
+
+    @Benchmark
+    public MaintenanceReport performMonthlyMaintenance(BankState state) {
+        return state.bank.performMonthlyMaintenance();
+    }
+}
@@ -0,0 +1,127 @@
+package com.bank.bench;
+
+import com.bank.model.OperationStatus;
+import com.bank.server.BankWireClient;
+import com.bank.server.BankWireServer;
+import com.bank.service.BankService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipelined load over the binary protocol: for each connection count and pipeline depth
+ * (requests in flight per connection), clients keep the pipeline full of deposits and
+ * withdrawals over random accounts for a fixed time, and operations per second are
+ * printed. Depth 1 is plain request/response; deeper pipelines show what batching the
+ * replies and the bank operations buys.
+ *
+ * Without a host the bank and server are started in-process with the given number of
+ * accounts; against a running server, the first argument lists existing account numbers
+ * instead (the protocol does not open accounts).
+ *
+ * Usage: {@code WireLoadGenerator [accounts] [connections] [depths] [seconds] [host:port]},
+ * for example {@code WireLoadGenerator 10000 1,4 1,16,256,2048 5}, or
+ * {@code WireLoadGenerator SAV-1001,CHK-1003 1 256 5 localhost:9090}.
+ */
+public class WireLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String accounts = args.length > 0 ? args[0] : "10000";
+        String[] connectionCounts = (args.length > 1 ? args[1] : "1,4").split(",");
+        String[] depths = (args.length > 2 ? args[2] : "1,16,256,2048").split(",");
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        String[] accountNumbers;
+        BankWireServer server = null;
+        String host;
+        int port;
+        if (args.length > 4) {
+            host = args[4].substring(0, args[4].lastIndexOf(':'));
+            port = Integer.parseInt(args[4].substring(args[4].lastIndexOf(':') + 1));
+            accountNumbers = accounts.split(",");
+        } else {
+            BankService bank = new BankService("Load Bank");
+            accountNumbers = new String[Integer.parseInt(accounts)];
+            for (int i = 0; i < accountNumbers.length; i++) {
+                accountNumbers[i] = bank.createSavingsAccount("Load " + i, 1000.0).getAccountNumber();
+            }
+            server = new BankWireServer(bank, new InetSocketAddress("127.0.0.1", 0),
+                    Runtime.getRuntime().availableProcessors());
+            server.start();
+            host = "127.0.0.1";
+            port = server.getPort();
+        }
+
+        System.out.printf("%d accounts, %d s per run, %s:%d%n", accountNumbers.length, seconds, host, port);
+        System.out.printf("%12s %8s %14s %10s%n", "connections", "depth", "operations/s", "declined");
+        // Withdrawals are a quarter of the mix; most decline once accounts reach their monthly limit
+        try {
+            for (String connections : connectionCounts) {
+                for (String depth : depths) {
+                    run(host, port, accountNumbers, Integer.parseInt(connections), Integer.parseInt(depth), seconds);
+                }
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void run(String host, int port, String[] accountNumbers, int connections, int depth,
+                            int seconds) throws InterruptedException {
+        AtomicLong operations = new AtomicLong();
+        AtomicLong declined = new AtomicLong();
+        long warmupEnd = System.nanoTime() + 1_000_000_000L;
+        long end = warmupEnd + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(connections);
+        for (int c = 0; c < connections; c++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long counted = 0;
+                long refused = 0;
+                try (BankWireClient client = new BankWireClient(host, port)) {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        while (client.getOutstanding() < depth) {
+                            String account = accountNumbers[random.nextInt(accountNumbers.length)];
+                            if (random.nextInt(4) == 0) {
+                                client.sendWithdraw(account, 2_500);
+                            } else {
+                                client.sendDeposit(account, 1_000);
+                            }
+                        }
+                        // Take half the replies, then top the pipeline up again
+                        for (int i = Math.max(1, depth / 2); i > 0; i--) {
+                            byte status = client.receiveStatus();
+                            if (now >= warmupEnd) {
+                                counted++;
+                                if (status != OperationStatus.OK) {
+                                    refused++;
+                                }
+                            }
+                        }
+                    }
+                    while (client.getOutstanding() > 0) {
+                        client.receiveStatus();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    operations.addAndGet(counted);
+                    declined.addAndGet(refused);
+                    done.countDown();
+                }
+            }, "bank-wire-load");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        System.out.printf("%12d %8d %14.0f %9.1f%%%n", connections, depth, operations.get() / (double) seconds,
+                100.0 * declined.get() / Math.max(1, operations.get()));
+    }
+}
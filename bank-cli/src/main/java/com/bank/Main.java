@@ -1,18 +1,42 @@
 package com.bank;
 
+import com.bank.server.BankHttpServer;
+import com.bank.server.BankWireServer;
 import com.bank.service.BankService;
 import com.bank.ui.BankCLI;
 
+import java.io.IOException;
+
 /**
  * Main entry point for the Bank Management System.
+ *
+ * With no arguments, runs the interactive CLI; {@code serve [port] [wirePort]} serves the
+ * same demo bank over HTTP instead (see {@link BankHttpServer}), and over the binary
+ * protocol too if a second port is given (see {@link BankWireServer}).
  */
 public class Main {
-    public static void main(String[] args) {
+    private static final int DEFAULT_PORT = 8080;
+
+    public static void main(String[] args) throws IOException {
         // Initialize the bank service
         BankService bankService = new BankService("First National Bank");
         
         // Create some demo accounts for testing
         createDemoAccounts(bankService);
+
+        if (args.length > 0 && args[0].equals("serve")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            BankHttpServer.enableNoDelay();
+            BankHttpServer server = new BankHttpServer(bankService, port);
+            server.start();
+            System.out.println("\n[Serving on http://localhost:" + server.getPort() + "/ - Ctrl+C to stop]");
+            if (args.length > 2) {
+                BankWireServer wireServer = new BankWireServer(bankService, Integer.parseInt(args[2]));
+                wireServer.start();
+                System.out.println("[Binary protocol on port " + wireServer.getPort() + "]");
+            }
+            return; // The HTTP dispatcher thread keeps the JVM running
+        }
         
         // Start the CLI interface
         BankCLI cli = new BankCLI(bankService);
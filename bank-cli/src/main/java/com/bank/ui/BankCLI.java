@@ -3,6 +3,12 @@ package com.bank.ui;
 import com.bank.exception.*;
 import com.bank.model.*;
 import com.bank.service.BankService;
+import com.bank.service.MaintenanceReport;
+import com.bank.service.StatementExporter;
+import com.bank.service.StatementFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
 import java.util.List;
 import java.util.Scanner;
 
@@ -13,6 +19,7 @@ import java.util.Scanner;
 public class BankCLI {
     private final BankService bankService;
     private final Scanner scanner;
+    private final StatementExporter statementExporter = new StatementExporter(StatementFormat.FIXED_WIDTH);
     private boolean running;
 
     private static final String ANSI_RESET = "\u001B[0m";
@@ -190,21 +197,24 @@ public class BankCLI {
         String accountNumber = getStringInput("Enter account number: ");
         
         Account account = bankService.getAccount(accountNumber);
-        List<Transaction> transactions = account.getTransactionHistory();
         
         System.out.println("\n" + ANSI_BOLD + "Transaction History for " + accountNumber + ANSI_RESET);
         System.out.println(String.format("Account Holder: %s | Current Balance: $%.2f\n",
                 account.getAccountHolder(), account.getBalance()));
         
-        if (transactions.isEmpty()) {
+        if (account.getTransactionCount() == 0) {
             System.out.println("  No transactions found.");
         } else {
-            System.out.println(Transaction.getTableHeader());
-            for (Transaction t : transactions) {
-                System.out.println(t);
+            // Streamed row by row, so long histories are never held as a list
+            long rows;
+            try {
+                rows = statementExporter.export(account, Channels.newChannel(System.out));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+            System.out.flush();
             System.out.println("-".repeat(100));
-            System.out.println(String.format("Total transactions: %d", transactions.size()));
+            System.out.println(String.format("Total transactions: %d", rows));
         }
     }
 
@@ -214,9 +224,10 @@ public class BankCLI {
         String confirm = getStringInput("Proceed? (yes/no): ");
         
         if (confirm.equalsIgnoreCase("yes") || confirm.equalsIgnoreCase("y")) {
-            bankService.performMonthlyMaintenance();
+            MaintenanceReport report = bankService.performMonthlyMaintenance();
             printSuccess("Monthly maintenance completed!");
-            System.out.println("  - Interest applied to all accounts");
+            System.out.println("  - Interest applied to " + report.getAccountsProcessed() + " accounts ("
+                    + Money.format(report.getInterestPostedCents()) + ")");
             System.out.println("  - Savings withdrawal counters reset");
         } else {
             System.out.println("  Operation cancelled.");
@@ -5,6 +5,6 @@ package com.bank.exception;
  */
 public class AccountNotFoundException extends BankingException {
     public AccountNotFoundException(String accountNumber) {
-        super("Account not found: " + accountNumber);
+        super(() -> "Account not found: " + accountNumber); // Stackless, see BankingException
     }
 }
@@ -0,0 +1,34 @@
+package com.bank.exception;
+
+import java.util.function.Supplier;
+
+/**
+ * Base exception class for all banking-related exceptions.
+ */
+public class BankingException extends RuntimeException {
+    private final Supplier<String> lazyMessage;
+
+    public BankingException(String message) {
+        super(message);
+        this.lazyMessage = null;
+    }
+
+    public BankingException(String message, Throwable cause) {
+        super(message, cause);
+        this.lazyMessage = null;
+    }
+
+    /**
+     * For routine declines: no stack trace is captured, and the message is only
+     * formatted if it is read. Such instances are safe to preallocate and share.
+     */
+    protected BankingException(Supplier<String> message) {
+        super(null, null, false, false);
+        this.lazyMessage = message;
+    }
+
+    @Override
+    public String getMessage() {
+        return lazyMessage != null ? lazyMessage.get() : super.getMessage();
+    }
+}
@@ -1,10 +1,17 @@
 package com.bank.exception;
 
+import java.util.function.Supplier;
+
 /**
  * Thrown when an account has insufficient funds for a transaction.
  */
 public class InsufficientFundsException extends BankingException {
     public InsufficientFundsException(String message) {
+        this(() -> message);
+    }
+
+    // Stackless, see BankingException
+    public InsufficientFundsException(Supplier<String> message) {
         super(message);
     }
 }
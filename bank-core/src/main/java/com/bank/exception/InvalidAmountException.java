@@ -1,10 +1,17 @@
 package com.bank.exception;
 
+import java.util.function.Supplier;
+
 /**
  * Thrown when a transaction amount is invalid (negative, zero, or exceeds limits).
  */
 public class InvalidAmountException extends BankingException {
     public InvalidAmountException(String message) {
+        this(() -> message);
+    }
+
+    // Stackless, see BankingException
+    public InvalidAmountException(Supplier<String> message) {
         super(message);
     }
 }
@@ -1,5 +1,7 @@
 package com.bank.exception;
 
+import java.util.function.Supplier;
+
 /**
  * Thrown when a transfer operation fails.
  */
@@ -11,4 +13,9 @@ public class TransferException extends BankingException {
     public TransferException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    // Stackless, for declined transfers; see BankingException
+    public TransferException(Supplier<String> message) {
+        super(message);
+    }
 }
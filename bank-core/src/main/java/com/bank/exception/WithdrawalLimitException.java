@@ -1,10 +1,17 @@
 package com.bank.exception;
 
+import java.util.function.Supplier;
+
 /**
  * Thrown when withdrawal limit has been reached (for savings accounts).
  */
 public class WithdrawalLimitException extends BankingException {
     public WithdrawalLimitException(String message) {
+        this(() -> message);
+    }
+
+    // Stackless, see BankingException
+    public WithdrawalLimitException(Supplier<String> message) {
         super(message);
     }
 }
@@ -0,0 +1,576 @@
+package com.bank.model;
+
+import com.bank.exception.BankingException;
+import com.bank.exception.InsufficientFundsException;
+import com.bank.exception.InvalidAmountException;
+import com.bank.exception.WithdrawalLimitException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Abstract base class for all bank accounts.
+ * Demonstrates OOP principles: Abstraction, Encapsulation
+ */
+public abstract class Account {
+    protected final String accountNumber;
+    protected final String accountHolder;
+    protected long balance; // in cents
+    protected LocalDateTime createdAt;
+    private volatile TransactionHistory transactionHistory;
+    private long recordingTime; // While replaying, the time stamped on new entries; 0 means now
+    private final ReentrantLock lock;
+    private volatile long journalSequence;
+    private volatile BalanceListener balanceListener;
+    private volatile int maintenancePeriod;
+
+    // Rounding applied when interest lands between two cents
+    protected static final RoundingMode INTEREST_ROUNDING = RoundingMode.HALF_EVEN;
+    private static final long MAX_TRANSACTION_CENTS = 100_000_000; // $1,000,000
+
+    // Stackless, so one instance of each can be thrown everywhere
+    private static final InvalidAmountException NOT_POSITIVE =
+        new InvalidAmountException("Amount must be positive");
+    private static final InvalidAmountException OVER_LIMIT =
+        new InvalidAmountException("Amount exceeds maximum transaction limit of $1,000,000");
+
+    /**
+     * Receives every change to an account's balance, in cents, as it is applied.
+     * The overdraft delta is the change in overdraft in use (checking accounts only).
+     */
+    @FunctionalInterface
+    public interface BalanceListener {
+        void balanceChanged(long balanceDelta, long overdraftDelta);
+    }
+
+    public Account(String accountNumber, String accountHolder, double initialBalance) {
+        if (initialBalance < 0) {
+            throw new IllegalArgumentException("Initial balance cannot be negative");
+        }
+        this.accountNumber = accountNumber;
+        this.accountHolder = accountHolder;
+        this.balance = Money.toCents(initialBalance);
+        this.createdAt = LocalDateTime.now();
+        this.transactionHistory = newTransactionHistory(transactionIdPrefix());
+        this.lock = new ReentrantLock();
+
+        if (balance > 0) {
+            recordTransaction(Transaction.TransactionType.DEPOSIT, balance, TransactionDescription.INITIAL_DEPOSIT);
+        }
+    }
+
+    /**
+     * Restores an account from a snapshot written by {@link #writeSnapshot}.
+     */
+    protected Account(DataInput in) throws IOException {
+        this.accountNumber = in.readUTF();
+        this.accountHolder = in.readUTF();
+        this.createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        this.balance = in.readLong();
+        this.journalSequence = in.readLong();
+        this.maintenancePeriod = in.readInt();
+        this.transactionHistory = newTransactionHistory(transactionIdPrefix());
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Transaction.TransactionType type = Transaction.TransactionType.values()[in.readByte()];
+            long amount = in.readLong();
+            long balanceAfter = in.readLong();
+            long timestamp = in.readLong();
+            TransactionDescription description = TransactionDescription.fromCode(in.readByte());
+            transactionHistory.append(type, amount, balanceAfter, timestamp, description, in.readLong());
+        }
+        this.lock = new ReentrantLock();
+    }
+
+    // Abstract methods - must be implemented by subclasses (Polymorphism)
+    public abstract String getAccountType();
+    public abstract double getInterestRate();
+    public abstract boolean canWithdraw(double amount);
+
+    /**
+     * Posts interest for the given number of monthly periods at once, compounded monthly
+     * and rounded once. Accrual uses this to catch up accounts nobody touched.
+     */
+    public abstract void applyInterest(int periods);
+
+    public void applyInterest() {
+        applyInterest(1);
+    }
+
+    /**
+     * Posts interest computed elsewhere, such as by a batch kernel, from a balance read
+     * earlier. Nothing is posted, and false is returned, if the balance has moved since.
+     */
+    public abstract boolean postInterest(long quotedBalanceCents, long interestCents, int periods);
+
+    // Template method for withdrawal - uses canWithdraw() polymorphically
+    public void withdraw(double amount) throws InsufficientFundsException, InvalidAmountException {
+        long cents = toValidatedCents(amount);
+        byte status = withdrawCents(cents);
+        if (status != OperationStatus.OK) {
+            throw declined(status, cents);
+        }
+    }
+
+    public void deposit(double amount) throws InvalidAmountException {
+        depositCents(toValidatedCents(amount));
+    }
+
+    /**
+     * Withdraws without throwing: a decline is returned as an {@link OperationStatus}
+     * code, and {@link #declineReason} explains it if anyone asks.
+     */
+    public byte tryWithdraw(long cents) {
+        if (!isValidAmountCents(cents)) {
+            return OperationStatus.INVALID_AMOUNT;
+        }
+        return withdrawCents(cents);
+    }
+
+    public byte tryDeposit(long cents) {
+        if (!isValidAmountCents(cents)) {
+            return OperationStatus.INVALID_AMOUNT;
+        }
+        depositCents(cents);
+        return OperationStatus.OK;
+    }
+
+    /**
+     * Withdraws a validated amount, or leaves the account unchanged and returns why not.
+     */
+    protected byte withdrawCents(long cents) {
+        if (!canWithdraw(Money.toDollars(cents))) {
+            return OperationStatus.INSUFFICIENT_FUNDS;
+        }
+        balance = Money.subtract(balance, cents);
+        recordTransaction(Transaction.TransactionType.WITHDRAWAL, cents, TransactionDescription.CASH_WITHDRAWAL);
+        notifyBalanceChange(-cents, 0);
+        return OperationStatus.OK;
+    }
+
+    protected void depositCents(long cents) {
+        balance = Money.add(balance, cents);
+        recordTransaction(Transaction.TransactionType.DEPOSIT, cents, TransactionDescription.CASH_DEPOSIT);
+        notifyBalanceChange(cents, 0);
+    }
+
+    /**
+     * Explains a status from {@link #tryWithdraw} or {@link #tryDeposit} for the given
+     * amount, against the account as it is now.
+     */
+    public String declineReason(byte status, long cents) {
+        return switch (status) {
+            case OperationStatus.INVALID_AMOUNT -> (cents <= 0 ? NOT_POSITIVE : OVER_LIMIT).getMessage();
+            case OperationStatus.INSUFFICIENT_FUNDS -> insufficientFundsReason(cents, getAvailableBalanceCents());
+            case OperationStatus.WITHDRAWAL_LIMIT -> withdrawalLimitReason();
+            default -> OperationStatus.describe(status);
+        };
+    }
+
+    protected String insufficientFundsReason(long cents, long availableCents) {
+        return String.format("Cannot withdraw $%.2f. Available: $%.2f",
+            Money.toDollars(cents), Money.toDollars(availableCents));
+    }
+
+    protected String withdrawalLimitReason() {
+        return OperationStatus.describe(OperationStatus.WITHDRAWAL_LIMIT);
+    }
+
+    // The message is only formatted if read, but from the balance as of the decline
+    private BankingException declined(byte status, long cents) {
+        if (status == OperationStatus.WITHDRAWAL_LIMIT) {
+            return new WithdrawalLimitException(this::withdrawalLimitReason);
+        }
+        long availableCents = getAvailableBalanceCents();
+        return new InsufficientFundsException(() -> insufficientFundsReason(cents, availableCents));
+    }
+
+    protected void validateAmount(double amount) throws InvalidAmountException {
+        toValidatedCents(amount);
+    }
+
+    /**
+     * Validates a transaction amount and converts it to cents.
+     */
+    protected long toValidatedCents(double amount) throws InvalidAmountException {
+        long cents = Money.toCents(amount);
+        if (amount <= 0 || cents <= 0) {
+            throw NOT_POSITIVE;
+        }
+        if (cents > MAX_TRANSACTION_CENTS) {
+            throw OVER_LIMIT;
+        }
+        return cents;
+    }
+
+    /**
+     * Whether a transaction amount in cents would pass {@link #toValidatedCents}.
+     */
+    public static boolean isValidAmountCents(long cents) {
+        return cents > 0 && cents <= MAX_TRANSACTION_CENTS;
+    }
+
+    /**
+     * Prefix of this account's transaction ids; see {@link Transaction#formatId}.
+     */
+    public String transactionIdPrefix() {
+        return accountNumber.substring(0, 4);
+    }
+
+    protected void recordTransaction(Transaction.TransactionType type, long amount,
+                                     TransactionDescription description) {
+        recordTransaction(type, amount, balance, description, 0);
+    }
+
+    protected void recordTransaction(Transaction.TransactionType type, long amount,
+                                     TransactionDescription description, long descriptionArgument) {
+        recordTransaction(type, amount, balance, description, descriptionArgument);
+    }
+
+    // Amounts are in cents; allocation-free apart from occasional history growth
+    protected void recordTransaction(Transaction.TransactionType type, long amount, long balanceAfter,
+                                     TransactionDescription description, long descriptionArgument) {
+        transactionHistory.append(type, amount, balanceAfter, recordingTimestamp(), description, descriptionArgument);
+    }
+
+    /**
+     * Records a transaction without the account lock when the history takes concurrent
+     * appends. Returns false, recording nothing, when it does not (it was moved to a
+     * store, or is being moved); the caller then records under the lock instead.
+     */
+    protected boolean recordConcurrently(Transaction.TransactionType type, long amount, long balanceAfter,
+                                         TransactionDescription description, long descriptionArgument) {
+        return transactionHistory instanceof ConcurrentTransactionHistory history
+                && history.tryAppend(type, amount, balanceAfter, recordingTimestamp(), description,
+                        descriptionArgument);
+    }
+
+    private long recordingTimestamp() {
+        return recordingTime != 0 ? recordingTime : Transaction.currentEpochNanos();
+    }
+
+    // Storage for a new account's history; lock-free accounts use one that needs no lock to append
+    protected TransactionHistory newTransactionHistory(String idPrefix) {
+        return new InMemoryTransactionHistory(idPrefix);
+    }
+
+    // Stops lock-free appends to the current history before it is copied and replaced
+    private TransactionHistory sealedHistory() {
+        TransactionHistory history = transactionHistory;
+        if (history instanceof ConcurrentTransactionHistory concurrent) {
+            concurrent.seal();
+        }
+        return history;
+    }
+
+    /**
+     * Runs the action with every transaction it records stamped at the given time instead
+     * of now, so an account rebuilt from its journal keeps its original times. Callers
+     * must hold the account lock.
+     */
+    public void recordAt(long epochNanos, Runnable action) {
+        recordingTime = epochNanos;
+        try {
+            action.run();
+        } finally {
+            recordingTime = 0;
+        }
+    }
+
+    /**
+     * Gives an account rebuilt from its journal its original creation time, restamping
+     * the initial deposit recorded when it was constructed. Only for accounts not yet
+     * registered with a bank.
+     */
+    public void restoreCreatedAt(long epochNanos) {
+        createdAt = Transaction.fromEpochNanos(epochNanos);
+        TransactionHistory source = sealedHistory();
+        TransactionHistory restamped = newTransactionHistory(transactionIdPrefix());
+        for (int i = 0; i < source.size(); i++) {
+            Transaction transaction = source.get(i);
+            restamped.append(transaction.getType(), transaction.getAmountCents(), transaction.getBalanceAfterCents(),
+                epochNanos, transaction.getDescriptionCode(), transaction.getDescriptionArgument());
+        }
+        transactionHistory = restamped;
+    }
+
+    /**
+     * Sets the balance of an account migrated from another system, without recording a
+     * transaction. Only for accounts not yet registered with a bank.
+     */
+    public void importBalance(long balanceCents) {
+        if (balanceCents < 0) {
+            throw new IllegalArgumentException("Balance cannot be negative");
+        }
+        balance = balanceCents;
+    }
+
+    /**
+     * Appends a transaction recorded by another system, with its original timestamp and
+     * balance, leaving the current balance alone. Callers must hold the account lock.
+     */
+    public void importTransaction(Transaction.TransactionType type, long amountCents, long balanceAfterCents,
+                                  long epochNanos, TransactionDescription description, long descriptionArgument) {
+        transactionHistory.append(type, amountCents, balanceAfterCents, epochNanos, description, descriptionArgument);
+    }
+
+    /**
+     * Whether the history already holds an entry identical to this one in every field,
+     * so an interrupted history import can be rerun. Callers must hold the account lock.
+     */
+    public boolean hasTransaction(Transaction.TransactionType type, long amountCents, long balanceAfterCents,
+                                  long epochNanos, TransactionDescription description, long descriptionArgument) {
+        boolean[] found = new boolean[1];
+        transactionHistory.forEachBetween(epochNanos, epochNanos + 1,
+                (sequence, entryType, amount, balanceAfter, timestamp, entryDescription, argument) ->
+                        found[0] |= entryType == type && amount == amountCents && balanceAfter == balanceAfterCents
+                                && entryDescription == description && argument == descriptionArgument);
+        return found[0];
+    }
+
+    /**
+     * Last maintenance period applied to this account; changed under the account lock.
+     */
+    public int getMaintenancePeriod() {
+        return maintenancePeriod;
+    }
+
+    public void setMaintenancePeriod(int maintenancePeriod) {
+        this.maintenancePeriod = maintenancePeriod;
+    }
+
+    public void setBalanceListener(BalanceListener balanceListener) {
+        this.balanceListener = balanceListener;
+    }
+
+    // Subclasses call this after every successful change to the balance or overdraft
+    protected void notifyBalanceChange(long balanceDelta, long overdraftDelta) {
+        BalanceListener listener = balanceListener;
+        if (listener != null) {
+            listener.balanceChanged(balanceDelta, overdraftDelta);
+        }
+    }
+
+    /**
+     * Copies the history into storage created by the factory (given this account's
+     * transaction id prefix) and switches to it. Callers must hold the account lock;
+     * lock-free appends racing the move fall back to it and land in the new storage.
+     */
+    public void moveTransactionHistory(Function<String, TransactionHistory> factory) {
+        TransactionHistory source = sealedHistory();
+        TransactionHistory target = factory.apply(transactionIdPrefix());
+        for (int i = 0; i < source.size(); i++) {
+            Transaction transaction = source.get(i);
+            target.append(transaction.getType(), transaction.getAmountCents(), transaction.getBalanceAfterCents(),
+                transaction.getEpochNanos(), transaction.getDescriptionCode(), transaction.getDescriptionArgument());
+        }
+        transactionHistory = target;
+    }
+
+    // Getters
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getAccountHolder() {
+        return accountHolder;
+    }
+
+    public double getBalance() {
+        return Money.toDollars(getBalanceCents());
+    }
+
+    public double getAvailableBalance() {
+        return Money.toDollars(getAvailableBalanceCents());
+    }
+
+    public long getBalanceCents() {
+        return balance;
+    }
+
+    public long getAvailableBalanceCents() {
+        return balance;
+    }
+
+    /**
+     * Per-account lock used by the service layer to serialize mutations.
+     * Callers that hold more than one account lock must acquire them in
+     * account-number order to avoid deadlock.
+     */
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Whether this account updates its balance with compare-and-set instead of
+     * relying on the caller holding {@link #getLock()}.
+     */
+    public boolean isLockFree() {
+        return false;
+    }
+
+    /**
+     * Sequence number of the last journal record applied to this account.
+     * Recovery skips records at or below it when replaying over a snapshot.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    public void setJournalSequence(long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
+    // Snapshot support - callers must hold the account lock while writing
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeUTF(getAccountType());
+        out.writeUTF(accountNumber);
+        out.writeUTF(accountHolder);
+        out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(createdAt.getNano());
+        out.writeLong(getBalanceCents());
+        out.writeLong(journalSequence);
+        out.writeInt(maintenancePeriod);
+        TransactionHistory history = transactionHistory;
+        int count = history.size();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = history.get(i);
+            out.writeByte(transaction.getType().ordinal());
+            out.writeLong(transaction.getAmountCents());
+            out.writeLong(transaction.getBalanceAfterCents());
+            out.writeLong(transaction.getEpochNanos());
+            out.writeByte(transaction.getDescriptionCode().ordinal());
+            out.writeLong(transaction.getDescriptionArgument());
+        }
+    }
+
+    public static Account readSnapshot(DataInput in, boolean lockFree) throws IOException {
+        String type = in.readUTF();
+        switch (type) {
+            case "Savings":
+                return lockFree ? new LockFreeSavingsAccount(in) : new SavingsAccount(in);
+            case "Checking":
+                return lockFree ? new LockFreeCheckingAccount(in) : new CheckingAccount(in);
+            default:
+                throw new IOException("Unknown account type in snapshot: " + type);
+        }
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Read-only view that tracks new transactions; entries are materialized on access.
+     */
+    public List<Transaction> getTransactionHistory() {
+        return new HistoryView(transactionHistory, 0, -1);
+    }
+
+    public List<Transaction> getRecentTransactions(int count) {
+        TransactionHistory history = transactionHistory;
+        int size = history.size();
+        return new HistoryView(history, Math.max(0, size - count), size);
+    }
+
+    /**
+     * Transactions recorded at or after {@code from} and before {@code to}, oldest first,
+     * found through the history's time index rather than a scan of the whole history.
+     */
+    public List<Transaction> getTransactionsBetween(LocalDateTime from, LocalDateTime to) {
+        List<Transaction> transactions = new ArrayList<>();
+        String idPrefix = transactionIdPrefix();
+        forEachTransactionBetween(Transaction.toEpochNanos(from), Transaction.toEpochNanos(to),
+            (sequence, type, amount, balanceAfter, timestamp, description, argument) -> transactions.add(
+                new Transaction(idPrefix, sequence, type, amount, balanceAfter, timestamp, description, argument)));
+        return transactions;
+    }
+
+    public void forEachTransactionBetween(long fromNanos, long toNanos, TransactionVisitor visitor) {
+        transactionHistory.forEachBetween(fromNanos, toNanos, visitor);
+    }
+
+    /**
+     * Balance recorded by the last transaction before the given time, or zero if there
+     * was none yet.
+     */
+    public double getBalanceAsOf(LocalDateTime when) {
+        return Money.toDollars(getBalanceCentsAsOf(Transaction.toEpochNanos(when)));
+    }
+
+    public long getBalanceCentsAsOf(long epochNanos) {
+        TransactionHistory history = transactionHistory;
+        int index = history.lastIndexBefore(epochNanos);
+        return index < 0 ? 0 : history.get(index).getBalanceAfterCents();
+    }
+
+    /**
+     * Visits the transactions recorded so far, oldest first, without materializing them.
+     */
+    public void forEachTransaction(TransactionVisitor visitor) {
+        TransactionHistory history = transactionHistory;
+        history.forEach(0, history.size(), visitor);
+    }
+
+    public int getTransactionCount() {
+        return transactionHistory.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s Account [%s] - %s | Balance: $%.2f",
+                getAccountType(), accountNumber, accountHolder, getBalance());
+    }
+
+    public String getDetailedInfo() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("═".repeat(50)).append("\n");
+        sb.append(String.format("  Account Type: %s%n", getAccountType()));
+        sb.append(String.format("  Account Number: %s%n", accountNumber));
+        sb.append(String.format("  Account Holder: %s%n", accountHolder));
+        sb.append(String.format("  Current Balance: $%.2f%n", getBalance()));
+        sb.append(String.format("  Available Balance: $%.2f%n", getAvailableBalance()));
+        sb.append(String.format("  Interest Rate: %.2f%%%n", getInterestRate() * 100));
+        sb.append(String.format("  Total Transactions: %d%n", getTransactionCount()));
+        sb.append("═".repeat(50));
+        return sb.toString();
+    }
+
+    // A live view when end < 0, otherwise the fixed range [start, end)
+    private static final class HistoryView extends AbstractList<Transaction> implements RandomAccess {
+        private final TransactionHistory history;
+        private final int start;
+        private final int end;
+
+        HistoryView(TransactionHistory history, int start, int end) {
+            this.history = history;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return history.get(start + index);
+        }
+
+        @Override
+        public int size() {
+            return (end < 0 ? history.size() : end) - start;
+        }
+    }
+}
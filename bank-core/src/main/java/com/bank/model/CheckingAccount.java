@@ -0,0 +1,252 @@
+package com.bank.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Checking Account with overdraft protection.
+ * Demonstrates: Inheritance, Polymorphism, Method Overriding
+ */
+public class CheckingAccount extends Account {
+    private static final double DEFAULT_OVERDRAFT_LIMIT = 500.0;
+    protected static final double OVERDRAFT_FEE = 35.0;
+    protected static final long OVERDRAFT_FEE_CENTS = Money.toCents(OVERDRAFT_FEE);
+    protected static final double INTEREST_RATE = 0.001; // 0.1% - minimal interest
+    
+    // Amounts in cents
+    private long overdraftLimit;
+    private long currentOverdraft;
+    private int overdraftUsageCount;
+    private long totalOverdraftFees;
+
+    public CheckingAccount(String accountNumber, String accountHolder, double initialBalance) {
+        super(accountNumber, accountHolder, initialBalance);
+        this.overdraftLimit = Money.toCents(DEFAULT_OVERDRAFT_LIMIT);
+        this.currentOverdraft = 0;
+        this.overdraftUsageCount = 0;
+        this.totalOverdraftFees = 0;
+    }
+
+    public CheckingAccount(String accountNumber, String accountHolder, 
+                           double initialBalance, double overdraftLimit) {
+        super(accountNumber, accountHolder, initialBalance);
+        this.overdraftLimit = Money.toCents(overdraftLimit);
+        this.currentOverdraft = 0;
+        this.overdraftUsageCount = 0;
+        this.totalOverdraftFees = 0;
+    }
+
+    CheckingAccount(DataInput in) throws IOException {
+        super(in);
+        this.overdraftLimit = in.readLong();
+        this.currentOverdraft = in.readLong();
+        this.overdraftUsageCount = in.readInt();
+        this.totalOverdraftFees = in.readLong();
+        this.balance += currentOverdraft; // snapshot stores the net balance
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        super.writeSnapshot(out);
+        out.writeLong(getOverdraftLimitCents());
+        out.writeLong(getCurrentOverdraftCents());
+        out.writeInt(getOverdraftUsageCount());
+        out.writeLong(getTotalOverdraftFeesCents());
+    }
+
+    @Override
+    public String getAccountType() {
+        return "Checking";
+    }
+
+    @Override
+    public double getInterestRate() {
+        return INTEREST_RATE;
+    }
+
+    @Override
+    public boolean canWithdraw(double amount) {
+        return Money.toCents(amount) <= getAvailableBalanceCents();
+    }
+
+    @Override
+    protected byte withdrawCents(long cents) {
+        long availableWithOverdraft = balance + (overdraftLimit - currentOverdraft);
+        
+        if (cents > availableWithOverdraft) {
+            return OperationStatus.INSUFFICIENT_FUNDS;
+        }
+        
+        // Check if we need to use overdraft
+        if (cents > balance) {
+            long overdraftNeeded = cents - balance;
+            boolean wasInOverdraft = currentOverdraft > 0;
+            
+            currentOverdraft += overdraftNeeded;
+            balance = 0;
+            
+            // Apply overdraft fee only when entering overdraft (not when already in it)
+            if (!wasInOverdraft) {
+                applyOverdraftFee();
+                overdraftUsageCount++;
+            }
+            
+            recordTransaction(Transaction.TransactionType.WITHDRAWAL, cents,
+                TransactionDescription.OVERDRAFT_WITHDRAWAL, overdraftNeeded);
+            notifyBalanceChange(-cents, overdraftNeeded);
+        } else {
+            balance -= cents;
+            recordTransaction(Transaction.TransactionType.WITHDRAWAL, cents, TransactionDescription.WITHDRAWAL);
+            notifyBalanceChange(-cents, 0);
+        }
+        return OperationStatus.OK;
+    }
+
+    @Override
+    protected String insufficientFundsReason(long cents, long availableCents) {
+        return String.format("Cannot withdraw $%.2f. Available (incl. overdraft): $%.2f",
+            Money.toDollars(cents), Money.toDollars(availableCents));
+    }
+
+    @Override
+    protected void depositCents(long cents) {
+        long repaid = Math.min(cents, currentOverdraft);
+        
+        // First, pay off any overdraft
+        if (currentOverdraft > 0) {
+            if (cents >= currentOverdraft) {
+                long remaining = cents - currentOverdraft;
+                recordTransaction(Transaction.TransactionType.DEPOSIT, currentOverdraft,
+                    TransactionDescription.OVERDRAFT_REPAYMENT);
+                currentOverdraft = 0;
+                
+                if (remaining > 0) {
+                    balance = Money.add(balance, remaining);
+                    recordTransaction(Transaction.TransactionType.DEPOSIT, remaining, TransactionDescription.DEPOSIT);
+                }
+            } else {
+                currentOverdraft -= cents;
+                recordTransaction(Transaction.TransactionType.DEPOSIT, cents,
+                    TransactionDescription.PARTIAL_OVERDRAFT_REPAYMENT, currentOverdraft);
+            }
+        } else {
+            balance = Money.add(balance, cents);
+            recordTransaction(Transaction.TransactionType.DEPOSIT, cents, TransactionDescription.DEPOSIT);
+        }
+        notifyBalanceChange(cents, -repaid);
+    }
+
+    @Override
+    public void applyInterest(int periods) {
+        // Checking accounts earn minimal interest only on positive balance
+        if (periods > 0 && balance > 0 && currentOverdraft == 0) {
+            double growth = Money.compound(INTEREST_RATE / 12, periods);
+            postInterest(getBalanceCents(), Money.multiply(balance, growth, INTEREST_ROUNDING), periods);
+        }
+    }
+
+    @Override
+    public boolean postInterest(long quotedBalanceCents, long interest, int periods) {
+        if (getBalanceCents() != quotedBalanceCents) {
+            return false;
+        }
+        if (quotedBalanceCents > 0 && interest >= 1) { // Only apply if at least 1 cent
+            balance = Money.add(balance, interest);
+            recordTransaction(Transaction.TransactionType.INTEREST, interest,
+                TransactionDescription.interest(periods), TransactionDescription.interestArgument(periods, INTEREST_RATE));
+            notifyBalanceChange(interest, 0);
+        }
+        return true;
+    }
+
+    private void applyOverdraftFee() {
+        totalOverdraftFees += OVERDRAFT_FEE_CENTS;
+        currentOverdraft += OVERDRAFT_FEE_CENTS;
+        recordTransaction(Transaction.TransactionType.FEE, OVERDRAFT_FEE_CENTS, TransactionDescription.OVERDRAFT_FEE);
+        notifyBalanceChange(-OVERDRAFT_FEE_CENTS, OVERDRAFT_FEE_CENTS);
+    }
+
+    // A negative balance is imported as overdraft in use
+    @Override
+    public void importBalance(long balanceCents) {
+        if (-balanceCents > getOverdraftLimitCents()) {
+            throw new IllegalArgumentException("Overdraft exceeds the overdraft limit");
+        }
+        balance = Math.max(0, balanceCents);
+        currentOverdraft = Math.max(0, -balanceCents);
+    }
+
+    @Override
+    public long getBalanceCents() {
+        return balance - currentOverdraft;
+    }
+
+    @Override
+    public long getAvailableBalanceCents() {
+        return balance + (overdraftLimit - currentOverdraft);
+    }
+
+    // Checking-specific methods
+    public double getOverdraftLimit() {
+        return Money.toDollars(getOverdraftLimitCents());
+    }
+
+    public long getOverdraftLimitCents() {
+        return overdraftLimit;
+    }
+
+    public void setOverdraftLimit(double limit) {
+        if (limit < 0 || limit > 10000) {
+            throw new IllegalArgumentException("Overdraft limit must be between $0 and $10,000");
+        }
+        this.overdraftLimit = Money.toCents(limit);
+    }
+
+    public double getCurrentOverdraft() {
+        return Money.toDollars(getCurrentOverdraftCents());
+    }
+
+    public long getCurrentOverdraftCents() {
+        return currentOverdraft;
+    }
+
+    public double getRemainingOverdraft() {
+        return Money.toDollars(getOverdraftLimitCents() - getCurrentOverdraftCents());
+    }
+
+    public int getOverdraftUsageCount() {
+        return overdraftUsageCount;
+    }
+
+    public double getTotalOverdraftFees() {
+        return Money.toDollars(getTotalOverdraftFeesCents());
+    }
+
+    public long getTotalOverdraftFeesCents() {
+        return totalOverdraftFees;
+    }
+
+    public boolean isInOverdraft() {
+        return getCurrentOverdraftCents() > 0;
+    }
+
+    @Override
+    public String getDetailedInfo() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("═".repeat(50)).append("\n");
+        sb.append(String.format("  Account Type: %s%n", getAccountType()));
+        sb.append(String.format("  Account Number: %s%n", accountNumber));
+        sb.append(String.format("  Account Holder: %s%n", accountHolder));
+        sb.append(String.format("  Current Balance: $%.2f%n", getBalance()));
+        sb.append(String.format("  Available Balance: $%.2f%n", getAvailableBalance()));
+        sb.append(String.format("  Interest Rate: %.2f%%%n", getInterestRate() * 100));
+        sb.append(String.format("  Overdraft Limit: $%.2f%n", getOverdraftLimit()));
+        sb.append(String.format("  Current Overdraft: $%.2f%n", getCurrentOverdraft()));
+        sb.append(String.format("  Overdraft Status: %s%n", isInOverdraft() ? "⚠ IN OVERDRAFT" : "✓ Clear"));
+        sb.append(String.format("  Total Overdraft Fees: $%.2f%n", getTotalOverdraftFees()));
+        sb.append(String.format("  Total Transactions: %d%n", getTransactionCount()));
+        sb.append("═".repeat(50));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.bank.model;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Transaction history that takes appends from many threads without a lock, for the
+ * lock-free accounts.
+ *
+ * A writer reserves its position with one compare-and-set, fills its slot in parallel
+ * with the other writers, then waits for the writers before it and publishes in order
+ * by advancing the volatile size, so readers only ever see a complete prefix. Slots
+ * live in chunks that double in size and are installed with compare-and-set, so the
+ * storage never has to be copied while writers are filling it.
+ *
+ * An entry appended concurrently is never stamped earlier than the one published
+ * before it, which keeps the time index ordered when writers race across a clock tick.
+ * {@link #seal()} stops appends so the history can be copied elsewhere.
+ */
+public class ConcurrentTransactionHistory implements TransactionHistory {
+    private static final int FIRST_CHUNK_SHIFT = 3; // 8 entries, then 16, 32, ...
+    private static final int SEALED = Integer.MIN_VALUE;
+    private static final int SPINS_BEFORE_YIELD = 64;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final String idPrefix;
+    private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(32 - FIRST_CHUNK_SHIFT);
+    private final AtomicInteger reserved = new AtomicInteger(); // Positions handed out, plus the SEALED bit
+    private final TimeIndex timeIndex = new TimeIndex(); // Fed by the writer whose turn it is to publish
+    private long latestTimestamp = Long.MIN_VALUE;      // Likewise
+    private volatile int size; // Advanced in position order, after each entry is complete
+
+    public ConcurrentTransactionHistory(String idPrefix) {
+        this.idPrefix = idPrefix;
+    }
+
+    // One chunk's entries, in parallel primitive arrays
+    private static final class Chunk {
+        final byte[] types;
+        final long[] amounts;
+        final long[] balances;
+        final long[] timestamps;
+        final byte[] descriptions;
+        final long[] descriptionArguments;
+
+        Chunk(int capacity) {
+            types = new byte[capacity];
+            amounts = new long[capacity];
+            balances = new long[capacity];
+            timestamps = new long[capacity];
+            descriptions = new byte[capacity];
+            descriptionArguments = new long[capacity];
+        }
+    }
+
+    /**
+     * Appends as given. Callers hold the owning account's lock, so the history has not
+     * been sealed.
+     */
+    @Override
+    public void append(Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+                       TransactionDescription description, long descriptionArgument) {
+        if (!append(type, amount, balanceAfter, timestamp, description, descriptionArgument, false)) {
+            throw new IllegalStateException("Transaction history " + idPrefix + " is sealed");
+        }
+    }
+
+    /**
+     * Appends without any lock, stamping the entry no earlier than the one before it.
+     * Returns false, appending nothing, once the history has been sealed.
+     */
+    public boolean tryAppend(Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+                             TransactionDescription description, long descriptionArgument) {
+        return append(type, amount, balanceAfter, timestamp, description, descriptionArgument, true);
+    }
+
+    private boolean append(Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+                           TransactionDescription description, long descriptionArgument, boolean inOrder) {
+        int index;
+        do {
+            index = reserved.get();
+            if ((index & SEALED) != 0) {
+                return false;
+            }
+        } while (!reserved.compareAndSet(index, index + 1));
+
+        int bucket = bucket(index);
+        Chunk chunk = chunk(bucket);
+        int slot = slot(index, bucket);
+        chunk.types[slot] = (byte) type.ordinal();
+        chunk.amounts[slot] = amount;
+        chunk.balances[slot] = balanceAfter;
+        chunk.descriptions[slot] = (byte) description.ordinal();
+        chunk.descriptionArguments[slot] = descriptionArgument;
+
+        awaitPublished(index);
+        if (inOrder) {
+            timestamp = Math.max(timestamp, latestTimestamp);
+        }
+        chunk.timestamps[slot] = timestamp;
+        latestTimestamp = Math.max(latestTimestamp, timestamp);
+        timeIndex.add(index, timestamp);
+        size = index + 1;
+        return true;
+    }
+
+    /**
+     * Stops further appends and waits for those already under way to be published, so
+     * a copy taken afterwards is complete. Appends after this return false.
+     */
+    public void seal() {
+        int count = reserved.getAndUpdate(n -> n | SEALED) & ~SEALED;
+        awaitPublished(count);
+    }
+
+    // Waits until the first count entries are published
+    private void awaitPublished(int count) {
+        for (int spins = 0; size != count; spins++) {
+            if (spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private Chunk chunk(int bucket) {
+        Chunk chunk = chunks.get(bucket);
+        if (chunk == null) {
+            chunks.compareAndSet(bucket, null, new Chunk(1 << (bucket + FIRST_CHUNK_SHIFT)));
+            chunk = chunks.get(bucket);
+        }
+        return chunk;
+    }
+
+    // Chunk b holds positions [8 * (2^b - 1), 8 * (2^(b+1) - 1))
+    private static int bucket(int index) {
+        return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_CHUNK_SHIFT) + 1);
+    }
+
+    private static int slot(int index, int bucket) {
+        return index - (((1 << bucket) - 1) << FIRST_CHUNK_SHIFT);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        int size = this.size;
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int bucket = bucket(index);
+        Chunk chunk = chunks.get(bucket);
+        int slot = slot(index, bucket);
+        return new Transaction(idPrefix, index + 1, TYPES[chunk.types[slot]], chunk.amounts[slot],
+                chunk.balances[slot], chunk.timestamps[slot],
+                TransactionDescription.fromCode(chunk.descriptions[slot]), chunk.descriptionArguments[slot]);
+    }
+
+    @Override
+    public long timestampAt(int index) {
+        Objects.checkIndex(index, size);
+        int bucket = bucket(index);
+        return chunks.get(bucket).timestamps[slot(index, bucket)];
+    }
+
+    @Override
+    public void forEachBetween(long fromNanos, long toNanos, TransactionVisitor visitor) {
+        timeIndex.forEachBetween(this, size, fromNanos, toNanos, visitor);
+    }
+
+    @Override
+    public int lastIndexBefore(long epochNanos) {
+        return timeIndex.lastBefore(this, size, epochNanos);
+    }
+
+    @Override
+    public void forEach(int from, int to, TransactionVisitor visitor) {
+        Objects.checkFromToIndex(from, to, size);
+        int i = from;
+        while (i < to) {
+            int bucket = bucket(i);
+            Chunk chunk = chunks.get(bucket);
+            int slot = slot(i, bucket);
+            int end = Math.min(to - i, chunk.types.length - slot) + slot;
+            for (; slot < end; slot++, i++) {
+                visitor.visit(i + 1, TYPES[chunk.types[slot]], chunk.amounts[slot], chunk.balances[slot],
+                        chunk.timestamps[slot], TransactionDescription.fromCode(chunk.descriptions[slot]),
+                        chunk.descriptionArguments[slot]);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Default transaction history: parallel primitive arrays on the heap.
+ *
+ * Appending only allocates when the arrays grow; {@link Transaction} objects are
+ * created on read.
+ */
+public class InMemoryTransactionHistory implements TransactionHistory {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final String idPrefix;
+    private byte[] types;
+    private long[] amounts;
+    private long[] balances;
+    private long[] timestamps;
+    private byte[] descriptions;
+    private long[] descriptionArguments;
+    private final TimeIndex timeIndex = new TimeIndex();
+    private volatile int size; // Written after the entry, so readers see complete entries
+
+    public InMemoryTransactionHistory(String idPrefix) {
+        this.idPrefix = idPrefix;
+        this.types = new byte[INITIAL_CAPACITY];
+        this.amounts = new long[INITIAL_CAPACITY];
+        this.balances = new long[INITIAL_CAPACITY];
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.descriptions = new byte[INITIAL_CAPACITY];
+        this.descriptionArguments = new long[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void append(Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+                       TransactionDescription description, long descriptionArgument) {
+        int index = size;
+        if (index == types.length) {
+            grow();
+        }
+        types[index] = (byte) type.ordinal();
+        amounts[index] = amount;
+        balances[index] = balanceAfter;
+        timestamps[index] = timestamp;
+        descriptions[index] = (byte) description.ordinal();
+        descriptionArguments[index] = descriptionArgument;
+        timeIndex.add(index, timestamp);
+        size = index + 1;
+    }
+
+    private void grow() {
+        int capacity = types.length + (types.length >> 1);
+        types = Arrays.copyOf(types, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        descriptionArguments = Arrays.copyOf(descriptionArguments, capacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Transaction get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Transaction(idPrefix, index + 1, TYPES[types[index]], amounts[index], balances[index],
+                timestamps[index], TransactionDescription.fromCode(descriptions[index]),
+                descriptionArguments[index]);
+    }
+
+    @Override
+    public long timestampAt(int index) {
+        Objects.checkIndex(index, size);
+        return timestamps[index];
+    }
+
+    @Override
+    public void forEachBetween(long fromNanos, long toNanos, TransactionVisitor visitor) {
+        timeIndex.forEachBetween(this, size, fromNanos, toNanos, visitor);
+    }
+
+    @Override
+    public int lastIndexBefore(long epochNanos) {
+        return timeIndex.lastBefore(this, size, epochNanos);
+    }
+
+    @Override
+    public void forEach(int from, int to, TransactionVisitor visitor) {
+        Objects.checkFromToIndex(from, to, size);
+        byte[] types = this.types;
+        long[] amounts = this.amounts;
+        long[] balances = this.balances;
+        long[] timestamps = this.timestamps;
+        byte[] descriptions = this.descriptions;
+        long[] descriptionArguments = this.descriptionArguments;
+        for (int i = from; i < to; i++) {
+            visitor.visit(i + 1, TYPES[types[i]], amounts[i], balances[i], timestamps[i],
+                    TransactionDescription.fromCode(descriptions[i]), descriptionArguments[i]);
+        }
+    }
+}
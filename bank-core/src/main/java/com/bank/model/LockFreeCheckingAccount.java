@@ -0,0 +1,220 @@
+package com.bank.model;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checking Account whose balance is updated with compare-and-set instead of a lock.
+ *
+ * Balance and overdraft are never both non-zero, so the account is kept as a single
+ * signed net position in cents: positive is money on deposit, negative is overdraft
+ * in use. Suited to hot accounts such as merchant settlement accounts. History goes to
+ * a {@link ConcurrentTransactionHistory}, so recording a transaction takes no lock.
+ */
+public class LockFreeCheckingAccount extends CheckingAccount {
+    private final AtomicLong position;
+    private final AtomicInteger overdraftUsageCount;
+    private final LongAdder totalOverdraftFeeCents;
+
+    public LockFreeCheckingAccount(String accountNumber, String accountHolder, double initialBalance) {
+        super(accountNumber, accountHolder, initialBalance);
+        this.position = new AtomicLong(balance);
+        this.overdraftUsageCount = new AtomicInteger();
+        this.totalOverdraftFeeCents = new LongAdder();
+        this.balance = 0; // superseded by position
+    }
+
+    public LockFreeCheckingAccount(String accountNumber, String accountHolder,
+                                   double initialBalance, double overdraftLimit) {
+        super(accountNumber, accountHolder, initialBalance, overdraftLimit);
+        this.position = new AtomicLong(balance);
+        this.overdraftUsageCount = new AtomicInteger();
+        this.totalOverdraftFeeCents = new LongAdder();
+        this.balance = 0; // superseded by position
+    }
+
+    LockFreeCheckingAccount(DataInput in) throws IOException {
+        super(in);
+        this.position = new AtomicLong(balance - super.getCurrentOverdraftCents());
+        this.overdraftUsageCount = new AtomicInteger(super.getOverdraftUsageCount());
+        this.totalOverdraftFeeCents = new LongAdder();
+        this.totalOverdraftFeeCents.add(super.getTotalOverdraftFeesCents());
+        this.balance = 0; // superseded by position
+    }
+
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    @Override
+    protected byte withdrawCents(long amountCents) {
+        long limitCents = getOverdraftLimitCents();
+
+        long current;
+        long next;
+        boolean enteringOverdraft;
+        do {
+            current = position.get();
+            long availableCents = current + limitCents;
+
+            if (amountCents > availableCents) {
+                return OperationStatus.INSUFFICIENT_FUNDS;
+            }
+
+            // Fee only when entering overdraft (not when already in it)
+            enteringOverdraft = current >= 0 && amountCents > current;
+            next = current - amountCents - (enteringOverdraft ? OVERDRAFT_FEE_CENTS : 0);
+        } while (!position.compareAndSet(current, next));
+        notifyBalanceChange(next - current, overdraft(next) - overdraft(current));
+
+        if (amountCents > Math.max(0, current)) {
+            long overdraftNeeded = amountCents - Math.max(0, current);
+            if (enteringOverdraft) {
+                overdraftUsageCount.incrementAndGet();
+                totalOverdraftFeeCents.add(OVERDRAFT_FEE_CENTS);
+                appendTransaction(Transaction.TransactionType.FEE, OVERDRAFT_FEE_CENTS, 0,
+                    TransactionDescription.OVERDRAFT_FEE, 0);
+            }
+            appendTransaction(Transaction.TransactionType.WITHDRAWAL, amountCents, 0,
+                TransactionDescription.OVERDRAFT_WITHDRAWAL, overdraftNeeded);
+        } else {
+            appendTransaction(Transaction.TransactionType.WITHDRAWAL, amountCents, next,
+                TransactionDescription.WITHDRAWAL, 0);
+        }
+        return OperationStatus.OK;
+    }
+
+    @Override
+    protected void depositCents(long amountCents) {
+        long current;
+        long next;
+        do {
+            current = position.get();
+            next = current + amountCents;
+        } while (!position.compareAndSet(current, next));
+        notifyBalanceChange(amountCents, overdraft(next) - overdraft(current));
+
+        // First, pay off any overdraft
+        if (current < 0) {
+            if (next >= 0) {
+                appendTransaction(Transaction.TransactionType.DEPOSIT, -current, 0,
+                    TransactionDescription.OVERDRAFT_REPAYMENT, 0);
+                if (next > 0) {
+                    appendTransaction(Transaction.TransactionType.DEPOSIT, next, next,
+                        TransactionDescription.DEPOSIT, 0);
+                }
+            } else {
+                appendTransaction(Transaction.TransactionType.DEPOSIT, amountCents, 0,
+                    TransactionDescription.PARTIAL_OVERDRAFT_REPAYMENT, -next);
+            }
+        } else {
+            appendTransaction(Transaction.TransactionType.DEPOSIT, amountCents, next,
+                TransactionDescription.DEPOSIT, 0);
+        }
+    }
+
+    @Override
+    public void applyInterest(int periods) {
+        if (periods <= 0) {
+            return;
+        }
+        double growth = Money.compound(INTEREST_RATE / 12, periods);
+
+        long current;
+        long next;
+        long interestCents;
+        do {
+            current = position.get();
+            // Checking accounts earn minimal interest only on positive balance
+            if (current <= 0) {
+                return;
+            }
+            interestCents = Money.multiply(current, growth, INTEREST_ROUNDING);
+            if (interestCents < 1) { // Only apply if at least 1 cent
+                return;
+            }
+            next = current + interestCents;
+        } while (!position.compareAndSet(current, next));
+        interestPosted(interestCents, next, periods);
+    }
+
+    // One attempt: a concurrent change to the position makes the quote stale
+    @Override
+    public boolean postInterest(long quotedBalanceCents, long interestCents, int periods) {
+        if (quotedBalanceCents <= 0 || interestCents < 1) {
+            return position.get() == quotedBalanceCents;
+        }
+        long next = quotedBalanceCents + interestCents;
+        if (!position.compareAndSet(quotedBalanceCents, next)) {
+            return false;
+        }
+        interestPosted(interestCents, next, periods);
+        return true;
+    }
+
+    private void interestPosted(long interestCents, long balanceAfter, int periods) {
+        notifyBalanceChange(interestCents, 0);
+        appendTransaction(Transaction.TransactionType.INTEREST, interestCents, balanceAfter,
+            TransactionDescription.interest(periods), TransactionDescription.interestArgument(periods, INTEREST_RATE));
+    }
+
+    @Override
+    public long getBalanceCents() {
+        return position.get();
+    }
+
+    @Override
+    public void importBalance(long balanceCents) {
+        super.importBalance(balanceCents);
+        super.importBalance(0); // superseded by position
+        position.set(balanceCents);
+    }
+
+    @Override
+    public long getAvailableBalanceCents() {
+        return position.get() + getOverdraftLimitCents();
+    }
+
+    @Override
+    public long getCurrentOverdraftCents() {
+        return overdraft(position.get());
+    }
+
+    private static long overdraft(long position) {
+        return Math.max(0, -position);
+    }
+
+    @Override
+    public int getOverdraftUsageCount() {
+        return overdraftUsageCount.get();
+    }
+
+    @Override
+    public long getTotalOverdraftFeesCents() {
+        return totalOverdraftFeeCents.sum();
+    }
+
+    @Override
+    protected TransactionHistory newTransactionHistory(String idPrefix) {
+        return new ConcurrentTransactionHistory(idPrefix);
+    }
+
+    // Lock-free while the history is our own; once moved to a store, appends take the lock
+    private void appendTransaction(Transaction.TransactionType type, long amount, long balanceAfter,
+                                   TransactionDescription description, long descriptionArgument) {
+        if (recordConcurrently(type, amount, balanceAfter, description, descriptionArgument)) {
+            return;
+        }
+        getLock().lock();
+        try {
+            recordTransaction(type, amount, balanceAfter, description, descriptionArgument);
+        } finally {
+            getLock().unlock();
+        }
+    }
+}
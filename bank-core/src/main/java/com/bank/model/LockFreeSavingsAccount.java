@@ -0,0 +1,212 @@
+package com.bank.model;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Savings Account whose balance is updated with compare-and-set instead of a lock.
+ *
+ * The balance (in cents) and the monthly withdrawal counter are packed into a single
+ * long so the minimum-balance and withdrawal-limit rules are checked and applied in
+ * one atomic step. History goes to a {@link ConcurrentTransactionHistory}, so recording
+ * a transaction takes no lock either.
+ */
+public class LockFreeSavingsAccount extends SavingsAccount {
+    private static final int COUNT_SHIFT = 56;
+    private static final long CENTS_MASK = (1L << COUNT_SHIFT) - 1;
+
+    // High 8 bits: withdrawals this month, low 56 bits: balance in cents
+    private final AtomicLong state;
+    private final LongAdder accumulatedInterestCents;
+
+    public LockFreeSavingsAccount(String accountNumber, String accountHolder, double initialBalance) {
+        super(accountNumber, accountHolder, initialBalance);
+        this.state = new AtomicLong(balance);
+        this.accumulatedInterestCents = new LongAdder();
+        this.balance = 0; // superseded by state
+    }
+
+    public LockFreeSavingsAccount(String accountNumber, String accountHolder,
+                                  double initialBalance, double interestRate) {
+        super(accountNumber, accountHolder, initialBalance, interestRate);
+        this.state = new AtomicLong(balance);
+        this.accumulatedInterestCents = new LongAdder();
+        this.balance = 0; // superseded by state
+    }
+
+    LockFreeSavingsAccount(DataInput in) throws IOException {
+        super(in);
+        this.state = new AtomicLong(pack(MAX_WITHDRAWALS_PER_MONTH - super.getRemainingWithdrawals(), balance));
+        this.accumulatedInterestCents = new LongAdder();
+        this.accumulatedInterestCents.add(super.getAccumulatedInterestCents());
+        this.balance = 0; // superseded by state
+    }
+
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    @Override
+    public boolean canWithdraw(double amount) {
+        long current = state.get();
+        return cents(current) - Money.toCents(amount) >= MINIMUM_BALANCE_CENTS
+                && count(current) < MAX_WITHDRAWALS_PER_MONTH;
+    }
+
+    @Override
+    protected byte withdrawCents(long amountCents) {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            int withdrawals = count(current);
+            long balanceCents = cents(current);
+
+            if (withdrawals >= MAX_WITHDRAWALS_PER_MONTH) {
+                return OperationStatus.WITHDRAWAL_LIMIT;
+            }
+
+            if (balanceCents - amountCents < MINIMUM_BALANCE_CENTS) {
+                return OperationStatus.INSUFFICIENT_FUNDS;
+            }
+
+            next = pack(withdrawals + 1, balanceCents - amountCents);
+        } while (!state.compareAndSet(current, next));
+
+        appendTransaction(Transaction.TransactionType.WITHDRAWAL, amountCents, cents(next),
+            TransactionDescription.LIMITED_WITHDRAWAL,
+            TransactionDescription.withdrawalCount(count(next), MAX_WITHDRAWALS_PER_MONTH));
+        notifyBalanceChange(-amountCents, 0);
+        return OperationStatus.OK;
+    }
+
+    @Override
+    protected void depositCents(long amountCents) {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = pack(count(current), cents(current) + amountCents);
+        } while (!state.compareAndSet(current, next));
+
+        appendTransaction(Transaction.TransactionType.DEPOSIT, amountCents, cents(next),
+            TransactionDescription.CASH_DEPOSIT, 0);
+        notifyBalanceChange(amountCents, 0);
+    }
+
+    @Override
+    public void applyInterest(int periods) {
+        if (periods <= 0) {
+            return;
+        }
+        double growth = Money.compound(getInterestRate() / 12, periods);
+
+        long current;
+        long next;
+        long interestCents;
+        do {
+            current = state.get();
+            interestCents = Money.multiply(cents(current), growth, INTEREST_ROUNDING);
+            if (interestCents <= 0) {
+                return;
+            }
+            next = pack(count(current), cents(current) + interestCents);
+        } while (!state.compareAndSet(current, next));
+        interestPosted(interestCents, cents(next), periods);
+    }
+
+    // One attempt: a concurrent change to the balance or counter makes the quote stale
+    @Override
+    public boolean postInterest(long quotedBalanceCents, long interestCents, int periods) {
+        long current = state.get();
+        if (cents(current) != quotedBalanceCents) {
+            return false;
+        }
+        if (interestCents <= 0) {
+            return true;
+        }
+        long next = pack(count(current), cents(current) + interestCents);
+        if (!state.compareAndSet(current, next)) {
+            return false;
+        }
+        interestPosted(interestCents, cents(next), periods);
+        return true;
+    }
+
+    private void interestPosted(long interestCents, long balanceAfter, int periods) {
+        accumulatedInterestCents.add(interestCents);
+        notifyBalanceChange(interestCents, 0);
+        appendTransaction(Transaction.TransactionType.INTEREST, interestCents, balanceAfter,
+            TransactionDescription.interest(periods), TransactionDescription.interestArgument(periods, getInterestRate()));
+    }
+
+    @Override
+    public long getBalanceCents() {
+        return cents(state.get());
+    }
+
+    @Override
+    public void importBalance(long balanceCents) {
+        super.importBalance(balanceCents);
+        this.balance = 0; // superseded by state
+        state.set(pack(count(state.get()), balanceCents));
+    }
+
+    @Override
+    public long getAvailableBalanceCents() {
+        return Math.max(0, cents(state.get()) - MINIMUM_BALANCE_CENTS);
+    }
+
+    @Override
+    public int getRemainingWithdrawals() {
+        return MAX_WITHDRAWALS_PER_MONTH - count(state.get());
+    }
+
+    @Override
+    public void resetMonthlyWithdrawals() {
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, pack(0, cents(current))));
+    }
+
+    @Override
+    public long getAccumulatedInterestCents() {
+        return accumulatedInterestCents.sum();
+    }
+
+    @Override
+    protected TransactionHistory newTransactionHistory(String idPrefix) {
+        return new ConcurrentTransactionHistory(idPrefix);
+    }
+
+    // Lock-free while the history is our own; once moved to a store, appends take the lock
+    private void appendTransaction(Transaction.TransactionType type, long amount, long balanceAfter,
+                                   TransactionDescription description, long descriptionArgument) {
+        if (recordConcurrently(type, amount, balanceAfter, description, descriptionArgument)) {
+            return;
+        }
+        getLock().lock();
+        try {
+            recordTransaction(type, amount, balanceAfter, description, descriptionArgument);
+        } finally {
+            getLock().unlock();
+        }
+    }
+
+    private static long pack(int withdrawals, long balanceCents) {
+        return ((long) withdrawals << COUNT_SHIFT) | balanceCents;
+    }
+
+    private static int count(long state) {
+        return (int) (state >>> COUNT_SHIFT);
+    }
+
+    private static long cents(long state) {
+        return state & CENTS_MASK;
+    }
+}
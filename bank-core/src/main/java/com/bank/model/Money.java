@@ -0,0 +1,133 @@
+package com.bank.model;
+
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money value backed by a long count of cents.
+ *
+ * The static helpers work on raw cents so hot paths (balances, totals, interest)
+ * never allocate; the instance form is for callers that want a typed value.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(double amount) {
+        return ofCents(toCents(amount));
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public double toDouble() {
+        return toDollars(cents);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(add(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(subtract(cents, other.cents));
+    }
+
+    public Money times(double rate, RoundingMode mode) {
+        return ofCents(multiply(cents, rate, mode));
+    }
+
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    // Allocation-free helpers on raw cents
+
+    /**
+     * Converts a dollar amount to cents, rounding half away from zero.
+     */
+    public static long toCents(double amount) {
+        return amount < 0 ? -Math.round(-amount * 100) : Math.round(amount * 100);
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Total growth of a rate compounded over several periods, minus one. A single
+     * period returns the rate itself, so one-period results match {@link #multiply}.
+     */
+    public static double compound(double rate, int periods) {
+        return periods == 1 ? rate : Math.expm1(periods * Math.log1p(rate));
+    }
+
+    /**
+     * Multiplies an amount in cents by a rate, rounding to whole cents with the given mode.
+     */
+    public static long multiply(long cents, double rate, RoundingMode mode) {
+        double exact = cents * rate;
+        double rounded;
+        switch (mode) {
+            case FLOOR -> rounded = Math.floor(exact);
+            case CEILING -> rounded = Math.ceil(exact);
+            case DOWN -> rounded = exact < 0 ? Math.ceil(exact) : Math.floor(exact);
+            case UP -> rounded = exact < 0 ? Math.floor(exact) : Math.ceil(exact);
+            case HALF_UP -> rounded = Math.signum(exact) * Math.floor(Math.abs(exact) + 0.5);
+            case HALF_DOWN -> rounded = Math.signum(exact) * Math.ceil(Math.abs(exact) - 0.5);
+            case HALF_EVEN -> rounded = Math.rint(exact);
+            case UNNECESSARY -> {
+                if (exact != Math.rint(exact)) {
+                    throw new ArithmeticException("Rounding necessary for " + exact + " cents");
+                }
+                rounded = exact;
+            }
+            default -> throw new IllegalArgumentException("Unsupported rounding mode: " + mode);
+        }
+        return (long) rounded;
+    }
+
+    public static String format(long cents) {
+        return String.format("$%,.2f", toDollars(cents));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return format(cents);
+    }
+}
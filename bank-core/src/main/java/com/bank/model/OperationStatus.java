@@ -0,0 +1,29 @@
+package com.bank.model;
+
+/**
+ * Primitive status codes returned by the non-throwing operations (such as
+ * {@link Account#tryWithdraw}) and reported per item by batches.
+ */
+public final class OperationStatus {
+    public static final byte OK = 0;
+    public static final byte ACCOUNT_NOT_FOUND = 1;
+    public static final byte INVALID_AMOUNT = 2;
+    public static final byte INSUFFICIENT_FUNDS = 3;
+    public static final byte WITHDRAWAL_LIMIT = 4;
+    public static final byte SAME_ACCOUNT = 5;
+
+    private OperationStatus() {
+    }
+
+    public static String describe(byte status) {
+        return switch (status) {
+            case OK -> "OK";
+            case ACCOUNT_NOT_FOUND -> "Account not found";
+            case INVALID_AMOUNT -> "Invalid amount";
+            case INSUFFICIENT_FUNDS -> "Insufficient funds";
+            case WITHDRAWAL_LIMIT -> "Withdrawal limit reached";
+            case SAME_ACCOUNT -> "Cannot transfer to the same account";
+            default -> throw new IllegalArgumentException("Unknown status: " + status);
+        };
+    }
+}
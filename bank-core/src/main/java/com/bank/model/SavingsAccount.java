@@ -0,0 +1,162 @@
+package com.bank.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Savings Account with interest earning and withdrawal limits.
+ * Demonstrates: Inheritance, Polymorphism, Method Overriding
+ */
+public class SavingsAccount extends Account {
+    private static final double DEFAULT_INTEREST_RATE = 0.025; // 2.5% annual
+    protected static final double MINIMUM_BALANCE = 100.0;
+    protected static final long MINIMUM_BALANCE_CENTS = Money.toCents(MINIMUM_BALANCE);
+    protected static final int MAX_WITHDRAWALS_PER_MONTH = 6;
+    
+    private double interestRate;
+    private int withdrawalsThisMonth;
+    private long accumulatedInterest; // in cents
+
+    public SavingsAccount(String accountNumber, String accountHolder, double initialBalance) {
+        super(accountNumber, accountHolder, initialBalance);
+        this.interestRate = DEFAULT_INTEREST_RATE;
+        this.withdrawalsThisMonth = 0;
+        this.accumulatedInterest = 0;
+    }
+
+    public SavingsAccount(String accountNumber, String accountHolder, 
+                          double initialBalance, double interestRate) {
+        super(accountNumber, accountHolder, initialBalance);
+        this.interestRate = interestRate;
+        this.withdrawalsThisMonth = 0;
+        this.accumulatedInterest = 0;
+    }
+
+    SavingsAccount(DataInput in) throws IOException {
+        super(in);
+        this.interestRate = in.readDouble();
+        this.withdrawalsThisMonth = in.readInt();
+        this.accumulatedInterest = in.readLong();
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        super.writeSnapshot(out);
+        out.writeDouble(getInterestRate());
+        out.writeInt(MAX_WITHDRAWALS_PER_MONTH - getRemainingWithdrawals());
+        out.writeLong(getAccumulatedInterestCents());
+    }
+
+    @Override
+    public String getAccountType() {
+        return "Savings";
+    }
+
+    @Override
+    public double getInterestRate() {
+        return interestRate;
+    }
+
+    @Override
+    public boolean canWithdraw(double amount) {
+        return (balance - Money.toCents(amount)) >= MINIMUM_BALANCE_CENTS
+                && withdrawalsThisMonth < MAX_WITHDRAWALS_PER_MONTH;
+    }
+
+    @Override
+    protected byte withdrawCents(long cents) {
+        if (withdrawalsThisMonth >= MAX_WITHDRAWALS_PER_MONTH) {
+            return OperationStatus.WITHDRAWAL_LIMIT;
+        }
+        
+        if ((balance - cents) < MINIMUM_BALANCE_CENTS) {
+            return OperationStatus.INSUFFICIENT_FUNDS;
+        }
+        
+        balance = Money.subtract(balance, cents);
+        withdrawalsThisMonth++;
+        recordTransaction(Transaction.TransactionType.WITHDRAWAL, cents, TransactionDescription.LIMITED_WITHDRAWAL,
+            TransactionDescription.withdrawalCount(withdrawalsThisMonth, MAX_WITHDRAWALS_PER_MONTH));
+        notifyBalanceChange(-cents, 0);
+        return OperationStatus.OK;
+    }
+
+    @Override
+    protected String insufficientFundsReason(long cents, long availableCents) {
+        return String.format("Withdrawal would bring balance below minimum ($%.2f). Available: $%.2f",
+            MINIMUM_BALANCE, Money.toDollars(availableCents));
+    }
+
+    @Override
+    protected String withdrawalLimitReason() {
+        return String.format("Monthly withdrawal limit reached (%d/%d). Try again next month.",
+            MAX_WITHDRAWALS_PER_MONTH, MAX_WITHDRAWALS_PER_MONTH);
+    }
+
+    @Override
+    public void applyInterest(int periods) {
+        if (periods > 0) {
+            double growth = Money.compound(interestRate / 12, periods);
+            postInterest(balance, Money.multiply(balance, growth, INTEREST_ROUNDING), periods);
+        }
+    }
+
+    @Override
+    public boolean postInterest(long quotedBalanceCents, long interest, int periods) {
+        if (balance != quotedBalanceCents) {
+            return false;
+        }
+        if (interest > 0) {
+            balance = Money.add(balance, interest);
+            accumulatedInterest = Money.add(accumulatedInterest, interest);
+            recordTransaction(Transaction.TransactionType.INTEREST, interest,
+                TransactionDescription.interest(periods), TransactionDescription.interestArgument(periods, interestRate));
+            notifyBalanceChange(interest, 0);
+        }
+        return true;
+    }
+
+    @Override
+    public long getAvailableBalanceCents() {
+        return Math.max(0, balance - MINIMUM_BALANCE_CENTS);
+    }
+
+    // Savings-specific methods
+    public void setInterestRate(double rate) {
+        if (rate < 0 || rate > 0.20) {
+            throw new IllegalArgumentException("Interest rate must be between 0% and 20%");
+        }
+        this.interestRate = rate;
+    }
+
+    public int getRemainingWithdrawals() {
+        return MAX_WITHDRAWALS_PER_MONTH - withdrawalsThisMonth;
+    }
+
+    public void resetMonthlyWithdrawals() {
+        this.withdrawalsThisMonth = 0;
+    }
+
+    public double getAccumulatedInterest() {
+        return Money.toDollars(getAccumulatedInterestCents());
+    }
+
+    public long getAccumulatedInterestCents() {
+        return accumulatedInterest;
+    }
+
+    public double getMinimumBalance() {
+        return MINIMUM_BALANCE;
+    }
+
+    @Override
+    public String getDetailedInfo() {
+        StringBuilder sb = new StringBuilder(super.getDetailedInfo());
+        sb.insert(sb.lastIndexOf("═"), String.format(
+            "  Minimum Balance: $%.2f%n  Withdrawals This Month: %d/%d%n  Accumulated Interest: $%.2f%n",
+            MINIMUM_BALANCE, MAX_WITHDRAWALS_PER_MONTH - getRemainingWithdrawals(),
+            MAX_WITHDRAWALS_PER_MONTH, getAccumulatedInterest()));
+        return sb.toString();
+    }
+}
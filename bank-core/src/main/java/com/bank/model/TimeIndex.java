@@ -0,0 +1,117 @@
+package com.bank.model;
+
+import java.util.Arrays;
+
+/**
+ * Sparse time index over a transaction history: the lowest and highest timestamp of
+ * each block of {@value #BLOCK_SIZE} entries.
+ *
+ * Entries are normally recorded in time order, so a date lookup is a binary search over
+ * the block maxima plus a scan of at most one block. Once an entry arrives earlier than
+ * one before it (a clock stepping back, or an unsorted import), lookups fall back to
+ * scanning only the blocks whose range overlaps the query.
+ *
+ * Fed by the owning history under its append lock, before the new size is published, so
+ * readers that read the size first see every block covering the entries they can read.
+ */
+public final class TimeIndex {
+    public static final int BLOCK_SIZE = 64;
+    private static final int BLOCK_SHIFT = 6;
+
+    private long[] blockMin = new long[4];
+    private long[] blockMax = new long[4];
+    private long latest = Long.MIN_VALUE;
+    private boolean ordered = true;
+
+    public void add(int index, long timestamp) {
+        int block = index >>> BLOCK_SHIFT;
+        if (block == blockMin.length) {
+            blockMin = Arrays.copyOf(blockMin, block * 2);
+            blockMax = Arrays.copyOf(blockMax, block * 2);
+        }
+        if ((index & (BLOCK_SIZE - 1)) == 0) {
+            blockMin[block] = timestamp;
+            blockMax[block] = timestamp;
+        } else {
+            blockMin[block] = Math.min(blockMin[block], timestamp);
+            blockMax[block] = Math.max(blockMax[block], timestamp);
+        }
+        if (timestamp < latest) {
+            ordered = false;
+        } else {
+            latest = timestamp;
+        }
+    }
+
+    /**
+     * Visits, in history order, the first {@code size} entries with timestamps in
+     * [fromNanos, toNanos).
+     */
+    public void forEachBetween(TransactionHistory history, int size, long fromNanos, long toNanos,
+                               TransactionVisitor visitor) {
+        if (ordered) {
+            history.forEach(firstAtOrAfter(history, size, fromNanos), firstAtOrAfter(history, size, toNanos), visitor);
+            return;
+        }
+        long[] min = blockMin;
+        long[] max = blockMax;
+        TransactionVisitor inRange = (sequence, type, amount, balanceAfter, timestamp, description, argument) -> {
+            if (timestamp >= fromNanos && timestamp < toNanos) {
+                visitor.visit(sequence, type, amount, balanceAfter, timestamp, description, argument);
+            }
+        };
+        for (int block = 0, blocks = blockCount(size); block < blocks; block++) {
+            if (max[block] >= fromNanos && min[block] < toNanos) {
+                int start = block << BLOCK_SHIFT;
+                history.forEach(start, Math.min(start + BLOCK_SIZE, size), inRange);
+            }
+        }
+    }
+
+    /**
+     * Position of the last of the first {@code size} entries recorded before the given
+     * time, or -1 if there is none.
+     */
+    public int lastBefore(TransactionHistory history, int size, long epochNanos) {
+        if (ordered) {
+            return firstAtOrAfter(history, size, epochNanos) - 1;
+        }
+        long[] min = blockMin;
+        for (int block = blockCount(size) - 1; block >= 0; block--) {
+            if (min[block] < epochNanos) {
+                int start = block << BLOCK_SHIFT;
+                for (int i = Math.min(start + BLOCK_SIZE, size) - 1; i >= start; i--) {
+                    if (history.timestampAt(i) < epochNanos) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Ordered histories only: the first block whose maximum reaches the time, then a scan of it
+    private int firstAtOrAfter(TransactionHistory history, int size, long epochNanos) {
+        long[] max = blockMax;
+        int low = 0;
+        int high = blockCount(size);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (max[mid] < epochNanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int i = low << BLOCK_SHIFT;
+        int end = Math.min(i + BLOCK_SIZE, size);
+        while (i < end && history.timestampAt(i) < epochNanos) {
+            i++;
+        }
+        return Math.min(i, size);
+    }
+
+    private static int blockCount(int size) {
+        return (size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    }
+}
@@ -0,0 +1,177 @@
+package com.bank.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Represents a banking transaction with timestamp and details.
+ *
+ * Transactions recorded by accounts keep their id as a sequence number, the timestamp
+ * as epoch nanoseconds and the description as a code plus argument; the id string,
+ * {@link LocalDateTime} and description text are only built when asked for.
+ */
+public class Transaction {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String transactionId; // null when derived from idPrefix and sequence
+    private final String idPrefix;
+    private final long sequence;
+    private final TransactionType type;
+    private final long amount;       // in cents
+    private final long balanceAfter; // in cents
+    private final long timestamp;    // epoch nanos
+    private final String text;       // null when rendered from the description code
+    private final TransactionDescription description;
+    private final long descriptionArgument;
+
+    public enum TransactionType {
+        DEPOSIT, WITHDRAWAL, TRANSFER_IN, TRANSFER_OUT, INTEREST, FEE
+    }
+
+    public Transaction(String transactionId, TransactionType type, double amount,
+                       double balanceAfter, String description) {
+        this(transactionId, type, amount, balanceAfter, LocalDateTime.now(), description);
+    }
+
+    public Transaction(String transactionId, TransactionType type, double amount,
+                       double balanceAfter, LocalDateTime timestamp, String description) {
+        this(transactionId, Money.toCents(amount), Money.toCents(balanceAfter), type, timestamp, description);
+    }
+
+    /**
+     * Creates a transaction with its amounts already in cents. A factory rather than a
+     * constructor overload, so a whole-dollar int or long can never be taken for cents.
+     */
+    public static Transaction ofCents(String transactionId, TransactionType type, long amountCents,
+                                      long balanceAfterCents, LocalDateTime timestamp, String description) {
+        return new Transaction(transactionId, amountCents, balanceAfterCents, type, timestamp, description);
+    }
+
+    private Transaction(String transactionId, long amount, long balanceAfter, TransactionType type,
+                        LocalDateTime timestamp, String description) {
+        this.transactionId = transactionId;
+        this.idPrefix = null;
+        this.sequence = 0;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.timestamp = toEpochNanos(timestamp);
+        this.text = description;
+        this.description = null;
+        this.descriptionArgument = 0;
+    }
+
+    /**
+     * Creates a transaction from its stored primitive form.
+     *
+     * @param sequence  1-based position in the account's history
+     * @param timestamp epoch nanoseconds
+     */
+    public Transaction(String idPrefix, long sequence, TransactionType type, long amount, long balanceAfter,
+                       long timestamp, TransactionDescription description, long descriptionArgument) {
+        this.transactionId = null;
+        this.idPrefix = idPrefix;
+        this.sequence = sequence;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.timestamp = timestamp;
+        this.text = null;
+        this.description = description;
+        this.descriptionArgument = descriptionArgument;
+    }
+
+    public static String formatId(String prefix, long sequence) {
+        return prefix + "-" + String.format("%04d", sequence);
+    }
+
+    /**
+     * Current time in epoch nanoseconds (millisecond resolution), read without allocating.
+     */
+    public static long currentEpochNanos() {
+        return System.currentTimeMillis() * NANOS_PER_MILLI;
+    }
+
+    public static long toEpochNanos(LocalDateTime timestamp) {
+        Instant instant = timestamp.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    public static LocalDateTime fromEpochNanos(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    public String getTransactionId() {
+        return transactionId != null ? transactionId : formatId(idPrefix, sequence);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public double getAmount() {
+        return Money.toDollars(amount);
+    }
+
+    public double getBalanceAfter() {
+        return Money.toDollars(balanceAfter);
+    }
+
+    public long getAmountCents() {
+        return amount;
+    }
+
+    public long getBalanceAfterCents() {
+        return balanceAfter;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return fromEpochNanos(timestamp);
+    }
+
+    public long getEpochNanos() {
+        return timestamp;
+    }
+
+    public String getDescription() {
+        return text != null ? text : description.render(descriptionArgument);
+    }
+
+    /**
+     * Description code, or null for a transaction created with free text.
+     */
+    public TransactionDescription getDescriptionCode() {
+        return description;
+    }
+
+    public long getDescriptionArgument() {
+        return descriptionArgument;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("| %-12s | %-12s | %10.2f | %12.2f | %-20s | %s |",
+                getTransactionId(),
+                type,
+                getAmount(),
+                getBalanceAfter(),
+                getTimestamp().format(TIMESTAMP_FORMAT),
+                getDescription());
+    }
+
+    public static String getTableHeader() {
+        return String.format("| %-12s | %-12s | %10s | %12s | %-20s | %s |",
+                "TXN ID", "TYPE", "AMOUNT", "BALANCE", "TIMESTAMP", "DESCRIPTION") +
+                "\n" + "-".repeat(100);
+    }
+}
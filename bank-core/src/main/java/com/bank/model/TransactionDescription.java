@@ -0,0 +1,99 @@
+package com.bank.model;
+
+/**
+ * Coded transaction descriptions.
+ *
+ * Transactions store one of these codes plus a single numeric argument, and the text
+ * is only rendered when something displays it, so recording a transaction never
+ * formats a string.
+ */
+public enum TransactionDescription {
+    INITIAL_DEPOSIT("Initial deposit"),
+    CASH_DEPOSIT("Cash deposit"),
+    CASH_WITHDRAWAL("Cash withdrawal"),
+    DEPOSIT("Deposit"),
+    WITHDRAWAL("Withdrawal"),
+    OVERDRAFT_REPAYMENT("Overdraft repayment"),
+    OVERDRAFT_FEE("Overdraft fee"),
+
+    /** Argument: {@link #withdrawalCount(int, int)}. */
+    LIMITED_WITHDRAWAL("Withdrawal (%d/%d this month)") {
+        @Override
+        public String render(long argument) {
+            return String.format(text, (int) (argument >>> 32), (int) argument);
+        }
+    },
+
+    /** Argument: overdraft used, in cents. */
+    OVERDRAFT_WITHDRAWAL("Withdrawal (used $%.2f overdraft)") {
+        @Override
+        public String render(long argument) {
+            return String.format(text, Money.toDollars(argument));
+        }
+    },
+
+    /** Argument: overdraft still outstanding, in cents. */
+    PARTIAL_OVERDRAFT_REPAYMENT("Partial overdraft repayment ($%.2f remaining)") {
+        @Override
+        public String render(long argument) {
+            return String.format(text, Money.toDollars(argument));
+        }
+    },
+
+    /** Argument: {@link #rate(double)}. */
+    MONTHLY_INTEREST("Monthly interest @ %.2f%%") {
+        @Override
+        public String render(long argument) {
+            return String.format(text, Double.longBitsToDouble(argument) * 100);
+        }
+    },
+
+    /** Argument: {@link #accrual(int, double)}. */
+    ACCRUED_INTEREST("Interest for %d months @ %.2f%%") {
+        @Override
+        public String render(long argument) {
+            return String.format(text, (int) (argument >>> 32), Float.intBitsToFloat((int) argument) * 100);
+        }
+    };
+
+    private static final TransactionDescription[] CODES = values();
+
+    protected final String text;
+
+    TransactionDescription(String text) {
+        this.text = text;
+    }
+
+    public String render(long argument) {
+        return text;
+    }
+
+    public static TransactionDescription fromCode(int code) {
+        return CODES[code];
+    }
+
+    // Argument encoders
+
+    public static long withdrawalCount(int count, int limit) {
+        return ((long) count << 32) | limit;
+    }
+
+    public static long rate(double rate) {
+        return Double.doubleToLongBits(rate);
+    }
+
+    public static long accrual(int periods, double rate) {
+        return ((long) periods << 32) | (Float.floatToIntBits((float) rate) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Interest posted for one month keeps its monthly description; several at once are accrued.
+     */
+    public static TransactionDescription interest(int periods) {
+        return periods == 1 ? MONTHLY_INTEREST : ACCRUED_INTEREST;
+    }
+
+    public static long interestArgument(int periods, double rate) {
+        return periods == 1 ? rate(rate) : accrual(periods, rate);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bank.model;
+
+import java.util.Objects;
+
+/**
+ * Append-only storage for one account's transactions.
+ *
+ * Entries are addressed by position and stored in primitive form: transaction ids are
+ * derived from the position and descriptions are kept as a code plus argument.
+ * Appends are serialized by the owning account, except in
+ * {@link ConcurrentTransactionHistory}; reads may happen concurrently.
+ */
+public interface TransactionHistory {
+
+    /**
+     * @param amount       amount in cents
+     * @param balanceAfter balance after the transaction, in cents
+     * @param timestamp    epoch nanoseconds
+     */
+    void append(Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+                TransactionDescription description, long descriptionArgument);
+
+    int size();
+
+    /**
+     * Materializes the entry at the given position.
+     */
+    Transaction get(int index);
+
+    /**
+     * Epoch nanoseconds of the entry at the given position.
+     */
+    long timestampAt(int index);
+
+    /**
+     * Visits, in history order, the entries with timestamps in [fromNanos, toNanos).
+     */
+    void forEachBetween(long fromNanos, long toNanos, TransactionVisitor visitor);
+
+    /**
+     * Position of the last entry recorded before the given time, or -1 if there is none.
+     */
+    int lastIndexBefore(long epochNanos);
+
+    /**
+     * Passes the entries in [from, to) to the visitor in order, without materializing them.
+     */
+    default void forEach(int from, int to, TransactionVisitor visitor) {
+        Objects.checkFromToIndex(from, to, size());
+        for (int i = from; i < to; i++) {
+            Transaction t = get(i);
+            visitor.visit(t.getSequence(), t.getType(), t.getAmountCents(), t.getBalanceAfterCents(),
+                    t.getEpochNanos(), t.getDescriptionCode(), t.getDescriptionArgument());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.model;
+
+/**
+ * Receives history entries in their stored primitive form, so a caller can walk a
+ * long history without creating a {@link Transaction} per entry.
+ */
+@FunctionalInterface
+public interface TransactionVisitor {
+
+    /**
+     * @param sequence     1-based position in the account's history
+     * @param amount       amount in cents
+     * @param balanceAfter balance after the transaction, in cents
+     * @param timestamp    epoch nanoseconds
+     */
+    void visit(long sequence, Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+               TransactionDescription description, long descriptionArgument);
+}
@@ -0,0 +1,55 @@
+package com.bank.persistence;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded cold blocks by segment offset, evicting the least recently used once their
+ * combined weight passes the capacity.
+ */
+final class BlockCache {
+    private final long capacityBytes;
+    private final LinkedHashMap<Long, HistoryBlock> blocks = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+
+    BlockCache(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+
+    synchronized HistoryBlock get(long offset) {
+        HistoryBlock block = blocks.get(offset);
+        if (block == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return block;
+    }
+
+    synchronized void put(long offset, HistoryBlock block) {
+        if (blocks.putIfAbsent(offset, block) != null) {
+            return; // Another reader decoded it first
+        }
+        weight += block.weight();
+        Iterator<Map.Entry<Long, HistoryBlock>> eldest = blocks.entrySet().iterator();
+        while (weight > capacityBytes && blocks.size() > 1) {
+            weight -= eldest.next().getValue().weight();
+            eldest.remove();
+        }
+    }
+
+    synchronized long getWeight() {
+        return weight;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.persistence;
+
+/**
+ * A run of consecutive history entries in column form: a decoded cold block, or hot
+ * entries copied out of a ring so they can be visited without holding its lock.
+ */
+final class HistoryBlock {
+    final byte[] types;
+    final long[] amounts;
+    final long[] balances;
+    final long[] timestamps;
+    final byte[] descriptions;
+    final long[] arguments;
+    int first; // History position of the first entry
+    int count;
+
+    HistoryBlock(int capacity) {
+        this.types = new byte[capacity];
+        this.amounts = new long[capacity];
+        this.balances = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.descriptions = new byte[capacity];
+        this.arguments = new long[capacity];
+    }
+
+    // Approximate heap footprint, for the block cache
+    long weight() {
+        return 64 + types.length * (2L + 4 * Long.BYTES);
+    }
+}
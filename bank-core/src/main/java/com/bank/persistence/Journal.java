@@ -0,0 +1,436 @@
+package com.bank.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal with group commit.
+ *
+ * Callers append records into an in-memory batch and then wait for durability.
+ * A single flusher thread writes whatever has accumulated and issues one fsync for
+ * the whole batch, so many concurrent operations share each fsync.
+ *
+ * The journal is split into generations. The active segment lives at the journal
+ * path; {@link #rotate()} closes it as {@code <path>.<generation>} and starts the
+ * next one, so segments already covered by a snapshot can be deleted.
+ *
+ * Segment format: a header of [int magic][int generation][long baseSequence], then
+ * frames of [int payloadLength][long sequence][payload][int crc32(sequence + payload)].
+ */
+public class Journal implements Closeable {
+    private static final int MAGIC = 0x424B4A33; // "BKJ3"
+    private static final int HEADER_SIZE = 16;
+    private static final int FRAME_OVERHEAD = 16;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Receives replayed records together with their sequence numbers.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void accept(long sequence, JournalRecord record);
+    }
+
+    private final Path path;
+    private final Object monitor = new Object();
+    private final Thread flusher;
+    private final CRC32 crc = new CRC32();
+
+    // Guarded by monitor
+    private FileChannel channel;
+    private int generation;
+    private ByteBuffer pending;
+    private ByteBuffer flushing;
+    private boolean flushInProgress;
+    private boolean rotating;
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean closed;
+    private IOException failure;
+
+    private Journal(Path path, FileChannel channel, int generation, long baseSequence) {
+        this.path = path;
+        this.channel = channel;
+        this.generation = generation;
+        this.appendedSeq = baseSequence;
+        this.durableSeq = baseSequence;
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.flushing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Opens (or creates) a journal. Call {@link #replay} before appending.
+     */
+    public static Journal open(Path path) throws IOException {
+        FileChannel channel;
+        int generation;
+        long baseSequence;
+        if (Files.exists(path) && Files.size(path) >= HEADER_SIZE) {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer header = readHeader(channel, path);
+            generation = header.getInt(4);
+            baseSequence = header.getLong(8);
+        } else {
+            // Fresh journal, or a crash between closing a segment and starting the next
+            TreeMap<Integer, Path> closedSegments = closedSegments(path);
+            generation = closedSegments.isEmpty() ? 1 : closedSegments.lastKey() + 1;
+            baseSequence = closedSegments.isEmpty() ? 0 : lastSequence(closedSegments.lastEntry().getValue());
+            channel = createSegment(path, generation, baseSequence);
+        }
+        channel.position(channel.size());
+        Journal journal = new Journal(path, channel, generation, baseSequence);
+        journal.flusher.start();
+        return journal;
+    }
+
+    /**
+     * Feeds every intact record to the handler in log order, starting with the closed
+     * segment for {@code fromGeneration}. A torn or corrupt tail of the active segment
+     * (from a crash mid-write) is truncated so new appends follow valid data. Closed
+     * segments were complete when rotated, so damage anywhere in one fails recovery
+     * rather than replaying later generations on top of missing records.
+     */
+    public void replay(int fromGeneration, RecordHandler handler) throws IOException {
+        RecordHandler tracking = (sequence, record) -> {
+            if (sequence > appendedSeq) {
+                appendedSeq = sequence;
+                durableSeq = sequence;
+            }
+            handler.accept(sequence, record);
+        };
+
+        synchronized (monitor) {
+            for (var entry : closedSegments(path).tailMap(fromGeneration).entrySet()) {
+                try (FileChannel segment = FileChannel.open(entry.getValue(), StandardOpenOption.READ)) {
+                    readHeader(segment, entry.getValue());
+                    scanClosedSegment(segment, entry.getValue(), tracking);
+                }
+            }
+
+            long size = channel.size();
+            long end = scanSegment(channel, tracking);
+            if (end < size) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(channel.size());
+        }
+    }
+
+    public void replay(RecordHandler handler) throws IOException {
+        replay(0, handler);
+    }
+
+    /**
+     * Adds a record to the current batch and returns its sequence number.
+     * The record is not durable until {@link #awaitDurable(long)} returns. Waits while
+     * a {@link #rotate()} is in progress.
+     */
+    public long append(JournalRecord record) {
+        int length = record.encodedSize();
+        synchronized (monitor) {
+            while (rotating && !closed) {
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journal rotation", e);
+                }
+            }
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            ensureCapacity(length + FRAME_OVERHEAD);
+
+            long sequence = ++appendedSeq;
+            int start = pending.position();
+            pending.putInt(length);
+            pending.putLong(sequence);
+            record.writeTo(pending);
+            crc.reset();
+            crc.update(pending.array(), start + 4, 8 + length);
+            pending.putInt((int) crc.getValue());
+
+            monitor.notifyAll();
+            return sequence;
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence number has been fsynced.
+     */
+    public void awaitDurable(long seq) {
+        synchronized (monitor) {
+            while (durableSeq < seq && failure == null) {
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journal", e);
+                }
+            }
+            if (durableSeq < seq) {
+                throw new UncheckedIOException("Journal write failed: " + path, failure);
+            }
+        }
+    }
+
+    /**
+     * Blocks until every record appended so far has been fsynced.
+     */
+    public void awaitAllDurable() {
+        long seq;
+        synchronized (monitor) {
+            seq = appendedSeq;
+        }
+        awaitDurable(seq);
+    }
+
+    /**
+     * Closes the active segment and starts the next generation. New appends wait from
+     * the start of this call until the records already appended are flushed and the new
+     * segment is open, so the rotation cannot be starved by a steady stream of appends:
+     * every record appended before this call lands in an older generation and every
+     * record appended after it in the returned one.
+     */
+    public int rotate() throws IOException {
+        synchronized (monitor) {
+            while (rotating) { // One rotation at a time
+                awaitRotation();
+            }
+            rotating = true;
+            try {
+                while ((pending.position() > 0 || flushInProgress) && failure == null) {
+                    awaitRotation();
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+
+                channel.close();
+                Files.move(path, segmentPath(path, generation), StandardCopyOption.ATOMIC_MOVE);
+                generation++;
+                channel = createSegment(path, generation, appendedSeq);
+                channel.position(channel.size());
+                return generation;
+            } finally {
+                rotating = false;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void awaitRotation() throws IOException {
+        try {
+            monitor.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rotating journal", e);
+        }
+    }
+
+    /**
+     * Deletes closed segments older than the given generation.
+     */
+    public void deleteSegmentsBefore(int generation) throws IOException {
+        for (Path segment : closedSegments(path).headMap(generation).values()) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    public int getGeneration() {
+        synchronized (monitor) {
+            return generation;
+        }
+    }
+
+    public long getDurableSequence() {
+        synchronized (monitor) {
+            return durableSeq;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (pending.remaining() >= needed) {
+            return;
+        }
+        int capacity = Math.max(pending.capacity() * 2, pending.position() + needed);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            FileChannel target;
+            long batchSeq;
+            synchronized (monitor) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = flushing;
+                flushing = batch;
+                target = channel;
+                batchSeq = appendedSeq;
+                flushInProgress = true;
+            }
+
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    target.write(batch);
+                }
+                target.force(false);
+                batch.clear();
+            } catch (IOException e) {
+                synchronized (monitor) {
+                    failure = e;
+                    flushInProgress = false;
+                    monitor.notifyAll();
+                }
+                return;
+            }
+
+            synchronized (monitor) {
+                durableSeq = batchSeq;
+                flushInProgress = false;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (monitor) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            monitor.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (monitor) {
+            channel.close();
+        }
+    }
+
+    // Segment files
+
+    // Returns the offset just past the last intact frame
+    private static long scanSegment(FileChannel segment, RecordHandler handler) throws IOException {
+        long size = segment.size();
+        long position = HEADER_SIZE;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        CRC32 checksum = new CRC32();
+
+        while (position + FRAME_OVERHEAD <= size) {
+            lengthBuffer.clear();
+            segment.read(lengthBuffer, position);
+            int length = lengthBuffer.getInt(0);
+            if (length <= 0 || position + FRAME_OVERHEAD + length > size) {
+                break;
+            }
+
+            ByteBuffer frame = ByteBuffer.allocate(8 + length + 4);
+            segment.read(frame, position + 4);
+            checksum.reset();
+            checksum.update(frame.array(), 0, 8 + length);
+            if ((int) checksum.getValue() != frame.getInt(8 + length)) {
+                break;
+            }
+
+            handler.accept(frame.getLong(0), JournalRecord.readFrom(frame.limit(8 + length).position(8)));
+            position += FRAME_OVERHEAD + length;
+        }
+        return position;
+    }
+
+    // Like scanSegment, but a closed segment must end exactly after its last frame
+    private static void scanClosedSegment(FileChannel segment, Path file, RecordHandler handler) throws IOException {
+        long end = scanSegment(segment, handler);
+        if (end != segment.size()) {
+            throw new IOException("Corrupt journal segment " + file + " at offset " + end);
+        }
+    }
+
+    private static FileChannel createSegment(Path path, int generation, long baseSequence) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC).putInt(generation).putLong(baseSequence).flip();
+        channel.write(header, 0);
+        channel.force(true);
+        return channel;
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a bank journal: " + file);
+        }
+        return header;
+    }
+
+    private static long lastSequence(Path segment) throws IOException {
+        long[] last = new long[1];
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            last[0] = readHeader(channel, segment).getLong(8);
+            scanClosedSegment(channel, segment, (sequence, record) -> last[0] = sequence);
+        }
+        return last[0];
+    }
+
+    private static Path segmentPath(Path path, int generation) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    private static TreeMap<Integer, Path> closedSegments(Path path) throws IOException {
+        TreeMap<Integer, Path> segments = new TreeMap<>();
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix)) {
+                    String suffix = name.substring(prefix.length());
+                    if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                        segments.put(Integer.parseInt(suffix), file);
+                    }
+                }
+            });
+        }
+        return segments;
+    }
+}
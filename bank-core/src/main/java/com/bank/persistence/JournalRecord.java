@@ -0,0 +1,222 @@
+package com.bank.persistence;
+
+import com.bank.model.Transaction;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single mutation recorded in the write-ahead journal.
+ *
+ * Every record has the same compact layout: a type byte, the account number, an
+ * optional second string (holder name or transfer target), an amount in cents, one
+ * extra long (interest rate bits, overdraft limit in cents or maintenance flags) and
+ * the time the record was made, in epoch nanoseconds. Records are made as their
+ * operation runs, so replay stamps history (and creations) with the original times.
+ *
+ * Import records are creations whose amount is a migrated balance rather than an
+ * initial deposit, so it may be an overdraft and leaves no deposit in the history.
+ *
+ * Maintenance records reuse the amount for the maintenance period. A checkpoint is
+ * bank-wide and stores the high-water account number in place of an account number,
+ * with the last month-end period in the upper half of the flags.
+ */
+public final class JournalRecord {
+    public enum Type {
+        CREATE_SAVINGS, CREATE_CHECKING, DEPOSIT, WITHDRAW, TRANSFER, INTEREST, RESET_WITHDRAWALS, CLOSE,
+        MAINTENANCE, MAINTENANCE_CHECKPOINT, IMPORT_SAVINGS, IMPORT_CHECKING
+    }
+
+    private static final long MONTH_END = 1;
+    private static final long COMPLETE = 2;
+
+    private static final Type[] TYPES = Type.values();
+
+    private final Type type;
+    private final String accountNumber;
+    private final String other;
+    private final long amount;
+    private final long extra;
+    private final long epochNanos;
+
+    private JournalRecord(Type type, String accountNumber, String other, long amount, long extra) {
+        this(type, accountNumber, other, amount, extra, Transaction.currentEpochNanos());
+    }
+
+    private JournalRecord(Type type, String accountNumber, String other, long amount, long extra, long epochNanos) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.other = other;
+        this.amount = amount;
+        this.extra = extra;
+        this.epochNanos = epochNanos;
+    }
+
+    // Factories
+    public static JournalRecord createSavings(String accountNumber, String holder,
+                                              long initialCents, double interestRate) {
+        return new JournalRecord(Type.CREATE_SAVINGS, accountNumber, holder, initialCents,
+                Double.doubleToLongBits(interestRate));
+    }
+
+    public static JournalRecord createChecking(String accountNumber, String holder,
+                                               long initialCents, long overdraftLimitCents) {
+        return new JournalRecord(Type.CREATE_CHECKING, accountNumber, holder, initialCents, overdraftLimitCents);
+    }
+
+    public static JournalRecord importSavings(String accountNumber, String holder,
+                                              long balanceCents, double interestRate) {
+        return new JournalRecord(Type.IMPORT_SAVINGS, accountNumber, holder, balanceCents,
+                Double.doubleToLongBits(interestRate));
+    }
+
+    public static JournalRecord importChecking(String accountNumber, String holder,
+                                               long balanceCents, long overdraftLimitCents) {
+        return new JournalRecord(Type.IMPORT_CHECKING, accountNumber, holder, balanceCents, overdraftLimitCents);
+    }
+
+    public static JournalRecord deposit(String accountNumber, long cents) {
+        return new JournalRecord(Type.DEPOSIT, accountNumber, "", cents, 0);
+    }
+
+    public static JournalRecord withdraw(String accountNumber, long cents) {
+        return new JournalRecord(Type.WITHDRAW, accountNumber, "", cents, 0);
+    }
+
+    public static JournalRecord transfer(String fromAccountNumber, String toAccountNumber, long cents) {
+        return new JournalRecord(Type.TRANSFER, fromAccountNumber, toAccountNumber, cents, 0);
+    }
+
+    public static JournalRecord interest(String accountNumber) {
+        return new JournalRecord(Type.INTEREST, accountNumber, "", 0, 0);
+    }
+
+    public static JournalRecord resetWithdrawals(String accountNumber) {
+        return new JournalRecord(Type.RESET_WITHDRAWALS, accountNumber, "", 0, 0);
+    }
+
+    public static JournalRecord close(String accountNumber) {
+        return new JournalRecord(Type.CLOSE, accountNumber, "", 0, 0);
+    }
+
+    /**
+     * One account's maintenance up to a period; the account and period form its idempotency key.
+     *
+     * @param monthEnd whether a month end passed since the account was last maintained
+     */
+    public static JournalRecord maintenance(String accountNumber, int period, boolean monthEnd) {
+        return new JournalRecord(Type.MAINTENANCE, accountNumber, "", period, monthEnd ? MONTH_END : 0);
+    }
+
+    /**
+     * Progress of a maintenance run: every account up to and including the high-water
+     * account number has been maintained. An empty high-water mark marks the start.
+     */
+    public static JournalRecord maintenanceCheckpoint(int period, boolean monthEnd, int lastMonthEndPeriod,
+                                                      String highWaterAccountNumber, boolean complete) {
+        return new JournalRecord(Type.MAINTENANCE_CHECKPOINT, highWaterAccountNumber, "", period,
+                ((long) lastMonthEndPeriod << 32) | (monthEnd ? MONTH_END : 0) | (complete ? COMPLETE : 0));
+    }
+
+    // Encoding
+    public int encodedSize() {
+        return 1 + 2 + utf8Length(accountNumber) + 2 + utf8Length(other) + 8 + 8 + 8;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put((byte) type.ordinal());
+        putString(buffer, accountNumber);
+        putString(buffer, other);
+        buffer.putLong(amount);
+        buffer.putLong(extra);
+        buffer.putLong(epochNanos);
+    }
+
+    public static JournalRecord readFrom(ByteBuffer buffer) {
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown journal record type: " + ordinal);
+        }
+        String accountNumber = getString(buffer);
+        String other = getString(buffer);
+        long amount = buffer.getLong();
+        long extra = buffer.getLong();
+        long epochNanos = buffer.getLong();
+        return new JournalRecord(TYPES[ordinal], accountNumber, other, amount, extra, epochNanos);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getHolderName() {
+        return other;
+    }
+
+    public String getTargetAccountNumber() {
+        return other;
+    }
+
+    public long getAmountCents() {
+        return amount;
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public double getInterestRate() {
+        return Double.longBitsToDouble(extra);
+    }
+
+    public long getOverdraftLimitCents() {
+        return extra;
+    }
+
+    public int getMaintenancePeriod() {
+        return (int) amount;
+    }
+
+    public boolean isMonthEnd() {
+        return (extra & MONTH_END) != 0;
+    }
+
+    public int getLastMonthEndPeriod() {
+        return (int) (extra >>> 32);
+    }
+
+    public boolean isMaintenanceComplete() {
+        return (extra & COMPLETE) != 0;
+    }
+
+    public String getHighWaterAccountNumber() {
+        return accountNumber;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s %d", type, accountNumber, other, amount);
+    }
+}
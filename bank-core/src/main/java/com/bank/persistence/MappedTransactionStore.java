@@ -0,0 +1,265 @@
+package com.bank.persistence;
+
+import com.bank.model.Transaction;
+import com.bank.model.TransactionDescription;
+import com.bank.model.TimeIndex;
+import com.bank.model.TransactionHistory;
+import com.bank.model.TransactionVisitor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Bank-wide transaction history kept off-heap in memory-mapped column files.
+ *
+ * Each column (type, amount, balance after, timestamp, description code and argument)
+ * is its own file indexed by slot. Accounts are handed blocks of slots that double in
+ * size up to {@link #MAX_BLOCK_SLOTS}, so the heap cost of a history is a short array
+ * of block starts however long it grows.
+ *
+ * The files are scratch space for the running process, not a durability mechanism:
+ * they are truncated on open, and the journal and snapshots remain the source of truth.
+ */
+public class MappedTransactionStore implements TransactionStore {
+    private static final int REGION_SHIFT = 20; // 1M slots per mapping
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+    private static final int FIRST_BLOCK_SLOTS = 16;
+    private static final int MAX_BLOCK_SLOTS = 4096;
+    private static final int GROWING_BLOCKS = 9; // 16, 32, ... 4096
+    private static final int GROWING_SLOTS = FIRST_BLOCK_SLOTS * ((1 << GROWING_BLOCKS) - 1);
+
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final Path directory;
+    private final Column types;
+    private final Column amounts;
+    private final Column balances;
+    private final Column timestamps;
+    private final Column descriptions;
+    private final Column descriptionArguments;
+
+    // Guarded by this
+    private long nextSlot;
+
+    public MappedTransactionStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.types = new Column(directory.resolve("type.col"), 1 << REGION_SHIFT);
+        this.amounts = new Column(directory.resolve("amount.col"), Long.BYTES << REGION_SHIFT);
+        this.balances = new Column(directory.resolve("balance.col"), Long.BYTES << REGION_SHIFT);
+        this.timestamps = new Column(directory.resolve("timestamp.col"), Long.BYTES << REGION_SHIFT);
+        this.descriptions = new Column(directory.resolve("description.col"), 1 << REGION_SHIFT);
+        this.descriptionArguments = new Column(directory.resolve("argument.col"), Long.BYTES << REGION_SHIFT);
+    }
+
+    @Override
+    public TransactionHistory newHistory(String idPrefix) {
+        return new MappedHistory(idPrefix);
+    }
+
+    @Override
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private synchronized long allocateSlots(int count) {
+        long start = nextSlot;
+        nextSlot += count;
+        return start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Column column : new Column[] {types, amounts, balances, timestamps, descriptions, descriptionArguments}) {
+            try {
+                column.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Block layout
+
+    private static int blockOf(int index) {
+        if (index < GROWING_SLOTS) {
+            return 31 - Integer.numberOfLeadingZeros(index / FIRST_BLOCK_SLOTS + 1);
+        }
+        return GROWING_BLOCKS + (index - GROWING_SLOTS) / MAX_BLOCK_SLOTS;
+    }
+
+    private static int blockFirstIndex(int block) {
+        if (block < GROWING_BLOCKS) {
+            return FIRST_BLOCK_SLOTS * ((1 << block) - 1);
+        }
+        return GROWING_SLOTS + (block - GROWING_BLOCKS) * MAX_BLOCK_SLOTS;
+    }
+
+    private static int blockSlots(int block) {
+        return block < GROWING_BLOCKS ? FIRST_BLOCK_SLOTS << block : MAX_BLOCK_SLOTS;
+    }
+
+    /**
+     * One account's entries: the only heap state is the block table and the size.
+     */
+    private final class MappedHistory implements TransactionHistory {
+        private final String idPrefix;
+        private volatile long[] blockStarts = new long[0];
+        private final TimeIndex timeIndex = new TimeIndex();
+        private volatile int size;
+
+        MappedHistory(String idPrefix) {
+            this.idPrefix = idPrefix;
+        }
+
+        @Override
+        public void append(Transaction.TransactionType type, long amount, long balanceAfter, long timestamp,
+                           TransactionDescription description, long descriptionArgument) {
+            int index = size;
+            int block = blockOf(index);
+            long[] starts = blockStarts;
+            if (block == starts.length) {
+                starts = Arrays.copyOf(starts, block + 1);
+                starts[block] = allocateSlots(blockSlots(block));
+                blockStarts = starts;
+            }
+            long slot = starts[block] + (index - blockFirstIndex(block));
+
+            types.putByte(slot, (byte) type.ordinal());
+            amounts.putLong(slot, amount);
+            balances.putLong(slot, balanceAfter);
+            timestamps.putLong(slot, timestamp);
+            descriptions.putByte(slot, (byte) description.ordinal());
+            descriptionArguments.putLong(slot, descriptionArgument);
+            timeIndex.add(index, timestamp);
+            size = index + 1; // Publishes the entry to readers
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int block = blockOf(index);
+            long slot = blockStarts[block] + (index - blockFirstIndex(block));
+            return new Transaction(
+                idPrefix,
+                index + 1,
+                TYPES[types.getByte(slot)],
+                amounts.getLong(slot),
+                balances.getLong(slot),
+                timestamps.getLong(slot),
+                TransactionDescription.fromCode(descriptions.getByte(slot)),
+                descriptionArguments.getLong(slot)
+            );
+        }
+
+        @Override
+        public long timestampAt(int index) {
+            Objects.checkIndex(index, size);
+            int block = blockOf(index);
+            return timestamps.getLong(blockStarts[block] + (index - blockFirstIndex(block)));
+        }
+
+        @Override
+        public void forEachBetween(long fromNanos, long toNanos, TransactionVisitor visitor) {
+            timeIndex.forEachBetween(this, size, fromNanos, toNanos, visitor);
+        }
+
+        @Override
+        public int lastIndexBefore(long epochNanos) {
+            return timeIndex.lastBefore(this, size, epochNanos);
+        }
+
+        @Override
+        public void forEach(int from, int to, TransactionVisitor visitor) {
+            Objects.checkFromToIndex(from, to, size);
+            long[] starts = blockStarts;
+            for (int index = from; index < to; index++) {
+                int block = blockOf(index);
+                long slot = starts[block] + (index - blockFirstIndex(block));
+                visitor.visit(index + 1, TYPES[types.getByte(slot)], amounts.getLong(slot), balances.getLong(slot),
+                        timestamps.getLong(slot), TransactionDescription.fromCode(descriptions.getByte(slot)),
+                        descriptionArguments.getLong(slot));
+            }
+        }
+    }
+
+    /**
+     * A file mapped lazily in fixed-size regions.
+     */
+    private static final class Column implements Closeable {
+        private final FileChannel channel;
+        private final int regionBytes;
+        private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+        Column(Path file, int regionBytes) throws IOException {
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.regionBytes = regionBytes;
+        }
+
+        MappedByteBuffer region(int index) {
+            MappedByteBuffer[] current = regions;
+            return index < current.length ? current[index] : map(index);
+        }
+
+        private synchronized MappedByteBuffer map(int index) {
+            MappedByteBuffer[] current = regions;
+            if (index < current.length) {
+                return current[index];
+            }
+            MappedByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+            try {
+                for (int i = current.length; i <= index; i++) {
+                    grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * regionBytes, regionBytes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot map transaction store column", e);
+            }
+            regions = grown;
+            return grown[index];
+        }
+
+        void putByte(long slot, byte value) {
+            region((int) (slot >>> REGION_SHIFT)).put((int) (slot & REGION_MASK), value);
+        }
+
+        byte getByte(long slot) {
+            return region((int) (slot >>> REGION_SHIFT)).get((int) (slot & REGION_MASK));
+        }
+
+        void putLong(long slot, long value) {
+            region((int) (slot >>> REGION_SHIFT)).putLong((int) (slot & REGION_MASK) * Long.BYTES, value);
+        }
+
+        long getLong(long slot) {
+            return region((int) (slot >>> REGION_SHIFT)).getLong((int) (slot & REGION_MASK) * Long.BYTES);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Mappings stay valid after the channel closes and are released by the GC
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.bank.persistence;
+
+import com.bank.model.Transaction;
+
+import java.util.Arrays;
+
+/**
+ * Encodes cold history blocks for the segment file, column by column, exploiting how
+ * regular history is.
+ *
+ * <ul>
+ *   <li>Ids cost nothing: they follow from the block's position in the history.</li>
+ *   <li>Type, description code and argument repeat ("Deposit", "Overdraft fee", the
+ *       same monthly interest rate), so each distinct triple is stored once in a block
+ *       dictionary and entries refer to it by index.</li>
+ *   <li>Timestamps are stored as deltas from the previous entry.</li>
+ *   <li>Balances are stored as the difference from the previous balance plus or minus
+ *       the amount, which is zero for almost every entry.</li>
+ * </ul>
+ *
+ * Each column is then stored relative to its minimum, divided by the greatest common
+ * divisor of the results (timestamps are whole milliseconds, amounts often whole
+ * dollars), and bit-packed at the width its largest value needs; a column holding one
+ * value takes no bits at all. Header numbers are varints, zigzag-encoded where they can
+ * be negative.
+ */
+final class SegmentCodec {
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private SegmentCodec() {
+    }
+
+    static byte[] encode(HistoryBlock block) {
+        int count = block.count;
+        Writer out = new Writer(32 + count * (4 * 8 + 12));
+
+        // Dictionary of (type, description, argument), and each entry's index into it
+        long[] codes = new long[count];
+        int[] dictionary = new int[count];
+        int dictionarySize = 0;
+        for (int i = 0; i < count; i++) {
+            int code = 0;
+            while (code < dictionarySize && !sameEntryKind(block, dictionary[code], i)) {
+                code++;
+            }
+            if (code == dictionarySize) {
+                dictionary[dictionarySize++] = i;
+            }
+            codes[i] = code;
+        }
+        out.varint(count);
+        out.varint(dictionarySize);
+        for (int d = 0; d < dictionarySize; d++) {
+            int i = dictionary[d];
+            out.next(block.types[i]);
+            out.next(block.descriptions[i]);
+            out.signed(block.arguments[i]);
+        }
+
+        long[] column = new long[count];
+        out.signed(count > 0 ? block.timestamps[0] : 0);
+        for (int i = 1; i < count; i++) {
+            column[i - 1] = block.timestamps[i] - block.timestamps[i - 1];
+        }
+        out.column(column, Math.max(count - 1, 0));
+        out.column(codes, count);
+        out.column(block.amounts, count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            column[i] = block.balances[i] - predictBalance(previous, block.types[i], block.amounts[i]);
+            previous = block.balances[i];
+        }
+        out.column(column, count);
+        return out.toByteArray();
+    }
+
+    static HistoryBlock decode(byte[] encoded, int first, int capacity) {
+        Reader in = new Reader(encoded);
+        int count = (int) in.varint();
+        if (count < 0 || count > capacity) {
+            throw new IllegalStateException("Corrupt history segment block: " + count + " entries");
+        }
+        HistoryBlock block = new HistoryBlock(count);
+        block.first = first;
+        block.count = count;
+
+        int dictionarySize = (int) in.varint();
+        byte[] dictionaryTypes = new byte[dictionarySize];
+        byte[] dictionaryDescriptions = new byte[dictionarySize];
+        long[] dictionaryArguments = new long[dictionarySize];
+        for (int d = 0; d < dictionarySize; d++) {
+            dictionaryTypes[d] = in.next();
+            dictionaryDescriptions[d] = in.next();
+            dictionaryArguments[d] = in.signed();
+        }
+
+        long[] column = new long[count];
+        long timestamp = in.signed();
+        in.column(column, Math.max(count - 1, 0));
+        for (int i = 0; i < count; i++) {
+            block.timestamps[i] = timestamp;
+            timestamp += column[i];
+        }
+        in.column(column, count);
+        for (int i = 0; i < count; i++) {
+            int code = (int) column[i];
+            block.types[i] = dictionaryTypes[code];
+            block.descriptions[i] = dictionaryDescriptions[code];
+            block.arguments[i] = dictionaryArguments[code];
+        }
+        in.column(block.amounts, count);
+        in.column(column, count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous = predictBalance(previous, block.types[i], block.amounts[i]) + column[i];
+            block.balances[i] = previous;
+        }
+        return block;
+    }
+
+    private static boolean sameEntryKind(HistoryBlock block, int i, int j) {
+        return block.types[i] == block.types[j] && block.descriptions[i] == block.descriptions[j]
+                && block.arguments[i] == block.arguments[j];
+    }
+
+    private static long predictBalance(long previous, byte type, long amount) {
+        switch (TYPES[type]) {
+            case DEPOSIT:
+            case TRANSFER_IN:
+            case INTEREST:
+                return previous + amount;
+            default:
+                return previous - amount;
+        }
+    }
+
+    private static final class Writer {
+        private final byte[] data;
+        private int position;
+
+        Writer(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void next(byte value) {
+            data[position++] = value;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                data[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[position++] = (byte) value;
+        }
+
+        void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Minimum, divisor and bit width, then each value's (value - minimum) / divisor.
+         * Differences are unsigned, so columns spanning the whole long range still fit.
+         */
+        void column(long[] values, int count) {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, values[i]);
+            }
+            long unit = 0;
+            for (int i = 0; i < count && unit != 1; i++) {
+                long delta = values[i] - min;
+                while (delta != 0) {
+                    long remainder = Long.remainderUnsigned(unit, delta);
+                    unit = delta;
+                    delta = remainder;
+                }
+            }
+            if (unit == 0) {
+                unit = 1;
+            }
+            long bits = 0;
+            for (int i = 0; i < count; i++) {
+                bits |= Long.divideUnsigned(values[i] - min, unit);
+            }
+            int width = 64 - Long.numberOfLeadingZeros(bits);
+            signed(count > 0 ? min : 0);
+            varint(unit);
+            data[position++] = (byte) width;
+            if (width == 0) {
+                return;
+            }
+            int used = 0; // Bits filled in data[position]
+            for (int i = 0; i < count; i++) {
+                long value = Long.divideUnsigned(values[i] - min, unit);
+                for (int remaining = width; remaining > 0; ) {
+                    data[position] |= (byte) (value << used);
+                    int taken = Math.min(8 - used, remaining);
+                    value >>>= taken;
+                    remaining -= taken;
+                    used += taken;
+                    if (used == 8) {
+                        position++;
+                        used = 0;
+                    }
+                }
+            }
+            if (used > 0) {
+                position++;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(data, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte next() {
+            return data[position++];
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        long signed() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        void column(long[] values, int count) {
+            long min = signed();
+            long unit = varint();
+            int width = data[position++];
+            if (width == 0) {
+                Arrays.fill(values, 0, count, min);
+                return;
+            }
+            int used = 0;
+            for (int i = 0; i < count; i++) {
+                long value = 0;
+                for (int got = 0; got < width; ) {
+                    int taken = Math.min(8 - used, width - got);
+                    value |= (long) (((data[position] & 0xFF) >>> used) & ((1 << taken) - 1)) << got;
+                    got += taken;
+                    used += taken;
+                    if (used == 8) {
+                        position++;
+                        used = 0;
+                    }
+                }
+                values[i] = min + value * unit;
+            }
+            if (used > 0) {
+                position++;
+            }
+        }
+    }
+}
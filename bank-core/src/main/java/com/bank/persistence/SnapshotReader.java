@@ -0,0 +1,64 @@
+package com.bank.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}, one account at a time.
+ */
+public class SnapshotReader implements Closeable {
+    private final DataInputStream in;
+    private final int startGeneration;
+    private final int accountNumberCounter;
+    private final JournalRecord maintenance;
+
+    public SnapshotReader(Path path) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        if (in.readInt() != SnapshotWriter.MAGIC) {
+            in.close();
+            throw new IOException("Not a bank snapshot: " + path);
+        }
+        this.startGeneration = in.readInt();
+        this.accountNumberCounter = in.readInt();
+        byte[] record = new byte[in.readInt()];
+        in.readFully(record);
+        this.maintenance = JournalRecord.readFrom(ByteBuffer.wrap(record));
+    }
+
+    public int getStartGeneration() {
+        return startGeneration;
+    }
+
+    public int getAccountNumberCounter() {
+        return accountNumberCounter;
+    }
+
+    public JournalRecord getMaintenanceCheckpoint() {
+        return maintenance;
+    }
+
+    /**
+     * Returns the next encoded account, or null once every account has been read.
+     */
+    public DataInput nextAccount() throws IOException {
+        int length = in.readInt();
+        if (length == SnapshotWriter.END_OF_ACCOUNTS) {
+            return null;
+        }
+        byte[] encoded = new byte[length];
+        in.readFully(encoded);
+        return new DataInputStream(new ByteArrayInputStream(encoded));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
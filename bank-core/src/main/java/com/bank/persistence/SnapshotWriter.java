@@ -0,0 +1,82 @@
+package com.bank.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a point-in-time snapshot of the bank.
+ *
+ * Data goes to a temporary file that is fsynced and atomically renamed over the
+ * previous snapshot on {@link #commit()}, so a crash mid-write leaves the old
+ * snapshot intact.
+ *
+ * Format: [int magic][int startGeneration][int accountNumberCounter][int length]
+ * [maintenance checkpoint record], then one [int length][account bytes] frame per
+ * account, terminated by a length of -1.
+ */
+public class SnapshotWriter implements Closeable {
+    static final int MAGIC = 0x424B5332; // "BKS2"
+    static final int END_OF_ACCOUNTS = -1;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileOutputStream file;
+    private final DataOutputStream out;
+    private int accountCount;
+    private boolean committed;
+
+    /**
+     * @param startGeneration     first journal generation not covered by this snapshot
+     * @param accountNumberCounter value of the account-number generator
+     * @param maintenance          latest maintenance checkpoint of the bank
+     */
+    public SnapshotWriter(Path target, int startGeneration, int accountNumberCounter,
+                          JournalRecord maintenance) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.file = new FileOutputStream(temporary.toFile());
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(startGeneration);
+        out.writeInt(accountNumberCounter);
+        ByteBuffer record = ByteBuffer.allocate(maintenance.encodedSize());
+        maintenance.writeTo(record);
+        out.writeInt(record.position());
+        out.write(record.array(), 0, record.position());
+    }
+
+    public void writeAccount(ByteArrayOutputStream encoded) throws IOException {
+        out.writeInt(encoded.size());
+        encoded.writeTo(out);
+        accountCount++;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    public void commit() throws IOException {
+        out.writeInt(END_OF_ACCOUNTS);
+        out.flush();
+        file.getFD().sync();
+        out.close();
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            out.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
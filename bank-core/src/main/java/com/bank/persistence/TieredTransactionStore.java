@@ -0,0 +1,311 @@
+package com.bank.persistence;
+
+import com.bank.model.TimeIndex;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionDescription;
+import com.bank.model.TransactionHistory;
+import com.bank.model.TransactionVisitor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Bank-wide transaction history in two tiers: each account's most recent entries on the
+ * heap, everything older compressed on disk.
+ *
+ * A history keeps at least its last {@code hotEntries} entries in a ring of primitive
+ * columns, which only grows as far as it needs to. When the ring is full, its oldest
+ * {@value #BLOCK_ENTRIES} entries are encoded (see {@link SegmentCodec}) and appended to a
+ * segment file shared by all accounts; the history keeps just the block's file position.
+ * Reading old entries pages their block back through an LRU cache bounded in bytes, so
+ * occasional statements and audits do not pull whole histories onto the heap.
+ *
+ * Appends are serialized by the owning account. Each history also guards its ring with
+ * its own monitor, held only to copy entries out, so readers never see a slot that is
+ * being reused; cold blocks are immutable and read without it.
+ */
+public class TieredTransactionStore implements TransactionStore {
+    public static final int DEFAULT_HOT_ENTRIES = 512;
+    public static final long DEFAULT_CACHE_BYTES = 64L << 20;
+    static final int BLOCK_ENTRIES = 256;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final Path directory;
+    private final int ringCapacity;
+    private final FileChannel segment;
+    private final BlockCache cache;
+
+    // Guarded by this
+    private long segmentBytes;
+    private long coldEntries;
+
+    public TieredTransactionStore(Path directory) throws IOException {
+        this(directory, DEFAULT_HOT_ENTRIES, DEFAULT_CACHE_BYTES);
+    }
+
+    public TieredTransactionStore(Path directory, int hotEntries, long cacheBytes) throws IOException {
+        if (hotEntries < 1 || cacheBytes < 0) {
+            throw new IllegalArgumentException("Hot entries must be positive and cache size non-negative");
+        }
+        this.directory = directory;
+        this.ringCapacity = hotEntries + BLOCK_ENTRIES;
+        this.cache = new BlockCache(cacheBytes);
+        Files.createDirectories(directory);
+        this.segment = FileChannel.open(directory.resolve("history.seg"),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public TransactionHistory newHistory(String idPrefix) {
+        return new TieredHistory(idPrefix);
+    }
+
+    @Override
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Bytes of encoded cold blocks in the segment file.
+     */
+    public synchronized long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    /**
+     * Entries moved to the segment file, across all histories.
+     */
+    public synchronized long getColdEntries() {
+        return coldEntries;
+    }
+
+    public long getCacheBytes() {
+        return cache.getWeight();
+    }
+
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    private synchronized long writeBlock(byte[] encoded, int entries) {
+        long offset = segmentBytes;
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        try {
+            while (buffer.hasRemaining()) {
+                segment.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write history segment", e);
+        }
+        segmentBytes += encoded.length;
+        coldEntries += entries;
+        return offset;
+    }
+
+    private HistoryBlock readBlock(long offset, int length, int first) {
+        HistoryBlock block = cache.get(offset);
+        if (block != null) {
+            return block;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (segment.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("History segment truncated at " + (offset + buffer.position()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read history segment", e);
+        }
+        block = SegmentCodec.decode(buffer.array(), first, BLOCK_ENTRIES);
+        cache.put(offset, block);
+        return block;
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment.close();
+    }
+
+    /**
+     * One account's entries: a ring of recent ones, and the segment positions of the rest.
+     */
+    private final class TieredHistory implements TransactionHistory {
+        private final String idPrefix;
+        private final TimeIndex timeIndex = new TimeIndex();
+
+        // Guarded by this. Entry i is in slot i % capacity; entries before coldCount are on disk
+        private byte[] types = new byte[INITIAL_CAPACITY];
+        private long[] amounts = new long[INITIAL_CAPACITY];
+        private long[] balances = new long[INITIAL_CAPACITY];
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private byte[] descriptions = new byte[INITIAL_CAPACITY];
+        private long[] descriptionArguments = new long[INITIAL_CAPACITY];
+        private int coldCount;
+        private long[] blockOffsets = new long[0];
+        private int[] blockLengths = new int[0];
+
+        private volatile int size;
+
+        TieredHistory(String idPrefix) {
+            this.idPrefix = idPrefix;
+        }
+
+        @Override
+        public synchronized void append(Transaction.TransactionType type, long amount, long balanceAfter,
+                                        long timestamp, TransactionDescription description,
+                                        long descriptionArgument) {
+            int index = size;
+            if (index - coldCount == types.length) {
+                if (types.length < ringCapacity) {
+                    grow(); // Only before the first spill, so slots still equal positions
+                } else {
+                    spill();
+                }
+            }
+            int slot = index % types.length;
+            types[slot] = (byte) type.ordinal();
+            amounts[slot] = amount;
+            balances[slot] = balanceAfter;
+            timestamps[slot] = timestamp;
+            descriptions[slot] = (byte) description.ordinal();
+            descriptionArguments[slot] = descriptionArgument;
+            timeIndex.add(index, timestamp);
+            size = index + 1;
+        }
+
+        private void grow() {
+            int capacity = Math.min(types.length * 2, ringCapacity);
+            types = Arrays.copyOf(types, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            balances = Arrays.copyOf(balances, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            descriptionArguments = Arrays.copyOf(descriptionArguments, capacity);
+        }
+
+        // Moves the oldest block of the ring to the segment file
+        private void spill() {
+            HistoryBlock block = new HistoryBlock(BLOCK_ENTRIES);
+            copyHot(coldCount, BLOCK_ENTRIES, block);
+            byte[] encoded = SegmentCodec.encode(block);
+            int blockIndex = blockOffsets.length;
+            blockOffsets = Arrays.copyOf(blockOffsets, blockIndex + 1);
+            blockLengths = Arrays.copyOf(blockLengths, blockIndex + 1);
+            blockOffsets[blockIndex] = writeBlock(encoded, BLOCK_ENTRIES);
+            blockLengths[blockIndex] = encoded.length;
+            coldCount += BLOCK_ENTRIES;
+        }
+
+        private void copyHot(int from, int count, HistoryBlock target) {
+            int capacity = types.length;
+            for (int i = 0; i < count; i++) {
+                int slot = (from + i) % capacity;
+                target.types[i] = types[slot];
+                target.amounts[i] = amounts[slot];
+                target.balances[i] = balances[slot];
+                target.timestamps[i] = timestamps[slot];
+                target.descriptions[i] = descriptions[slot];
+                target.arguments[i] = descriptionArguments[slot];
+            }
+            target.first = from;
+            target.count = count;
+        }
+
+        /**
+         * Entries from the given position on (up to {@code to}): its cold block, or hot
+         * entries copied into the scratch block.
+         */
+        private HistoryBlock blockFrom(int index, int to, HistoryBlock scratch) {
+            int block;
+            long offset;
+            int length;
+            synchronized (this) {
+                if (index >= coldCount) {
+                    copyHot(index, Math.min(to - index, scratch.types.length), scratch);
+                    return scratch;
+                }
+                block = index / BLOCK_ENTRIES;
+                offset = blockOffsets[block];
+                length = blockLengths[block];
+            }
+            return readBlock(offset, length, block * BLOCK_ENTRIES);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            Objects.checkIndex(index, size);
+            HistoryBlock block = blockFrom(index, index + 1, new HistoryBlock(1));
+            int i = index - block.first;
+            return new Transaction(idPrefix, index + 1, TYPES[block.types[i]], block.amounts[i],
+                    block.balances[i], block.timestamps[i], TransactionDescription.fromCode(block.descriptions[i]),
+                    block.arguments[i]);
+        }
+
+        @Override
+        public long timestampAt(int index) {
+            Objects.checkIndex(index, size);
+            int block;
+            long offset;
+            int length;
+            synchronized (this) {
+                if (index >= coldCount) {
+                    return timestamps[index % timestamps.length];
+                }
+                block = index / BLOCK_ENTRIES;
+                offset = blockOffsets[block];
+                length = blockLengths[block];
+            }
+            return readBlock(offset, length, block * BLOCK_ENTRIES).timestamps[index - block * BLOCK_ENTRIES];
+        }
+
+        @Override
+        public void forEach(int from, int to, TransactionVisitor visitor) {
+            Objects.checkFromToIndex(from, to, size);
+            HistoryBlock scratch = null;
+            int index = from;
+            while (index < to) {
+                if (scratch == null) {
+                    scratch = new HistoryBlock(Math.min(to - from, BLOCK_ENTRIES));
+                }
+                HistoryBlock block = blockFrom(index, to, scratch);
+                int end = Math.min(to, block.first + block.count);
+                for (; index < end; index++) {
+                    int i = index - block.first;
+                    visitor.visit(index + 1, TYPES[block.types[i]], block.amounts[i], block.balances[i],
+                            block.timestamps[i], TransactionDescription.fromCode(block.descriptions[i]),
+                            block.arguments[i]);
+                }
+            }
+        }
+
+        @Override
+        public void forEachBetween(long fromNanos, long toNanos, TransactionVisitor visitor) {
+            timeIndex.forEachBetween(this, size, fromNanos, toNanos, visitor);
+        }
+
+        @Override
+        public int lastIndexBefore(long epochNanos) {
+            return timeIndex.lastBefore(this, size, epochNanos);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.persistence;
+
+import com.bank.model.TransactionHistory;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+/**
+ * Bank-wide storage that account histories can be moved into, off the default on-heap
+ * arrays. A store's files are scratch space for the running process: the journal and
+ * snapshots remain the source of truth.
+ */
+public interface TransactionStore extends Closeable {
+
+    /**
+     * Creates an empty history backed by this store. Suitable as the factory passed to
+     * {@link com.bank.model.Account#moveTransactionHistory}.
+     */
+    TransactionHistory newHistory(String idPrefix);
+
+    Path getDirectory();
+}
@@ -0,0 +1,358 @@
+package com.bank.server;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.exception.BankingException;
+import com.bank.exception.InvalidAmountException;
+import com.bank.model.Account;
+import com.bank.model.OperationStatus;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionVisitor;
+import com.bank.service.BankService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a {@link BankService} as JSON over HTTP, on the JDK's built-in server.
+ *
+ * <pre>
+ *   POST /accounts                         {"type": "savings"|"checking", "holder", "initialDeposit",
+ *                                           "interestRate" or "overdraftLimit" (optional)}
+ *   GET  /accounts/{number}
+ *   POST /accounts/{number}/deposit        {"amount"}
+ *   POST /accounts/{number}/withdraw       {"amount"}
+ *   GET  /accounts/{number}/transactions   ?limit=100, or ?from=...&amp;to=... (ISO date-times)&amp;after=...
+ *   POST /transfers                        {"from", "to", "amount"}
+ *   GET  /bank
+ * </pre>
+ *
+ * Each request runs on a pool thread and calls the non-throwing operations, so a declined
+ * withdrawal costs a status code rather than an exception. Declines answer 422, unknown
+ * accounts 404 and malformed requests 400, each with an {@code {"error": ...}} body.
+ * Request bodies over {@value #MAX_BODY_BYTES} bytes are refused with 413.
+ *
+ * A date range returns at most {@value #MAX_HISTORY_LIMIT} transactions. When more remain,
+ * the response carries {@code "nextAfter"}, the sequence of the last one returned; repeat
+ * the request with {@code after} set to it for the next page.
+ *
+ * The pool is a fixed set of platform threads. Requests block only on account locks and,
+ * for journaled banks, on the group commit, so a few dozen threads keep the service busy;
+ * on a JDK with virtual threads the executor is the one thing to swap.
+ */
+public class BankHttpServer implements Closeable {
+    public static final int DEFAULT_THREADS = 64;
+    private static final int BACKLOG = 1024;
+    private static final int DEFAULT_HISTORY_LIMIT = 100;
+    private static final int MAX_HISTORY_LIMIT = 10_000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final BankService bank;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Turns off Nagle's algorithm for the JDK HTTP servers of this process. Responses go
+     * out as headers then body, so with it on each one waits for the client's delayed ACK
+     * (about 40 ms). The setting is JVM-wide and read once, when the first server is
+     * created, so applications opt in: call this before that, or launch with
+     * {@code -Dsun.net.httpserver.nodelay=true}. An explicit launch setting wins.
+     */
+    public static void enableNoDelay() {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    public BankHttpServer(BankService bank, int port) throws IOException {
+        this(bank, new InetSocketAddress(port), DEFAULT_THREADS);
+    }
+
+    public BankHttpServer(BankService bank, InetSocketAddress address, int threads) throws IOException {
+        this.bank = bank;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "bank-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * The port listened on; useful after binding to port 0.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(exchange);
+        } catch (AccountNotFoundException e) {
+            response = error(404, e.getMessage());
+        } catch (InvalidAmountException | IllegalArgumentException | DateTimeException e) {
+            response = error(400, e.getMessage());
+        } catch (BankingException e) {
+            response = error(422, e.getMessage());
+        } catch (BodyTooLargeException e) {
+            response = error(413, e.getMessage());
+        } catch (RuntimeException e) {
+            // Otherwise the JDK server drops the connection without a status
+            response = error(500, "Internal server error");
+        }
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status, body.length);
+            out.write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        int segments = path.length - 1; // The path starts with "/"
+        String resource = segments >= 1 ? path[1] : "";
+
+        if (resource.equals("accounts") && segments == 1) {
+            return method.equals("POST") ? createAccount(body(exchange)) : notAllowed();
+        }
+        if (resource.equals("accounts") && segments == 2) {
+            return method.equals("GET") ? account(bank.getAccount(path[2]), 200) : notAllowed();
+        }
+        if (resource.equals("accounts") && segments == 3) {
+            String accountNumber = path[2];
+            switch (path[3]) {
+                case "deposit":
+                case "withdraw":
+                    if (!method.equals("POST")) {
+                        return notAllowed();
+                    }
+                    double amount = amount(body(exchange), "amount");
+                    byte status = path[3].equals("deposit")
+                            ? bank.tryDeposit(accountNumber, amount) : bank.tryWithdraw(accountNumber, amount);
+                    return status == OperationStatus.OK ? account(bank.getAccount(accountNumber), 200)
+                            : declined(status, bank.declineReason(accountNumber, status, amount));
+                case "transactions":
+                    return method.equals("GET")
+                            ? transactions(bank.getAccount(accountNumber), exchange.getRequestURI()) : notAllowed();
+                default:
+                    break;
+            }
+        }
+        if (resource.equals("transfers") && segments == 1) {
+            if (!method.equals("POST")) {
+                return notAllowed();
+            }
+            Map<String, String> fields = body(exchange);
+            String from = required(fields, "from");
+            String to = required(fields, "to");
+            double amount = amount(fields, "amount");
+            byte status = bank.tryTransfer(from, to, amount);
+            if (status == OperationStatus.OK) {
+                return new Response(200, "{\"from\":" + balanceJson(from) + ",\"to\":" + balanceJson(to) + "}");
+            }
+            boolean accountDecline = status != OperationStatus.SAME_ACCOUNT
+                    && status != OperationStatus.ACCOUNT_NOT_FOUND;
+            return declined(status, accountDecline
+                    ? bank.declineReason(from, status, amount) : OperationStatus.describe(status));
+        }
+        if (resource.equals("bank") && segments == 1) {
+            if (!method.equals("GET")) {
+                return notAllowed();
+            }
+            StringBuilder json = new StringBuilder("{\"name\":");
+            Json.appendString(json, bank.getBankName());
+            json.append(",\"accounts\":").append(bank.getTotalAccountCount()).append(",\"totalDeposits\":");
+            Json.appendCents(json, bank.getTotalDepositsCents());
+            return new Response(200, json.append('}').toString());
+        }
+        return error(404, "No such endpoint: " + method + " " + exchange.getRequestURI().getPath());
+    }
+
+    private Response createAccount(Map<String, String> fields) {
+        String type = required(fields, "type");
+        String holder = required(fields, "holder");
+        double initialDeposit = amount(fields, "initialDeposit");
+        Account account;
+        if (type.equalsIgnoreCase("savings")) {
+            String rate = fields.get("interestRate");
+            account = rate == null ? bank.createSavingsAccount(holder, initialDeposit)
+                    : bank.createSavingsAccount(holder, initialDeposit, Double.parseDouble(rate));
+        } else if (type.equalsIgnoreCase("checking")) {
+            String limit = fields.get("overdraftLimit");
+            account = limit == null ? bank.createCheckingAccount(holder, initialDeposit)
+                    : bank.createCheckingAccount(holder, initialDeposit, Double.parseDouble(limit));
+        } else {
+            throw new IllegalArgumentException("Account type must be savings or checking: " + type);
+        }
+        return account(account, 201);
+    }
+
+    private Response transactions(Account account, URI uri) {
+        Map<String, String> query = query(uri);
+        StringBuilder json = new StringBuilder("{\"accountNumber\":");
+        Json.appendString(json, account.getAccountNumber()).append(",\"transactions\":[");
+        String idPrefix = account.transactionIdPrefix();
+        int start = json.length();
+        TransactionVisitor appender = (sequence, type, amount, balanceAfter, timestamp, description, argument) -> {
+            if (json.length() > start) {
+                json.append(',');
+            }
+            json.append("{\"transactionId\":");
+            Json.appendString(json, Transaction.formatId(idPrefix, sequence));
+            json.append(",\"timestamp\":\"").append(Transaction.fromEpochNanos(timestamp)).append("\",\"type\":\"")
+                    .append(type.name()).append("\",\"amount\":");
+            Json.appendCents(json, amount).append(",\"balanceAfter\":");
+            Json.appendCents(json, balanceAfter).append(",\"description\":");
+            Json.appendString(json, description.render(argument)).append('}');
+        };
+        if (query.containsKey("from") || query.containsKey("to")) {
+            long from = query.containsKey("from")
+                    ? Transaction.toEpochNanos(LocalDateTime.parse(query.get("from"))) : Long.MIN_VALUE;
+            long to = query.containsKey("to")
+                    ? Transaction.toEpochNanos(LocalDateTime.parse(query.get("to"))) : Long.MAX_VALUE;
+            long after = Long.parseLong(query.getOrDefault("after", "0"));
+            long[] last = new long[1];
+            int[] count = new int[1];
+            boolean[] more = new boolean[1];
+            // Entries past the cap are still walked, but nothing is built for them
+            TransactionVisitor page = (sequence, type, amount, balanceAfter, timestamp, description, argument) -> {
+                if (sequence <= after || more[0]) {
+                    return;
+                }
+                if (count[0] == MAX_HISTORY_LIMIT) {
+                    more[0] = true;
+                    return;
+                }
+                appender.visit(sequence, type, amount, balanceAfter, timestamp, description, argument);
+                last[0] = sequence;
+                count[0]++;
+            };
+            account.forEachTransactionBetween(from, to, page);
+            if (more[0]) {
+                return new Response(200, json.append("],\"nextAfter\":").append(last[0]).append('}').toString());
+            }
+        } else {
+            int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(DEFAULT_HISTORY_LIMIT)));
+            if (limit < 0 || limit > MAX_HISTORY_LIMIT) {
+                throw new IllegalArgumentException("Limit must be between 0 and " + MAX_HISTORY_LIMIT);
+            }
+            for (Transaction transaction : account.getRecentTransactions(limit)) {
+                appender.visit(transaction.getSequence(), transaction.getType(), transaction.getAmountCents(),
+                        transaction.getBalanceAfterCents(), transaction.getEpochNanos(),
+                        transaction.getDescriptionCode(), transaction.getDescriptionArgument());
+            }
+        }
+        return new Response(200, json.append("]}").toString());
+    }
+
+    private static Response account(Account account, int status) {
+        StringBuilder json = new StringBuilder("{\"accountNumber\":");
+        Json.appendString(json, account.getAccountNumber()).append(",\"type\":");
+        Json.appendString(json, account.getAccountType()).append(",\"holder\":");
+        Json.appendString(json, account.getAccountHolder()).append(",\"balance\":");
+        Json.appendCents(json, account.getBalanceCents()).append(",\"availableBalance\":");
+        Json.appendCents(json, account.getAvailableBalanceCents()).append(",\"transactionCount\":")
+                .append(account.getTransactionCount());
+        return new Response(status, json.append('}').toString());
+    }
+
+    private String balanceJson(String accountNumber) {
+        StringBuilder json = new StringBuilder("{\"accountNumber\":");
+        Json.appendString(json, accountNumber).append(",\"balance\":");
+        return Json.appendCents(json, bank.getAccount(accountNumber).getBalanceCents()).append('}').toString();
+    }
+
+    private static Response declined(byte status, String reason) {
+        int code = switch (status) {
+            case OperationStatus.ACCOUNT_NOT_FOUND -> 404;
+            case OperationStatus.INVALID_AMOUNT -> 400;
+            default -> 422;
+        };
+        return error(code, reason);
+    }
+
+    private static Response error(int status, String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        Json.appendString(json, message == null ? "Request failed" : message);
+        return new Response(status, json.append('}').toString());
+    }
+
+    private static Response notAllowed() {
+        return error(405, "Method not allowed");
+    }
+
+    private static Map<String, String> body(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new BodyTooLargeException();
+        }
+        return Json.parseObject(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return value;
+    }
+
+    private static double amount(Map<String, String> fields, String name) {
+        return Double.parseDouble(required(fields, name));
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    private static final class BodyTooLargeException extends RuntimeException {
+        BodyTooLargeException() {
+            super("Request body exceeds " + MAX_BODY_BYTES + " bytes", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.bank.server;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.exception.BankingException;
+import com.bank.model.OperationStatus;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionDescription;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A blocking client for {@link BankWireServer}; one instance per thread.
+ *
+ * The plain methods send one request and wait for its reply. For throughput, the
+ * {@code send} methods queue a request without waiting; queued requests go out together
+ * when the send buffer fills, on {@link #flush}, or when a reply is awaited, and
+ * {@link #receiveStatus} returns their statuses in the order they were sent:
+ * <pre>
+ *   for (...) client.sendDeposit(account, 100);
+ *   while (client.getOutstanding() &gt; 0) status = client.receiveStatus();
+ * </pre>
+ * Keep the number outstanding bounded, to a few thousand: the server stops reading a
+ * connection whose replies go unread, so a client that only ever sends would block.
+ */
+public class BankWireClient implements Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+    private ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+    private int nextId;
+    private int expectedId; // Of the oldest request without a reply
+    private int replyEnd; // Where the results of the reply being read end
+
+    public BankWireClient(String host, int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.flip(); // Empty, in read mode
+    }
+
+    public int sendDeposit(String accountNumber, long amountCents) throws IOException {
+        return sendAmount(WireProtocol.DEPOSIT, accountNumber, amountCents);
+    }
+
+    public int sendWithdraw(String accountNumber, long amountCents) throws IOException {
+        return sendAmount(WireProtocol.WITHDRAW, accountNumber, amountCents);
+    }
+
+    public int sendTransfer(String fromAccountNumber, String toAccountNumber, long amountCents)
+            throws IOException {
+        int id = begin(WireProtocol.TRANSFER, 2 + fromAccountNumber.length() + toAccountNumber.length() + 8);
+        WireProtocol.putAccount(out, fromAccountNumber);
+        WireProtocol.putAccount(out, toAccountNumber);
+        out.putLong(amountCents);
+        return id;
+    }
+
+    /**
+     * Requests sent (or queued) whose replies have not been received yet.
+     */
+    public int getOutstanding() {
+        return nextId - expectedId;
+    }
+
+    /**
+     * Status of the oldest outstanding deposit, withdrawal or transfer: an
+     * {@link OperationStatus} code, or {@link WireProtocol#BAD_REQUEST}.
+     */
+    public byte receiveStatus() throws IOException {
+        return receive();
+    }
+
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    public byte deposit(String accountNumber, long amountCents) throws IOException {
+        requireIdle();
+        sendDeposit(accountNumber, amountCents);
+        return receive();
+    }
+
+    public byte withdraw(String accountNumber, long amountCents) throws IOException {
+        requireIdle();
+        sendWithdraw(accountNumber, amountCents);
+        return receive();
+    }
+
+    public byte transfer(String fromAccountNumber, String toAccountNumber, long amountCents) throws IOException {
+        requireIdle();
+        sendTransfer(fromAccountNumber, toAccountNumber, amountCents);
+        return receive();
+    }
+
+    public long getBalanceCents(String accountNumber) throws IOException {
+        requireIdle();
+        begin(WireProtocol.BALANCE, 1 + accountNumber.length());
+        WireProtocol.putAccount(out, accountNumber);
+        requireOk(receive(), accountNumber);
+        long balance = in.getLong();
+        in.position(replyEnd);
+        return balance;
+    }
+
+    /**
+     * The account's last {@code count} transactions (at most
+     * {@value WireProtocol#MAX_HISTORY_ENTRIES}), oldest first.
+     */
+    public List<Transaction> getRecentTransactions(String accountNumber, int count) throws IOException {
+        requireIdle();
+        begin(WireProtocol.HISTORY, 1 + accountNumber.length() + 4);
+        WireProtocol.putAccount(out, accountNumber);
+        out.putInt(count);
+        requireOk(receive(), accountNumber);
+        String idPrefix = WireProtocol.getAccount(in);
+        int entries = in.getInt();
+        List<Transaction> transactions = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            long sequence = in.getLong();
+            Transaction.TransactionType type = TYPES[in.get()];
+            long amount = in.getLong();
+            long balanceAfter = in.getLong();
+            long timestamp = in.getLong();
+            TransactionDescription description = TransactionDescription.fromCode(in.get());
+            transactions.add(new Transaction(idPrefix, sequence, type, amount, balanceAfter, timestamp,
+                    description, in.getLong()));
+        }
+        in.position(replyEnd);
+        return transactions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int sendAmount(byte op, String accountNumber, long amountCents) throws IOException {
+        int id = begin(op, 1 + accountNumber.length() + 8);
+        WireProtocol.putAccount(out, accountNumber);
+        out.putLong(amountCents);
+        return id;
+    }
+
+    private int begin(byte op, int operandBytes) throws IOException {
+        if (operandBytes + 5 > WireProtocol.MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException("Request too large");
+        }
+        if (out.remaining() < 9 + operandBytes) {
+            flush();
+        }
+        int id = nextId++;
+        out.putInt(5 + operandBytes).put(op).putInt(id);
+        return id;
+    }
+
+    // Reads the next reply and returns its status; its results are next in the buffer
+    private byte receive() throws IOException {
+        if (getOutstanding() == 0) {
+            throw new IllegalStateException("No request is awaiting a reply");
+        }
+        if (out.position() > 0) {
+            flush();
+        }
+        while (in.remaining() < 4 || in.remaining() < 4 + in.getInt(in.position())) {
+            in.compact();
+            if (!in.hasRemaining()) {
+                ByteBuffer grown = ByteBuffer.allocate(in.capacity() * 2);
+                in.flip();
+                in = grown.put(in);
+            }
+            if (channel.read(in) < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+            in.flip();
+        }
+        int length = in.getInt();
+        replyEnd = in.position() + length;
+        int id = in.getInt();
+        if (id != expectedId) {
+            throw new IllegalStateException("Reply to request " + id + " while awaiting " + expectedId);
+        }
+        expectedId++;
+        return in.get();
+    }
+
+    private void requireIdle() {
+        if (getOutstanding() != 0) {
+            throw new IllegalStateException(getOutstanding() + " pipelined requests await their replies");
+        }
+    }
+
+    private void requireOk(byte status, String accountNumber) {
+        if (status == OperationStatus.ACCOUNT_NOT_FOUND) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        if (status != OperationStatus.OK) {
+            throw new BankingException("Request failed with status " + status);
+        }
+    }
+}
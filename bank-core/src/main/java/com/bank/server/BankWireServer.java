@@ -0,0 +1,350 @@
+package com.bank.server;
+
+import com.bank.model.Account;
+import com.bank.model.Money;
+import com.bank.model.OperationStatus;
+import com.bank.model.Transaction;
+import com.bank.service.BankService;
+import com.bank.service.BatchResult;
+import com.bank.service.OperationBatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Serves a {@link BankService} over the binary {@link WireProtocol}, on non-blocking
+ * sockets.
+ *
+ * An acceptor thread hands connections round-robin to a few event loops, each a thread
+ * with its own selector. A loop reads whatever a connection has sent and handles the
+ * complete frames in it before writing anything back, so a pipelining client gets its
+ * replies batched into one write per read instead of one per request. Once about a
+ * buffer's worth of replies is waiting, the remaining frames stay unparsed until the
+ * client has read those replies, so each connection's memory stays bounded.
+ *
+ * Consecutive deposits and withdrawals in a read go to the bank as one
+ * {@link OperationBatch}: each account's lock is taken once for all of its operations,
+ * and a journaled bank waits once for the whole batch to be durable. Any other request
+ * applies the pending batch first, so every request sees the effects of those before it.
+ *
+ * Operations run on the loop thread. They wait only for account locks and, for a
+ * journaled bank, the group commit, so a loop per core keeps the bank busy. An operation
+ * that throws, such as on a failed journal write, closes its connection; the loop and
+ * its other connections carry on.
+ */
+public class BankWireServer implements Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_BATCH = 4096;
+
+    private final BankService bank;
+    private final ServerSocketChannel listener;
+    private final EventLoop[] loops;
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    public BankWireServer(BankService bank, int port) throws IOException {
+        this(bank, new InetSocketAddress(port), Runtime.getRuntime().availableProcessors());
+    }
+
+    public BankWireServer(BankService bank, InetSocketAddress address, int eventLoops) throws IOException {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("At least one event loop is required");
+        }
+        this.bank = bank;
+        this.listener = ServerSocketChannel.open();
+        listener.bind(address, 1024);
+        this.loops = new EventLoop[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            loops[i] = new EventLoop();
+        }
+        this.acceptor = new Thread(this::accept, "bank-wire-accept");
+        acceptor.setDaemon(true);
+    }
+
+    public void start() {
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+        acceptor.start();
+    }
+
+    /**
+     * The port listened on; useful after binding to port 0.
+     */
+    public int getPort() {
+        return listener.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        listener.close();
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (!closed) {
+            try {
+                SocketChannel channel = listener.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next++ % loops.length].add(channel);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> incoming = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+
+        EventLoop() throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "bank-wire");
+            thread.setDaemon(true);
+        }
+
+        void add(SocketChannel channel) {
+            incoming.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try (selector) {
+                while (!closed) {
+                    selector.select();
+                    for (SocketChannel channel; (channel = incoming.poll()) != null; ) {
+                        Connection connection = new Connection(channel);
+                        try {
+                            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                        } catch (ClosedChannelException e) {
+                            // The client went away before its first read
+                        }
+                    }
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isValid() && key.isWritable()) {
+                                connection.onWritable();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                connection.onReadable();
+                            }
+                        } catch (IOException e) {
+                            connection.close(); // The client went away
+                        } catch (RuntimeException e) {
+                            // The bank failed mid-request, for example on a journal write. Which
+                            // replies are owed is unknown, so drop the connection, not the loop
+                            connection.close();
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Event loop failed", e);
+            }
+        }
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        private ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+
+        // Deposits and withdrawals not yet applied, and the requests they answer
+        private final OperationBatch batch = new OperationBatch(256);
+        private int[] batchIds = new int[256];
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void onReadable() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            process();
+        }
+
+        void onWritable() throws IOException {
+            process();
+        }
+
+        // Handles waiting frames and writes the replies, for as long as writing them makes
+        // room for more
+        private void process() throws IOException {
+            boolean backedUp;
+            do {
+                backedUp = handleFrames();
+                if (!key.isValid()) {
+                    return; // Closed on a bad frame
+                }
+                applyBatch();
+                out.flip();
+                channel.write(out);
+                out.compact();
+            } while (backedUp && out.position() < BUFFER_BYTES);
+            // Stop reading while replies are backed up, so a client that does not read
+            // cannot make the server buffer without bound
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        // Handles the complete frames in the input until the replies reach a buffer's
+        // worth; returns whether complete frames were left for later
+        private boolean handleFrames() {
+            boolean backedUp = false;
+            in.flip();
+            int received = in.limit();
+            while (in.remaining() >= 4) {
+                int length = in.getInt(in.position());
+                if (length < 5 || length > WireProtocol.MAX_REQUEST_BYTES) {
+                    close(); // Not a frame boundary; the stream cannot be resynchronized
+                    return false;
+                }
+                if (in.remaining() < 4 + length) {
+                    break;
+                }
+                if (out.position() >= BUFFER_BYTES) {
+                    backedUp = true;
+                    break;
+                }
+                int end = in.position() + 4 + length;
+                in.position(in.position() + 4);
+                byte op = in.get();
+                int id = in.getInt();
+                in.limit(end); // Operands cannot run into the next frame
+                try {
+                    handle(op, id);
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    applyBatch();
+                    reply(id, WireProtocol.BAD_REQUEST, 0);
+                }
+                in.limit(received).position(end);
+            }
+            in.compact();
+            return backedUp;
+        }
+
+        void handle(byte op, int id) {
+            switch (op) {
+                case WireProtocol.DEPOSIT, WireProtocol.WITHDRAW -> {
+                    String accountNumber = WireProtocol.getAccount(in);
+                    long cents = in.getLong();
+                    if (batch.size() == batchIds.length) {
+                        batchIds = Arrays.copyOf(batchIds, batchIds.length * 2);
+                    }
+                    batchIds[batch.size()] = id;
+                    batch.add(op == WireProtocol.DEPOSIT ? OperationBatch.DEPOSIT : OperationBatch.WITHDRAWAL,
+                            accountNumber, cents);
+                    if (batch.size() == MAX_BATCH) {
+                        applyBatch();
+                    }
+                }
+                case WireProtocol.TRANSFER -> {
+                    String from = WireProtocol.getAccount(in);
+                    String to = WireProtocol.getAccount(in);
+                    long cents = in.getLong();
+                    applyBatch();
+                    reply(id, bank.tryTransfer(from, to, Money.toDollars(cents)), 0);
+                }
+                case WireProtocol.BALANCE -> {
+                    Account account = bank.findAccount(WireProtocol.getAccount(in)).orElse(null);
+                    applyBatch();
+                    if (account == null) {
+                        reply(id, OperationStatus.ACCOUNT_NOT_FOUND, 0);
+                    } else {
+                        reply(id, OperationStatus.OK, 16);
+                        out.putLong(account.getBalanceCents()).putLong(account.getAvailableBalanceCents());
+                    }
+                }
+                case WireProtocol.HISTORY -> {
+                    Account account = bank.findAccount(WireProtocol.getAccount(in)).orElse(null);
+                    int count = in.getInt();
+                    if (count < 0 || count > WireProtocol.MAX_HISTORY_ENTRIES) {
+                        throw new IllegalArgumentException("History count out of range: " + count);
+                    }
+                    applyBatch();
+                    if (account == null) {
+                        reply(id, OperationStatus.ACCOUNT_NOT_FOUND, 0);
+                        return;
+                    }
+                    List<Transaction> entries = account.getRecentTransactions(count);
+                    String idPrefix = account.transactionIdPrefix();
+                    reply(id, OperationStatus.OK, 1 + idPrefix.length() + 4
+                            + entries.size() * WireProtocol.HISTORY_ENTRY_BYTES);
+                    WireProtocol.putAccount(out, idPrefix);
+                    out.putInt(entries.size());
+                    for (Transaction entry : entries) {
+                        out.putLong(entry.getSequence()).put((byte) entry.getType().ordinal())
+                                .putLong(entry.getAmountCents()).putLong(entry.getBalanceAfterCents())
+                                .putLong(entry.getEpochNanos()).put((byte) entry.getDescriptionCode().ordinal())
+                                .putLong(entry.getDescriptionArgument());
+                    }
+                }
+                default -> {
+                    applyBatch();
+                    reply(id, WireProtocol.BAD_REQUEST, 0);
+                }
+            }
+        }
+
+        private void applyBatch() {
+            if (batch.size() == 0) {
+                return;
+            }
+            BatchResult result = bank.apply(batch);
+            for (int i = 0; i < result.size(); i++) {
+                reply(batchIds[i], result.getStatus(i), 0);
+            }
+            batch.clear();
+        }
+
+        // Starts a reply frame with room for the given number of result bytes
+        private void reply(int id, byte status, int resultBytes) {
+            int frame = 4 + 4 + 1 + resultBytes;
+            if (out.remaining() < frame) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + frame));
+                out.flip();
+                out = grown.put(out);
+            }
+            out.putInt(5 + resultBytes).putInt(id).put(status);
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already closing; nothing to report
+            }
+        }
+    }
+}
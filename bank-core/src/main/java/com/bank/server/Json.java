@@ -0,0 +1,173 @@
+package com.bank.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The little JSON the HTTP server needs: flat request objects in, hand-built responses out.
+ *
+ * Request bodies are single objects of strings, numbers, booleans and nulls, such as
+ * {@code {"amount": 25.50}}; nested values are rejected rather than half-understood.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Field values by name, as text: strings unescaped, numbers and literals as written,
+     * null as null.
+     *
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> fields = new HashMap<>();
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.string();
+                parser.expect(':');
+                fields.put(name, parser.value());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+        return fields;
+    }
+
+    static StringBuilder appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * A cents amount as a JSON number in dollars with two decimals, such as -12.50.
+     */
+    static StringBuilder appendCents(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+        }
+        long magnitude = Math.abs(cents);
+        long fraction = magnitude % 100;
+        return out.append(magnitude / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw malformed("'" + c + "' expected");
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void end() {
+            skipWhitespace();
+            if (position != text.length()) {
+                throw malformed("unexpected content");
+            }
+        }
+
+        String value() {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '"') {
+                return string();
+            }
+            int start = position;
+            while (position < text.length() && isLiteralChar(text.charAt(position))) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw malformed("value expected");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position == text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw malformed("truncated escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw malformed("bad escape");
+                        }
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw malformed("unterminated string");
+        }
+
+        // Numbers, true, false and null
+        private static boolean isLiteralChar(char c) {
+            return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || c == '-' || c == '+' || c == '.' || c == 'E';
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException malformed(String problem) {
+            return new IllegalArgumentException("Malformed JSON at offset " + position + ": " + problem);
+        }
+    }
+}
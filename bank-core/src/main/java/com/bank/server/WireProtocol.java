@@ -0,0 +1,73 @@
+package com.bank.server;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The compact binary protocol spoken by {@link BankWireServer} and {@link BankWireClient}.
+ *
+ * Every message is a frame: a 4-byte big-endian length of the rest, then
+ * <pre>
+ *   request: op (1 byte), request id (4), operands
+ *   reply:   request id (4), status (1), results
+ * </pre>
+ * Account numbers are a length byte and ASCII characters; amounts are longs in cents.
+ *
+ * <pre>
+ *   DEPOSIT, WITHDRAW  account, amount                 -> (nothing)
+ *   TRANSFER           from, to, amount                -> (nothing)
+ *   BALANCE            account                         -> balance, available balance
+ *   HISTORY            account, count (4)              -> id prefix, entry count (4), then per entry:
+ *                      sequence (8), type (1), amount (8), balance after (8), timestamp nanos (8),
+ *                      description code (1), description argument (8)
+ * </pre>
+ * The status is an {@link com.bank.model.OperationStatus} code, or {@link #BAD_REQUEST}.
+ * Results follow only when the status is OK.
+ *
+ * Clients may send any number of requests without waiting (pipelining). Replies come
+ * back in request order, so the request id only serves as a check.
+ */
+public final class WireProtocol {
+    public static final byte DEPOSIT = 1;
+    public static final byte WITHDRAW = 2;
+    public static final byte TRANSFER = 3;
+    public static final byte BALANCE = 4;
+    public static final byte HISTORY = 5;
+
+    /**
+     * Status of a frame the server could not understand, such as an unknown op.
+     */
+    public static final byte BAD_REQUEST = 0x7F;
+
+    /**
+     * Largest request frame accepted, length prefix excluded.
+     */
+    public static final int MAX_REQUEST_BYTES = 1024;
+    public static final int MAX_HISTORY_ENTRIES = 1000;
+    static final int HISTORY_ENTRY_BYTES = 8 + 1 + 8 + 8 + 8 + 1 + 8;
+
+    private WireProtocol() {
+    }
+
+    static void putAccount(ByteBuffer buffer, String accountNumber) {
+        int length = accountNumber.length();
+        if (length > 255) {
+            throw new IllegalArgumentException("Account number too long: " + accountNumber);
+        }
+        buffer.put((byte) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) accountNumber.charAt(i));
+        }
+    }
+
+    static String getAccount(ByteBuffer buffer) {
+        int length = buffer.get() & 0xFF;
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int start = buffer.position();
+        buffer.position(start + length);
+        return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,1195 @@
+package com.bank.service;
+
+import com.bank.exception.*;
+import com.bank.model.*;
+import com.bank.persistence.Journal;
+import com.bank.persistence.JournalRecord;
+import com.bank.persistence.MappedTransactionStore;
+import com.bank.persistence.TieredTransactionStore;
+import com.bank.persistence.TransactionStore;
+import com.bank.persistence.SnapshotReader;
+import com.bank.persistence.SnapshotWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Central service for all banking operations.
+ * Manages accounts and handles transfers between them.
+ *
+ * The service is safe for concurrent use: accounts live in a concurrent map and
+ * every mutation runs under the account's own lock. Transfers take both locks in
+ * account-number order so opposing transfers cannot deadlock. Accounts created in
+ * lock-free mode skip the lock and rely on compare-and-set balance updates.
+ *
+ * A service opened with {@link #open(String, Path)} writes every successful mutation
+ * to a write-ahead journal and only returns once the record is durable. Snapshots
+ * are taken while traffic continues: the journal rotates to a new generation, each
+ * account is copied under its own lock together with the sequence number of the
+ * last record applied to it, and recovery replays only the newer generations,
+ * skipping records an account had already seen.
+ *
+ * Maintenance runs in parallel with a cut-over: starting a run opens a new period,
+ * and each account is maintained exactly once for it, either by the run or by the
+ * first online operation that touches the account after the cut-over, whichever
+ * comes first. Interest is therefore computed on the balance as of the cut-over.
+ * Runs visit accounts in account-number order and journal a high-water mark after
+ * each completed chunk; per-account maintenance records carry the period, so a run
+ * interrupted by a failure or a crash resumes where it stopped, exactly once.
+ *
+ * With interest accrual enabled, a run only opens the new period. Interest is then
+ * posted to each account in closed form, for every period it missed, when the
+ * account is next read or changed, so month-end cost follows active accounts.
+ */
+public class BankService implements AutoCloseable {
+    private static final InterestKernel INTEREST_KERNEL = InterestKernel.best();
+    private static final long STALE_QUOTE = Long.MIN_VALUE; // Matches no balance, so interest is recomputed
+
+    private final Map<String, Account> accounts;
+    // Type partitions of the registry, with read-only live views built once
+    private final Map<String, SavingsAccount> savingsAccounts = new ConcurrentHashMap<>();
+    private final Map<String, CheckingAccount> checkingAccounts = new ConcurrentHashMap<>();
+    private final Collection<SavingsAccount> savingsView = Collections.unmodifiableCollection(savingsAccounts.values());
+    private final Collection<CheckingAccount> checkingView = Collections.unmodifiableCollection(checkingAccounts.values());
+    private final HolderIndex holderIndex = new HolderIndex();
+    private final BankTotals totals = new BankTotals();
+    private final AtomicInteger accountNumberGenerator;
+    private final String bankName;
+    private final boolean lockFreeBalances;
+    private final Journal journal;
+    private final Path snapshotPath;
+    private final Object snapshotMonitor = new Object();
+    private ScheduledExecutorService snapshotScheduler;
+    private volatile Exception lastSnapshotFailure;
+    private volatile TransactionStore transactionStore;
+    private final Object maintenanceMonitor = new Object();
+    private final ReentrantReadWriteLock cutOverLock = new ReentrantReadWriteLock();
+    private volatile MaintenanceRun maintenanceRun = MaintenanceRun.NONE;
+    private volatile boolean interestAccrual;
+
+    public BankService(String bankName) {
+        this(bankName, false);
+    }
+
+    /**
+     * @param lockFreeBalances when true, new accounts update their balance with
+     *                         compare-and-set, which scales better on hot accounts
+     */
+    public BankService(String bankName, boolean lockFreeBalances) {
+        this(bankName, lockFreeBalances, null);
+    }
+
+    private BankService(String bankName, boolean lockFreeBalances, Journal journal) {
+        this.bankName = bankName;
+        this.lockFreeBalances = lockFreeBalances;
+        this.journal = journal;
+        this.snapshotPath = journal == null ? null
+                : journal.getPath().resolveSibling(journal.getPath().getFileName() + ".snapshot");
+        this.accounts = new ConcurrentHashMap<>();
+        this.accountNumberGenerator = new AtomicInteger(1000);
+    }
+
+    /**
+     * Opens a journaled bank, loading the latest snapshot (if any) and replaying the
+     * journal tail to rebuild state.
+     */
+    public static BankService open(String bankName, Path journalPath) throws IOException {
+        Journal journal = Journal.open(journalPath);
+        BankService service = new BankService(bankName, false, journal);
+        try {
+            int startGeneration = service.loadSnapshot();
+            journal.replay(startGeneration, service::applyRecord);
+            journal.deleteSegmentsBefore(startGeneration);
+        } catch (RuntimeException | IOException e) {
+            journal.close();
+            throw e;
+        }
+        return service;
+    }
+
+    // Account Creation - Factory Pattern
+    public SavingsAccount createSavingsAccount(String holderName, double initialDeposit) {
+        String accountNumber = generateAccountNumber("SAV");
+        SavingsAccount account = lockFreeBalances
+                ? new LockFreeSavingsAccount(accountNumber, holderName, initialDeposit)
+                : new SavingsAccount(accountNumber, holderName, initialDeposit);
+        return registerNew(account, JournalRecord.createSavings(accountNumber, holderName,
+                account.getBalanceCents(), account.getInterestRate()));
+    }
+
+    public SavingsAccount createSavingsAccount(String holderName, double initialDeposit, double interestRate) {
+        String accountNumber = generateAccountNumber("SAV");
+        SavingsAccount account = newSavingsAccount(accountNumber, holderName, initialDeposit, interestRate);
+        return registerNew(account, JournalRecord.createSavings(accountNumber, holderName,
+                account.getBalanceCents(), interestRate));
+    }
+
+    public CheckingAccount createCheckingAccount(String holderName, double initialDeposit) {
+        String accountNumber = generateAccountNumber("CHK");
+        CheckingAccount account = lockFreeBalances
+                ? new LockFreeCheckingAccount(accountNumber, holderName, initialDeposit)
+                : new CheckingAccount(accountNumber, holderName, initialDeposit);
+        return registerNew(account, JournalRecord.createChecking(accountNumber, holderName,
+                account.getBalanceCents(), account.getOverdraftLimitCents()));
+    }
+
+    public CheckingAccount createCheckingAccount(String holderName, double initialDeposit, double overdraftLimit) {
+        String accountNumber = generateAccountNumber("CHK");
+        CheckingAccount account = newCheckingAccount(accountNumber, holderName, initialDeposit, overdraftLimit);
+        return registerNew(account, JournalRecord.createChecking(accountNumber, holderName,
+                account.getBalanceCents(), account.getOverdraftLimitCents()));
+    }
+
+    SavingsAccount newSavingsAccount(String accountNumber, String holderName,
+                                     double initialDeposit, double interestRate) {
+        return lockFreeBalances
+                ? new LockFreeSavingsAccount(accountNumber, holderName, initialDeposit, interestRate)
+                : new SavingsAccount(accountNumber, holderName, initialDeposit, interestRate);
+    }
+
+    CheckingAccount newCheckingAccount(String accountNumber, String holderName,
+                                       double initialDeposit, double overdraftLimit) {
+        return lockFreeBalances
+                ? new LockFreeCheckingAccount(accountNumber, holderName, initialDeposit, overdraftLimit)
+                : new CheckingAccount(accountNumber, holderName, initialDeposit, overdraftLimit);
+    }
+
+    // Publish and log under the new account's lock: no mutation can reach the journal
+    // first, and a concurrent snapshot either sees the creation or waits for it
+    private <T extends Account> T registerNew(T account, JournalRecord creation) {
+        long seq;
+        cutOverLock.readLock().lock();
+        account.getLock().lock();
+        try {
+            account.setMaintenancePeriod(maintenanceRun.period); // New accounts join after the cut-over
+            register(account);
+            seq = log(creation, account);
+        } finally {
+            account.getLock().unlock();
+            cutOverLock.readLock().unlock();
+        }
+        awaitDurable(seq);
+        return account;
+    }
+
+    /**
+     * Publishes an account built by {@link CsvImporter}, unless its number is taken.
+     * The account is journaled with its balance, like a creation, but not awaited: the
+     * importer waits for the journal once it is done (see {@link #awaitJournal()}).
+     */
+    boolean registerImported(Account account) {
+        cutOverLock.readLock().lock();
+        account.getLock().lock();
+        try {
+            if (accounts.putIfAbsent(account.getAccountNumber(), account) != null) {
+                return false;
+            }
+            account.setMaintenancePeriod(maintenanceRun.period);
+            register(account);
+            observeAccountNumber(account.getAccountNumber());
+            log(account instanceof SavingsAccount savings
+                    ? JournalRecord.importSavings(account.getAccountNumber(), account.getAccountHolder(),
+                            account.getBalanceCents(), savings.getInterestRate())
+                    : JournalRecord.importChecking(account.getAccountNumber(), account.getAccountHolder(),
+                            account.getBalanceCents(), ((CheckingAccount) account).getOverdraftLimitCents()),
+                    account);
+            return true;
+        } finally {
+            account.getLock().unlock();
+            cutOverLock.readLock().unlock();
+        }
+    }
+
+    // Plain lookup for the importer, which locks accounts itself
+    Account lookup(String accountNumber) {
+        return accounts.get(accountNumber);
+    }
+
+    boolean isJournaled() {
+        return journal != null;
+    }
+
+    // Waits until everything journaled so far is durable
+    void awaitJournal() {
+        if (journal != null) {
+            journal.awaitAllDurable();
+        }
+    }
+
+    private void register(Account account) {
+        TransactionStore store = transactionStore;
+        if (store != null) {
+            account.moveTransactionHistory(store::newHistory);
+        }
+        totals.add(account);
+        accounts.put(account.getAccountNumber(), account);
+        if (account instanceof SavingsAccount) {
+            savingsAccounts.put(account.getAccountNumber(), (SavingsAccount) account);
+        } else if (account instanceof CheckingAccount) {
+            checkingAccounts.put(account.getAccountNumber(), (CheckingAccount) account);
+        }
+        holderIndex.add(account);
+    }
+
+    private void unregister(String accountNumber) {
+        Account account = accounts.remove(accountNumber);
+        if (account != null) {
+            savingsAccounts.remove(accountNumber);
+            checkingAccounts.remove(accountNumber);
+            holderIndex.remove(account);
+            totals.remove(account);
+        }
+    }
+
+    /**
+     * Keeps transaction history off-heap in memory-mapped column files under the given
+     * directory, for this and all later accounts. Call before serving traffic.
+     */
+    public synchronized void useMappedTransactionHistory(Path directory) throws IOException {
+        requireDefaultTransactionHistory();
+        useTransactionStore(new MappedTransactionStore(directory));
+    }
+
+    /**
+     * Keeps each account's most recent {@code hotEntries} transactions on the heap and
+     * moves older ones to compressed blocks under the given directory, read back through
+     * a cache of at most {@code cacheBytes}. Applies to this and all later accounts; call
+     * before serving traffic.
+     */
+    public synchronized TieredTransactionStore useTieredTransactionHistory(Path directory, int hotEntries,
+                                                                          long cacheBytes) throws IOException {
+        requireDefaultTransactionHistory();
+        TieredTransactionStore store = new TieredTransactionStore(directory, hotEntries, cacheBytes);
+        useTransactionStore(store);
+        return store;
+    }
+
+    // Checked before a store opens, and truncates, its files
+    private void requireDefaultTransactionHistory() {
+        if (transactionStore != null) {
+            throw new IllegalStateException("Transaction history is already stored in "
+                    + transactionStore.getDirectory());
+        }
+    }
+
+    private void useTransactionStore(TransactionStore store) {
+        for (Account account : accounts.values()) {
+            account.getLock().lock();
+            try {
+                account.moveTransactionHistory(store::newHistory);
+            } finally {
+                account.getLock().unlock();
+            }
+        }
+        transactionStore = store;
+    }
+
+    private String generateAccountNumber(String prefix) {
+        return prefix + "-" + accountNumberGenerator.incrementAndGet();
+    }
+
+    // Account Retrieval
+    public Account getAccount(String accountNumber) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        return caughtUp(account);
+    }
+
+    public Optional<Account> findAccount(String accountNumber) {
+        return Optional.ofNullable(accounts.get(accountNumber)).map(this::caughtUp);
+    }
+
+    public List<Account> getAllAccounts() {
+        List<Account> result = new ArrayList<>(accounts.values());
+        result.forEach(this::caughtUp);
+        return result;
+    }
+
+    public List<Account> getAccountsByHolder(String holderName) {
+        List<Account> result = holderIndex.get(holderName);
+        result.forEach(this::caughtUp);
+        return result;
+    }
+
+    /**
+     * Typeahead lookup: accounts whose holder name starts with the prefix, ignoring case.
+     */
+    public List<Account> getAccountsByHolderPrefix(String prefix, int limit) {
+        List<Account> result = holderIndex.getByPrefix(prefix, limit);
+        result.forEach(this::caughtUp);
+        return result;
+    }
+
+    public List<String> getHolderNamesByPrefix(String prefix, int limit) {
+        return holderIndex.getNamesByPrefix(prefix, limit);
+    }
+
+    // Copies of one partition; prefer the views below for iteration
+    public List<SavingsAccount> getSavingsAccounts() {
+        List<SavingsAccount> result = new ArrayList<>(savingsAccounts.values());
+        result.forEach(this::caughtUp);
+        return result;
+    }
+
+    public List<CheckingAccount> getCheckingAccounts() {
+        List<CheckingAccount> result = new ArrayList<>(checkingAccounts.values());
+        result.forEach(this::caughtUp);
+        return result;
+    }
+
+    /**
+     * Read-only live view of the savings accounts; obtaining it is O(1) and allocation-free.
+     * Under interest accrual the accounts are not caught up: balances may lack interest for
+     * missed periods until the account is next looked up or changed.
+     */
+    public Collection<SavingsAccount> getSavingsAccountsView() {
+        return savingsView;
+    }
+
+    /**
+     * Read-only live view of the checking accounts; obtaining it is O(1) and allocation-free.
+     * Like the savings view, its accounts are not caught up under interest accrual.
+     */
+    public Collection<CheckingAccount> getCheckingAccountsView() {
+        return checkingView;
+    }
+
+    public int getSavingsAccountCount() {
+        return totals.getSavingsCount();
+    }
+
+    public int getCheckingAccountCount() {
+        return totals.getCheckingCount();
+    }
+
+    // Core Banking Operations
+    public void deposit(String accountNumber, double amount) {
+        Account account = getAccount(accountNumber);
+        long seq = withLock(account, () -> {
+            account.deposit(amount);
+            return log(JournalRecord.deposit(accountNumber, Money.toCents(amount)), account);
+        });
+        if (seq < 0) {
+            throw new AccountNotFoundException(accountNumber); // Closed while we waited for it
+        }
+        awaitDurable(seq);
+    }
+
+    public void withdraw(String accountNumber, double amount) {
+        Account account = getAccount(accountNumber);
+        long seq = withLock(account, () -> {
+            account.withdraw(amount);
+            return log(JournalRecord.withdraw(accountNumber, Money.toCents(amount)), account);
+        });
+        if (seq < 0) {
+            throw new AccountNotFoundException(accountNumber); // Closed while we waited for it
+        }
+        awaitDurable(seq);
+    }
+
+    /**
+     * Like {@link #deposit}, but a failure is returned as an {@link OperationStatus} code
+     * instead of thrown, so routine declines cost no exception.
+     */
+    public byte tryDeposit(String accountNumber, double amount) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            return OperationStatus.ACCOUNT_NOT_FOUND;
+        }
+        long cents = Money.toCents(amount);
+        long outcome = withLock(account, () -> {
+            byte status = account.tryDeposit(cents);
+            return status == OperationStatus.OK
+                    ? log(JournalRecord.deposit(accountNumber, cents), account) : -status;
+        });
+        return completed(outcome);
+    }
+
+    /**
+     * Like {@link #withdraw}, but a decline is returned as an {@link OperationStatus} code
+     * instead of thrown; {@link #declineReason} explains it on request.
+     */
+    public byte tryWithdraw(String accountNumber, double amount) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            return OperationStatus.ACCOUNT_NOT_FOUND;
+        }
+        long cents = Money.toCents(amount);
+        long outcome = withLock(account, () -> {
+            byte status = account.tryWithdraw(cents);
+            return status == OperationStatus.OK
+                    ? log(JournalRecord.withdraw(accountNumber, cents), account) : -status;
+        });
+        return completed(outcome);
+    }
+
+    // Outcomes are a journal sequence on success, or a negated status code
+    private byte completed(long outcome) {
+        if (outcome < 0) {
+            return (byte) -outcome;
+        }
+        awaitDurable(outcome);
+        return OperationStatus.OK;
+    }
+
+    /**
+     * Explains a status returned by one of the try operations, formatted only now.
+     */
+    public String declineReason(String accountNumber, byte status, double amount) {
+        Account account = accounts.get(accountNumber);
+        if (status == OperationStatus.ACCOUNT_NOT_FOUND || account == null) {
+            return "Account not found: " + accountNumber;
+        }
+        return account.declineReason(status, Money.toCents(amount));
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals. Operations are grouped by account and
+     * each account's lock is taken once for all of its operations, which run in batch
+     * order. A declined operation does not stop the batch or throw: each item gets a
+     * status code, and the successful ones are durable when this returns.
+     *
+     * A journal failure is still thrown, as {@code UncheckedIOException} from a failed
+     * write or {@code IllegalStateException} once the journal is closed. Operations
+     * already applied in memory are then not known to be durable.
+     */
+    public BatchResult apply(OperationBatch batch) {
+        int size = batch.size();
+        byte[] statuses = new byte[size];
+
+        // Chain each account's operations in batch order: next[i] is its following one
+        int[] next = new int[size];
+        Map<String, Integer> firstByAccount = new HashMap<>();
+        for (int i = size - 1; i >= 0; i--) {
+            Integer following = firstByAccount.put(batch.getAccountNumber(i), i);
+            next[i] = following == null ? -1 : following;
+        }
+
+        long lastSeq = 0;
+        for (Map.Entry<String, Integer> group : firstByAccount.entrySet()) {
+            Account account = accounts.get(group.getKey());
+            int first = group.getValue();
+            if (account == null) {
+                for (int i = first; i >= 0; i = next[i]) {
+                    statuses[i] = OperationStatus.ACCOUNT_NOT_FOUND;
+                }
+                continue;
+            }
+            long seq = withLock(account, () -> applyGroup(account, batch, first, next, statuses));
+            if (seq < 0) {
+                for (int i = first; i >= 0; i = next[i]) {
+                    statuses[i] = OperationStatus.ACCOUNT_NOT_FOUND; // Closed since the lookup
+                }
+            }
+            lastSeq = Math.max(lastSeq, seq);
+        }
+        awaitDurable(lastSeq); // Group commit makes this a single wait for the whole batch
+        return new BatchResult(statuses);
+    }
+
+    // Called with the account lock held; returns the sequence of the last record logged
+    private long applyGroup(Account account, OperationBatch batch, int first, int[] next, byte[] statuses) {
+        long seq = 0;
+        for (int i = first; i >= 0; i = next[i]) {
+            long cents = batch.getAmountCents(i);
+            boolean deposit = batch.getKind(i) == OperationBatch.DEPOSIT;
+            statuses[i] = deposit ? account.tryDeposit(cents) : account.tryWithdraw(cents);
+            if (statuses[i] == OperationStatus.OK) {
+                String accountNumber = account.getAccountNumber();
+                seq = log(deposit ? JournalRecord.deposit(accountNumber, cents)
+                        : JournalRecord.withdraw(accountNumber, cents), account);
+            }
+        }
+        return seq;
+    }
+
+    /**
+     * Transfer funds between accounts.
+     * Demonstrates polymorphism - works with any Account type.
+     */
+    public void transfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        byte status = tryTransfer(fromAccountNumber, toAccountNumber, amount);
+        if (status != OperationStatus.OK) {
+            throw transferDeclined(status, fromAccountNumber, toAccountNumber, amount);
+        }
+    }
+
+    /**
+     * Like {@link #transfer}, but a decline is returned as an {@link OperationStatus} code
+     * instead of thrown.
+     */
+    public byte tryTransfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            return OperationStatus.SAME_ACCOUNT;
+        }
+
+        Account fromAccount = accounts.get(fromAccountNumber);
+        Account toAccount = accounts.get(toAccountNumber);
+        if (fromAccount == null || toAccount == null) {
+            return OperationStatus.ACCOUNT_NOT_FOUND;
+        }
+        long cents = Money.toCents(amount);
+        if (!Account.isValidAmountCents(cents)) {
+            return OperationStatus.INVALID_AMOUNT;
+        }
+
+        // Compare-and-set accounts validate inside the withdrawal, no locks needed
+        if (!needsLock(fromAccount) && !needsLock(toAccount)) {
+            return isRegistered(fromAccount) && isRegistered(toAccount)
+                    ? executeTransfer(fromAccount, toAccount, cents) : OperationStatus.ACCOUNT_NOT_FOUND;
+        }
+
+        // Lock both accounts in a consistent order to prevent deadlock
+        boolean fromFirst = fromAccountNumber.compareTo(toAccountNumber) < 0;
+        ReentrantLock first = fromFirst ? fromAccount.getLock() : toAccount.getLock();
+        ReentrantLock second = fromFirst ? toAccount.getLock() : fromAccount.getLock();
+
+        byte status;
+        long seq = 0;
+        first.lock();
+        try {
+            second.lock();
+            try {
+                if (!isRegistered(fromAccount) || !isRegistered(toAccount)) {
+                    return OperationStatus.ACCOUNT_NOT_FOUND; // Closed while we waited for the locks
+                }
+                catchUpMaintenance(fromAccount);
+                catchUpMaintenance(toAccount);
+                status = executeTransfer(fromAccount, toAccount, cents);
+                if (status == OperationStatus.OK) {
+                    seq = log(JournalRecord.transfer(fromAccountNumber, toAccountNumber, cents), fromAccount);
+                    toAccount.setJournalSequence(seq);
+                }
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+        awaitDurable(seq);
+        return status;
+    }
+
+    // A valid deposit cannot fail, so a successful withdrawal is always matched
+    private static byte executeTransfer(Account fromAccount, Account toAccount, long cents) {
+        byte status = fromAccount.tryWithdraw(cents);
+        if (status == OperationStatus.OK) {
+            toAccount.tryDeposit(cents);
+        }
+        return status;
+    }
+
+    // Messages are formatted only if read, but from the balance as of the decline
+    private BankingException transferDeclined(byte status, String fromAccountNumber,
+                                              String toAccountNumber, double amount) {
+        if (status == OperationStatus.SAME_ACCOUNT) {
+            return new TransferException("Cannot transfer to the same account");
+        }
+        Account fromAccount = accounts.get(fromAccountNumber);
+        if (status == OperationStatus.ACCOUNT_NOT_FOUND || fromAccount == null) {
+            return new AccountNotFoundException(fromAccount == null ? fromAccountNumber : toAccountNumber);
+        }
+        if (status == OperationStatus.INSUFFICIENT_FUNDS) {
+            long availableCents = fromAccount.getAvailableBalanceCents();
+            return new TransferException(() -> String.format(
+                "Insufficient funds for transfer. Available: $%.2f, Requested: $%.2f",
+                Money.toDollars(availableCents), amount));
+        }
+        long cents = Money.toCents(amount);
+        return new TransferException(() -> "Transfer failed: " + fromAccount.declineReason(status, cents));
+    }
+
+    // Interest Operations
+    public MaintenanceReport applyInterestToAllAccounts() {
+        return runMaintenance(false, ForkJoinPool.commonPool(), null);
+    }
+
+    public void applyInterestToSavingsAccounts() {
+        applyInterest(savingsView);
+    }
+
+    private void applyInterest(Collection<? extends Account> targets) {
+        long seq = 0;
+        for (Account account : targets) {
+            seq = Math.max(seq, withLock(account, () -> {
+                account.applyInterest();
+                return log(JournalRecord.interest(account.getAccountNumber()), account);
+            }));
+        }
+        awaitDurable(seq);
+    }
+
+    public double calculateTotalInterestEarned() {
+        long total = 0;
+        for (SavingsAccount account : savingsView) {
+            total += caughtUp(account).getAccumulatedInterestCents();
+        }
+        return Money.toDollars(total);
+    }
+
+    // Monthly Maintenance
+    public MaintenanceReport performMonthlyMaintenance() {
+        return performMonthlyMaintenance(ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Applies interest to every account and resets savings withdrawal counters,
+     * processing the accounts in chunks on the given pool. If the previous month-end
+     * run was interrupted, it is resumed from its last checkpoint instead of opening
+     * a new period, so no account is credited twice.
+     *
+     * @param listener optional progress callback, invoked from worker threads
+     */
+    public MaintenanceReport performMonthlyMaintenance(ForkJoinPool pool, MaintenanceProgressListener listener) {
+        return runMaintenance(true, pool, listener);
+    }
+
+    /**
+     * Whether a maintenance run was interrupted (in this process or before a restart)
+     * and will be resumed by the next maintenance call.
+     */
+    public boolean hasInterruptedMaintenance() {
+        return !maintenanceRun.complete;
+    }
+
+    /**
+     * When enabled, maintenance runs stop visiting every account: each account posts the
+     * interest it accrued over the periods it missed when it is next read or changed.
+     * Interest accrued this way is rounded once, so it can differ by a cent from posting
+     * every month, and bank totals include it once it is posted.
+     */
+    public void setInterestAccrual(boolean enabled) {
+        this.interestAccrual = enabled;
+    }
+
+    public boolean isInterestAccrual() {
+        return interestAccrual;
+    }
+
+    private MaintenanceReport runMaintenance(boolean monthEnd, ForkJoinPool pool,
+                                             MaintenanceProgressListener listener) {
+        synchronized (maintenanceMonitor) {
+            MaintenanceRun pending = maintenanceRun;
+            if (!pending.complete) {
+                MaintenanceReport resumed = execute(pending, pool, listener);
+                if (pending.monthEnd == monthEnd) {
+                    return resumed;
+                }
+            }
+
+            // Cut-over: from here on, the first touch of an account maintains it first.
+            // Creations hold the read lock, so each one is logged on one side of the start record.
+            long start = System.nanoTime();
+            MaintenanceRun run = pending.next(monthEnd);
+            long seq;
+            cutOverLock.writeLock().lock();
+            try {
+                maintenanceRun = run;
+                seq = logCheckpoint(run);
+            } finally {
+                cutOverLock.writeLock().unlock();
+            }
+            if (interestAccrual) {
+                // Accounts catch up when next touched; nothing to visit now
+                run.complete = true;
+                seq = logCheckpoint(run);
+                awaitDurable(seq);
+                return new MaintenanceReport(run.period, 0, 0, (System.nanoTime() - start) / 1_000_000);
+            }
+            awaitDurable(seq);
+            return execute(run, pool, listener);
+        }
+    }
+
+    private MaintenanceReport execute(MaintenanceRun run, ForkJoinPool pool, MaintenanceProgressListener listener) {
+        long start = System.nanoTime();
+
+        // Accounts at or below the high-water mark were done before an interruption
+        String highWater = run.highWater;
+        List<Account> remaining = new ArrayList<>();
+        for (Account account : accounts.values()) {
+            if (account.getAccountNumber().compareTo(highWater) > 0) {
+                remaining.add(account);
+            }
+        }
+        Account[] targets = remaining.toArray(new Account[0]);
+        Arrays.sort(targets, Comparator.comparing(Account::getAccountNumber));
+
+        long[] result = new MaintenanceEngine(pool, INTEREST_KERNEL, listener,
+                end -> checkpoint(run, targets[end - 1].getAccountNumber()))
+                .run(targets, account -> quotedRate(account, run),
+                        (account, balance, interest) -> maintain(account, run, balance, interest));
+
+        // Accounts registered while the cut-over was being taken
+        for (Account account : accounts.values()) {
+            if (account.getMaintenancePeriod() < run.period) {
+                long interest = maintain(account, run);
+                if (interest >= 0) {
+                    result[0]++;
+                    result[1] += interest;
+                }
+            }
+        }
+        run.complete = true;
+        awaitDurable(logCheckpoint(run));
+
+        return new MaintenanceReport(run.period, result[0], result[1],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Called in account order; the checkpoint is durable once the chunk's records are
+    private void checkpoint(MaintenanceRun run, String highWater) {
+        run.highWater = highWater;
+        awaitDurable(logCheckpoint(run));
+    }
+
+    private long logCheckpoint(MaintenanceRun run) {
+        return journal == null ? 0 : journal.append(run.toCheckpoint());
+    }
+
+    // Monthly rate compounded over the periods the account is behind
+    private static double quotedRate(Account account, MaintenanceRun run) {
+        int periods = run.period - account.getMaintenancePeriod();
+        return periods > 0 ? Money.compound(account.getInterestRate() / 12, periods) : 0;
+    }
+
+    private long maintain(Account account, MaintenanceRun run) {
+        return maintain(account, run, STALE_QUOTE, 0);
+    }
+
+    /**
+     * Applies a maintenance run to one account unless it already has it, posting the
+     * quoted interest if the balance still matches the quote.
+     *
+     * @return the interest posted in cents, or -1 if the account was skipped
+     */
+    private long maintain(Account account, MaintenanceRun run, long quotedBalanceCents, long quotedInterestCents) {
+        account.getLock().lock();
+        try {
+            if (account.getMaintenancePeriod() >= run.period
+                    || !isRegistered(account)) {
+                return -1; // Already caught up, or closed since the cut-over
+            }
+            boolean monthEnd = run.lastMonthEnd > account.getMaintenancePeriod();
+            long interest = applyMaintenance(account, run.period, monthEnd, quotedBalanceCents, quotedInterestCents);
+            log(JournalRecord.maintenance(account.getAccountNumber(), run.period, monthEnd), account);
+            return interest;
+        } finally {
+            account.getLock().unlock();
+        }
+    }
+
+    private static long applyMaintenance(Account account, int period, boolean monthEnd) {
+        return applyMaintenance(account, period, monthEnd, STALE_QUOTE, 0);
+    }
+
+    // Interest for every missed period, the month-end counter reset and the period stamp change together
+    private static long applyMaintenance(Account account, int period, boolean monthEnd,
+                                         long quotedBalanceCents, long quotedInterestCents) {
+        long before = account.getBalanceCents();
+        int periods = period - account.getMaintenancePeriod();
+        if (!account.postInterest(quotedBalanceCents, quotedInterestCents, periods)) {
+            account.applyInterest(periods);
+        }
+        if (monthEnd && account instanceof SavingsAccount) {
+            ((SavingsAccount) account).resetMonthlyWithdrawals();
+        }
+        account.setMaintenancePeriod(period);
+        return account.getBalanceCents() - before;
+    }
+
+    // Reads see interest for the current period too, which matters under accrual
+    private <T extends Account> T caughtUp(T account) {
+        if (account.getMaintenancePeriod() < maintenanceRun.period) {
+            account.getLock().lock();
+            try {
+                catchUpMaintenance(account);
+            } finally {
+                account.getLock().unlock();
+            }
+        }
+        return account;
+    }
+
+    // Called with the account lock held, before any online change to the account
+    private void catchUpMaintenance(Account account) {
+        MaintenanceRun run = maintenanceRun;
+        if (account.getMaintenancePeriod() < run.period) {
+            maintain(account, run);
+        }
+    }
+
+    // Replayed checkpoints and the snapshot header only ever move the run forward
+    private void restoreMaintenance(JournalRecord checkpoint) {
+        int period = checkpoint.getMaintenancePeriod();
+        MaintenanceRun run = maintenanceRun;
+        if (period < run.period) {
+            return;
+        }
+        if (period > run.period) {
+            run = new MaintenanceRun(period, checkpoint.isMonthEnd(), checkpoint.getLastMonthEndPeriod());
+            maintenanceRun = run;
+        }
+        if (checkpoint.getHighWaterAccountNumber().compareTo(run.highWater) > 0) {
+            run.highWater = checkpoint.getHighWaterAccountNumber();
+        }
+        if (checkpoint.isMaintenanceComplete()) {
+            run.complete = true;
+        }
+    }
+
+    /**
+     * A maintenance period: interest only, or interest plus the month-end counter reset.
+     * Accounts are processed in account-number order up to the high-water mark.
+     */
+    private static final class MaintenanceRun {
+        static final MaintenanceRun NONE = new MaintenanceRun(0, false, 0);
+
+        final int period;
+        final boolean monthEnd;
+        final int lastMonthEnd; // Accounts stamped before it are owed a counter reset
+        volatile String highWater = "";
+        volatile boolean complete;
+
+        MaintenanceRun(int period, boolean monthEnd, int lastMonthEnd) {
+            this.period = period;
+            this.monthEnd = monthEnd;
+            this.lastMonthEnd = lastMonthEnd;
+            this.complete = period == 0;
+        }
+
+        MaintenanceRun next(boolean monthEnd) {
+            return new MaintenanceRun(period + 1, monthEnd, monthEnd ? period + 1 : lastMonthEnd);
+        }
+
+        JournalRecord toCheckpoint() {
+            return JournalRecord.maintenanceCheckpoint(period, monthEnd, lastMonthEnd, highWater, complete);
+        }
+    }
+
+    // Runs the action under the account's lock, unless the account was closed after the
+    // caller looked it up: then the action is skipped and ACCOUNT_NOT_FOUND is returned
+    // negated, like a decline. Unlocked lock-free accounts can only be checked beforehand.
+    private long withLock(Account account, LongSupplier action) {
+        if (!needsLock(account)) {
+            return isRegistered(account) ? action.getAsLong() : -OperationStatus.ACCOUNT_NOT_FOUND;
+        }
+        account.getLock().lock();
+        try {
+            if (!isRegistered(account)) {
+                return -OperationStatus.ACCOUNT_NOT_FOUND;
+            }
+            catchUpMaintenance(account);
+            return action.getAsLong();
+        } finally {
+            account.getLock().unlock();
+        }
+    }
+
+    // Whether the account is still the one registered under its number; stable while its lock is held
+    private boolean isRegistered(Account account) {
+        return accounts.get(account.getAccountNumber()) == account;
+    }
+
+    // Journal order must match apply order per account, so journaling keeps the lock;
+    // so does an account still owed maintenance from the current period
+    private boolean needsLock(Account account) {
+        return !account.isLockFree() || journal != null
+                || account.getMaintenancePeriod() < maintenanceRun.period;
+    }
+
+    // Persistence - called with the account lock held
+    private long log(JournalRecord record, Account account) {
+        if (journal == null) {
+            return 0;
+        }
+        long seq = journal.append(record);
+        account.setJournalSequence(seq);
+        return seq;
+    }
+
+    private void awaitDurable(long seq) {
+        if (journal != null && seq > 0) {
+            journal.awaitDurable(seq);
+        }
+    }
+
+    /**
+     * Applies a replayed record to every account that has not already seen it.
+     * Accounts restored from a snapshot carry the sequence of the last record they
+     * reflect; accounts missing from the map were closed later in the log.
+     */
+    private void applyRecord(long sequence, JournalRecord record) {
+        String accountNumber = record.getAccountNumber();
+        Account account = accounts.get(accountNumber);
+        double amount = Money.toDollars(record.getAmountCents());
+        switch (record.getType()) {
+            case CREATE_SAVINGS -> {
+                observeAccountNumber(accountNumber);
+                if (account == null) {
+                    account = newSavingsAccount(accountNumber, record.getHolderName(), amount,
+                            record.getInterestRate());
+                    account.restoreCreatedAt(record.getEpochNanos());
+                    account.setMaintenancePeriod(maintenanceRun.period);
+                    register(account);
+                    account.setJournalSequence(sequence);
+                }
+            }
+            case CREATE_CHECKING -> {
+                observeAccountNumber(accountNumber);
+                if (account == null) {
+                    account = newCheckingAccount(accountNumber, record.getHolderName(), amount,
+                            Money.toDollars(record.getOverdraftLimitCents()));
+                    account.restoreCreatedAt(record.getEpochNanos());
+                    account.setMaintenancePeriod(maintenanceRun.period);
+                    register(account);
+                    account.setJournalSequence(sequence);
+                }
+            }
+            case IMPORT_SAVINGS, IMPORT_CHECKING -> {
+                observeAccountNumber(accountNumber);
+                if (account == null) {
+                    account = record.getType() == JournalRecord.Type.IMPORT_SAVINGS
+                            ? newSavingsAccount(accountNumber, record.getHolderName(), 0, record.getInterestRate())
+                            : newCheckingAccount(accountNumber, record.getHolderName(), 0,
+                                    Money.toDollars(record.getOverdraftLimitCents()));
+                    Account imported = account;
+                    imported.restoreCreatedAt(record.getEpochNanos());
+                    imported.recordAt(record.getEpochNanos(), () -> imported.importBalance(record.getAmountCents()));
+                    account.setMaintenancePeriod(maintenanceRun.period);
+                    register(account);
+                    account.setJournalSequence(sequence);
+                }
+            }
+            case TRANSFER -> {
+                // Each side may be ahead of the record independently
+                Account toAccount = accounts.get(record.getTargetAccountNumber());
+                if (isUnapplied(account, sequence)) {
+                    Account fromAccount = account;
+                    fromAccount.recordAt(record.getEpochNanos(), () -> fromAccount.withdraw(amount));
+                    account.setJournalSequence(sequence);
+                }
+                if (isUnapplied(toAccount, sequence)) {
+                    toAccount.recordAt(record.getEpochNanos(), () -> toAccount.deposit(amount));
+                    toAccount.setJournalSequence(sequence);
+                }
+            }
+            case CLOSE -> unregister(accountNumber);
+            case MAINTENANCE_CHECKPOINT -> restoreMaintenance(record);
+            default -> {
+                if (isUnapplied(account, sequence)) {
+                    Account target = account;
+                    target.recordAt(record.getEpochNanos(), () -> {
+                        switch (record.getType()) {
+                            case DEPOSIT -> target.deposit(amount);
+                            case WITHDRAW -> target.withdraw(amount);
+                            case INTEREST -> target.applyInterest();
+                            case RESET_WITHDRAWALS -> ((SavingsAccount) target).resetMonthlyWithdrawals();
+                            case MAINTENANCE -> applyMaintenance(target, record.getMaintenancePeriod(),
+                                    record.isMonthEnd());
+                            default -> throw new IllegalStateException("Unhandled record: " + record);
+                        }
+                    });
+                    account.setJournalSequence(sequence);
+                }
+            }
+        }
+    }
+
+    private static boolean isUnapplied(Account account, long sequence) {
+        return account != null && sequence > account.getJournalSequence();
+    }
+
+    // Keep generated numbers ahead of every number seen during recovery
+    private void observeAccountNumber(String accountNumber) {
+        int sequence = Integer.parseInt(accountNumber.substring(accountNumber.indexOf('-') + 1));
+        accountNumberGenerator.accumulateAndGet(sequence, Math::max);
+    }
+
+    // Snapshots
+    private int loadSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        try (SnapshotReader reader = new SnapshotReader(snapshotPath)) {
+            DataInput in;
+            while ((in = reader.nextAccount()) != null) {
+                register(Account.readSnapshot(in, lockFreeBalances));
+            }
+            accountNumberGenerator.accumulateAndGet(reader.getAccountNumberCounter(), Math::max);
+            restoreMaintenance(reader.getMaintenanceCheckpoint());
+            return reader.getStartGeneration();
+        }
+    }
+
+    /**
+     * Writes a point-in-time snapshot and drops the journal generations it covers.
+     * Other threads keep transacting; each account is only locked while it is copied.
+     */
+    public void snapshot() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("Snapshots require a journaled bank (see BankService.open)");
+        }
+        synchronized (snapshotMonitor) {
+            int startGeneration = journal.rotate();
+            int accountNumberCounter = accountNumberGenerator.get();
+            // Read after the rotation: later checkpoints are replayed from the new generation
+            JournalRecord maintenance = maintenanceRun.toCheckpoint();
+
+            try (SnapshotWriter writer = new SnapshotWriter(snapshotPath, startGeneration, accountNumberCounter,
+                    maintenance)) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(buffer);
+                for (Account account : accounts.values()) {
+                    buffer.reset();
+                    account.getLock().lock();
+                    try {
+                        account.writeSnapshot(out);
+                    } finally {
+                        account.getLock().unlock();
+                    }
+                    out.flush();
+                    writer.writeAccount(buffer);
+                }
+                writer.commit();
+            }
+            journal.deleteSegmentsBefore(startGeneration);
+        }
+    }
+
+    /**
+     * Takes a snapshot on a background thread at a fixed interval until {@link #close()}.
+     * A failed snapshot does not stop the schedule; see {@link #getLastSnapshotFailure()}.
+     */
+    public synchronized void startPeriodicSnapshots(long interval, TimeUnit unit) {
+        if (snapshotScheduler != null) {
+            throw new IllegalStateException("Periodic snapshots already running");
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bank-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                lastSnapshotFailure = e; // Thrown out of the task, it would cancel the schedule
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * The most recent failure of a periodic snapshot, if any has failed.
+     */
+    public Optional<Exception> getLastSnapshotFailure() {
+        return Optional.ofNullable(lastSnapshotFailure);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (snapshotScheduler != null) {
+                snapshotScheduler.shutdown();
+                try {
+                    snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        if (transactionStore != null) {
+            transactionStore.close();
+        }
+    }
+
+    // Reporting
+    public double getTotalDeposits() {
+        return Money.toDollars(getTotalDepositsCents());
+    }
+
+    // Exact running total in cents, read in O(1)
+    public long getTotalDepositsCents() {
+        return totals.getSavingsCents() + totals.getCheckingCents();
+    }
+
+    public int getTotalAccountCount() {
+        return accounts.size();
+    }
+
+    public Map<String, Double> getAccountBalanceSummary() {
+        Map<String, Double> summary = new LinkedHashMap<>();
+        long savingsCents = totals.getSavingsCents();
+        long checkingCents = totals.getCheckingCents();
+        summary.put("Total Savings", Money.toDollars(savingsCents));
+        summary.put("Total Checking", Money.toDollars(checkingCents));
+        summary.put("Total Overdraft Used", Money.toDollars(totals.getOverdraftCents()));
+        summary.put("Grand Total", Money.toDollars(savingsCents + checkingCents));
+        return summary;
+    }
+
+    public boolean accountExists(String accountNumber) {
+        return accounts.containsKey(accountNumber);
+    }
+
+    public void closeAccount(String accountNumber) {
+        Account account = getAccount(accountNumber);
+        long seq;
+        account.getLock().lock();
+        try {
+            if (account.getBalanceCents() != 0) {
+                throw new BankingException(
+                    String.format("Cannot close account with non-zero balance: $%.2f", account.getBalance())
+                );
+            }
+            unregister(accountNumber);
+            seq = log(JournalRecord.close(accountNumber), account);
+        } finally {
+            account.getLock().unlock();
+        }
+        awaitDurable(seq);
+    }
+
+    public String getBankName() {
+        return bankName;
+    }
+
+    public String getBankSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n");
+        sb.append("╔══════════════════════════════════════════════════════════════╗\n");
+        sb.append(String.format("║  %-60s║%n", bankName + " - Summary Report"));
+        sb.append("╠══════════════════════════════════════════════════════════════╣\n");
+        sb.append(String.format("║  Total Accounts: %-43d║%n", getTotalAccountCount()));
+        sb.append(String.format("║  Savings Accounts: %-41d║%n", getSavingsAccountCount()));
+        sb.append(String.format("║  Checking Accounts: %-40d║%n", getCheckingAccountCount()));
+        sb.append("╠══════════════════════════════════════════════════════════════╣\n");
+        
+        Map<String, Double> summary = getAccountBalanceSummary();
+        for (Map.Entry<String, Double> entry : summary.entrySet()) {
+            sb.append(String.format("║  %-30s $%,18.2f     ║%n", entry.getKey() + ":", entry.getValue()));
+        }
+        
+        sb.append("╚══════════════════════════════════════════════════════════════╝\n");
+        return sb.toString();
+    }
+}
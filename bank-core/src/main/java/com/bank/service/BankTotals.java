@@ -0,0 +1,79 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.model.CheckingAccount;
+import com.bank.model.SavingsAccount;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running bank-wide totals, kept current by each account's balance listener.
+ *
+ * Every total is a striped {@link LongAdder}, so concurrent deposits on different
+ * accounts do not contend on a shared counter, and reading a total costs the same
+ * however many accounts exist. Each total is exact on its own; totals read while
+ * transfers are in flight may not yet reflect both sides of the same transfer.
+ */
+class BankTotals {
+    private final LongAdder savingsCents = new LongAdder();
+    private final LongAdder checkingCents = new LongAdder();
+    private final LongAdder overdraftCents = new LongAdder();
+    private final LongAdder savingsCount = new LongAdder();
+    private final LongAdder checkingCount = new LongAdder();
+
+    private final Account.BalanceListener savingsListener = (balanceDelta, overdraftDelta) ->
+            savingsCents.add(balanceDelta);
+
+    private final Account.BalanceListener checkingListener = (balanceDelta, overdraftDelta) -> {
+        checkingCents.add(balanceDelta);
+        if (overdraftDelta != 0) {
+            overdraftCents.add(overdraftDelta);
+        }
+    };
+
+    // Called before the account is visible to other threads
+    void add(Account account) {
+        if (account instanceof SavingsAccount) {
+            savingsCount.increment();
+            savingsCents.add(account.getBalanceCents());
+            account.setBalanceListener(savingsListener);
+        } else if (account instanceof CheckingAccount) {
+            checkingCount.increment();
+            checkingCents.add(account.getBalanceCents());
+            overdraftCents.add(((CheckingAccount) account).getCurrentOverdraftCents());
+            account.setBalanceListener(checkingListener);
+        }
+    }
+
+    void remove(Account account) {
+        account.setBalanceListener(null);
+        if (account instanceof SavingsAccount) {
+            savingsCount.decrement();
+            savingsCents.add(-account.getBalanceCents());
+        } else if (account instanceof CheckingAccount) {
+            checkingCount.decrement();
+            checkingCents.add(-account.getBalanceCents());
+            overdraftCents.add(-((CheckingAccount) account).getCurrentOverdraftCents());
+        }
+    }
+
+    long getSavingsCents() {
+        return savingsCents.sum();
+    }
+
+    long getCheckingCents() {
+        return checkingCents.sum();
+    }
+
+    long getOverdraftCents() {
+        return overdraftCents.sum();
+    }
+
+    int getSavingsCount() {
+        return savingsCount.intValue();
+    }
+
+    int getCheckingCount() {
+        return checkingCount.intValue();
+    }
+}
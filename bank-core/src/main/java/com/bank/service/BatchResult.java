@@ -0,0 +1,48 @@
+package com.bank.service;
+
+import com.bank.model.OperationStatus;
+
+/**
+ * Per-operation outcome of a batch: one {@link OperationStatus} code per item,
+ * in the order the operations were added.
+ */
+public class BatchResult {
+    private final byte[] statuses;
+    private final int succeeded;
+
+    BatchResult(byte[] statuses) {
+        this.statuses = statuses;
+        int ok = 0;
+        for (byte status : statuses) {
+            if (status == OperationStatus.OK) {
+                ok++;
+            }
+        }
+        this.succeeded = ok;
+    }
+
+    public int size() {
+        return statuses.length;
+    }
+
+    public byte getStatus(int index) {
+        return statuses[index];
+    }
+
+    public boolean isSuccess(int index) {
+        return statuses[index] == OperationStatus.OK;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return statuses.length - succeeded;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Batch of %,d: %,d succeeded, %,d failed", statuses.length, succeeded, getFailed());
+    }
+}
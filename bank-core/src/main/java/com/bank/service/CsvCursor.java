@@ -0,0 +1,312 @@
+package com.bank.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Walks the lines and fields of a CSV chunk in place.
+ *
+ * The current field is the byte range [start, end), with surrounding quotes removed.
+ * Numbers, amounts and timestamps are parsed straight from those bytes; only fields
+ * that must become strings (account numbers, holder names) are decoded. Parsers
+ * return {@link #MALFORMED} or NaN rather than throwing.
+ */
+final class CsvCursor {
+    static final long MALFORMED = Long.MIN_VALUE;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final byte[] data;
+    private final int limit;
+    private int position;
+    private int lineStart;
+    private int lineEnd; // Excludes the line terminator
+    private int next;    // Start of the next field, or -1 after the last one
+
+    int start;
+    int end;
+    private boolean quoted;
+
+    CsvCursor(byte[] data, int limit) {
+        this.data = data;
+        this.limit = limit;
+    }
+
+    /**
+     * Moves to the next line that is not blank; false at the end of the chunk.
+     */
+    boolean nextLine() {
+        while (position < limit) {
+            lineStart = position;
+            int newline = position;
+            while (newline < limit && data[newline] != '\n') {
+                newline++;
+            }
+            position = newline + 1;
+            lineEnd = newline > lineStart && data[newline - 1] == '\r' ? newline - 1 : newline;
+            if (lineEnd > lineStart) {
+                next = lineStart;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Advances to the next field of the current line; false if the line has no more.
+     */
+    boolean nextField() {
+        if (next < 0) {
+            return false;
+        }
+        int from = next;
+        int to;
+        quoted = from < lineEnd && data[from] == '"';
+        if (quoted) {
+            to = from + 1;
+            while (to < lineEnd && (data[to] != '"' || (to + 1 < lineEnd && data[to + 1] == '"'))) {
+                to += data[to] == '"' ? 2 : 1;
+            }
+            start = from + 1;
+            end = Math.min(to, lineEnd);
+            while (to < lineEnd && data[to] != ',') {
+                to++; // Past the closing quote
+            }
+        } else {
+            to = from;
+            while (to < lineEnd && data[to] != ',') {
+                to++;
+            }
+            start = from;
+            end = to;
+        }
+        next = to < lineEnd ? to + 1 : -1;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * Whether the field looks like an account number the bank issues, such as SAV-1001:
+     * a prefix, a dash and up to nine digits, at least four characters in all.
+     */
+    boolean isAccountNumber() {
+        int dash = start;
+        while (dash < end && data[dash] != '-') {
+            dash++;
+        }
+        int digits = end - dash - 1;
+        if (dash == start || digits < 1 || digits > 9 || end - start < 4) {
+            return false;
+        }
+        for (int i = dash + 1; i < end; i++) {
+            if (!isDigit(data[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String line() {
+        return new String(data, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The field as text; doubled quotes inside a quoted field are unescaped.
+     */
+    String text() {
+        String text = new String(data, start, end - start, StandardCharsets.UTF_8);
+        return quoted ? text.replace("\"\"", "\"") : text;
+    }
+
+    // Account numbers are ASCII; Latin-1 decoding is a plain copy
+    String ascii() {
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    boolean fieldEquals(int otherStart, int otherEnd) {
+        return Arrays.equals(data, start, end, data, otherStart, otherEnd);
+    }
+
+    boolean fieldEquals(byte[] value) {
+        return Arrays.equals(data, start, end, value, 0, value.length);
+    }
+
+    boolean fieldEqualsIgnoreCase(byte[] value) {
+        if (end - start != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if ((data[start + i] | 0x20) != (value[i] | 0x20)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The index of the name the field equals, such as an enum constant's, or -1.
+     */
+    int indexIn(byte[][] names) {
+        for (int i = 0; i < names.length; i++) {
+            if (fieldEquals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A decimal amount in dollars with at most two decimals, such as -12.5, as cents.
+     */
+    long cents() {
+        int i = start;
+        boolean negative = i < end && data[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long dollars = 0;
+        int digits = 0;
+        while (i < end && isDigit(data[i])) {
+            dollars = dollars * 10 + (data[i++] - '0');
+            if (++digits > 15) {
+                return MALFORMED;
+            }
+        }
+        long fraction = 0;
+        int decimals = 0;
+        if (i < end && data[i] == '.') {
+            i++;
+            while (i < end && isDigit(data[i]) && decimals < 2) {
+                fraction = fraction * 10 + (data[i++] - '0');
+                decimals++;
+            }
+        }
+        if (i != end || digits + decimals == 0) {
+            return MALFORMED;
+        }
+        long cents = dollars * 100 + (decimals == 1 ? fraction * 10 : fraction);
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * A non-negative decimal, such as an interest rate; NaN if malformed.
+     */
+    double decimal() {
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            byte b = data[i];
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (isDigit(b) && digits < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        return scale > 0 ? mantissa / Math.pow(10, scale) : mantissa;
+    }
+
+    long integer() {
+        if (start == end) {
+            return MALFORMED;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            if (!isDigit(data[i]) || i - start >= 18) {
+                return MALFORMED;
+            }
+            value = value * 10 + (data[i] - '0');
+        }
+        return value;
+    }
+
+    long signedInteger() {
+        if (start < end && data[start] == '-') {
+            start++;
+            long value = integer();
+            start--;
+            return value == MALFORMED ? MALFORMED : -value;
+        }
+        return integer();
+    }
+
+    /**
+     * Epoch milliseconds, or an ISO-8601 UTC date-time such as 2024-01-31T09:30:00Z
+     * (fraction of a second and the trailing Z optional), as epoch nanoseconds.
+     */
+    long epochNanos() {
+        if (end - start < 19) {
+            long millis = integer();
+            return millis == MALFORMED ? MALFORMED : millis * NANOS_PER_MILLI;
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        int hour = digits(start + 11, 2);
+        int minute = digits(start + 14, 2);
+        int second = digits(start + 17, 2);
+        byte dateTimeSeparator = data[start + 10];
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || data[start + 4] != '-' || data[start + 7] != '-'
+                || (dateTimeSeparator != 'T' && dateTimeSeparator != ' ')
+                || data[start + 13] != ':' || data[start + 16] != ':') {
+            return MALFORMED;
+        }
+        int i = start + 19;
+        long nanos = 0;
+        if (i < end && data[i] == '.') {
+            long scale = NANOS_PER_SECOND;
+            for (i++; i < end && isDigit(data[i]); i++) {
+                scale /= 10;
+                nanos += (data[i] - '0') * scale;
+            }
+        }
+        if (i < end && data[i] == 'Z') {
+            i++;
+        }
+        if (i != end) {
+            return MALFORMED;
+        }
+        long seconds = daysFromCivil(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+        return seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            if (!isDigit(data[i])) {
+                return -1;
+            }
+            value = value * 10 + (data[i] - '0');
+        }
+        return value;
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar (H. Hinnant's algorithm)
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,486 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.model.Money;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionDescription;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Streams accounts and their transaction history from CSV files into a bank, for
+ * migrations of tens of millions of rows.
+ *
+ * Files are read through a {@link FileChannel} in large chunks, cut at line ends, into
+ * a fixed pool of reused buffers, so memory stays bounded whatever the file size.
+ * Chunks are parsed in parallel straight from the bytes (see {@link CsvCursor}).
+ * Account rows are built and registered by the parsing threads. Transaction rows are
+ * appended to each account's history in file order by the calling thread, which
+ * takes an account's lock once per run of consecutive rows for that account.
+ *
+ * <pre>
+ * accountNumber,type,holder,balance,interestRateOrOverdraftLimit
+ * SAV-1001,Savings,"Smith, John",5000.00,0.025
+ * CHK-1002,Checking,Jane Doe,-120.50,500
+ *
+ * accountNumber,type,amount,balanceAfter,timestamp,description[,descriptionArgument]
+ * CHK-1002,WITHDRAWAL,620.50,-120.50,2024-01-31T09:30:00Z,OVERDRAFT_WITHDRAWAL,12050
+ * </pre>
+ *
+ * Header lines are optional. Types and descriptions are the enum constant names, and
+ * timestamps are UTC or epoch milliseconds. Balances are as of the migration and
+ * history is informational: importing transactions never changes a balance. Rows that
+ * do not parse, or name an unknown or duplicate account, are counted and skipped, and
+ * so are history rows identical in every field to an entry the account already holds.
+ *
+ * On a journaled bank each account is journaled with its balance as it is published,
+ * since it can take part in transfers at once; an import returns, or fails, only once
+ * the accounts it published are durable. History rows are not journaled: the bank is
+ * snapshotted once an import completes. If the process dies mid-import, reopen the
+ * bank and rerun both imports with the same files: recovered accounts are reported as
+ * duplicates and left alone, and history rows already held (say, by a periodic snapshot
+ * taken during the import) are skipped, so every account ends with its history once.
+ */
+public class CsvImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    private static final int MAX_REJECTED_SAMPLES = 10;
+
+    private static final byte[] HEADER = ascii("accountNumber");
+    private static final byte[] SAVINGS = ascii("Savings");
+    private static final byte[] CHECKING = ascii("Checking");
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    private static final byte[][] TYPE_NAMES = names(TYPES);
+    private static final TransactionDescription[] DESCRIPTIONS = TransactionDescription.values();
+    private static final byte[][] DESCRIPTION_NAMES = names(DESCRIPTIONS);
+
+    private final BankService bank;
+    private final int parallelism;
+    private final int chunkSize;
+    private volatile ImportProgressListener listener;
+
+    public CsvImporter(BankService bank) {
+        this(bank, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public CsvImporter(BankService bank, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.bank = bank;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    public CsvImporter setProgressListener(ImportProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public ImportReport importAccounts(Path file) throws IOException {
+        return new Run(file, this::parseAccounts, chunk -> { }).execute();
+    }
+
+    /**
+     * Imports history for accounts already in the bank, such as from {@link #importAccounts}.
+     * Rerunnable: rows the account already holds are reported as already imported.
+     */
+    public ImportReport importTransactions(Path file) throws IOException {
+        return new Run(file, this::parseTransactions, this::appendTransactions).execute();
+    }
+
+    // ==================== Accounts ====================
+
+    private void parseAccounts(Chunk chunk) {
+        CsvCursor cursor = new CsvCursor(chunk.data, chunk.length);
+        boolean first = chunk.first;
+        while (cursor.nextLine()) {
+            cursor.nextField();
+            if (first) {
+                first = false;
+                if (cursor.fieldEqualsIgnoreCase(HEADER)) {
+                    continue;
+                }
+            }
+            String rejection = importAccount(cursor);
+            if (rejection == null) {
+                chunk.imported++;
+            } else {
+                chunk.reject(cursor, rejection);
+            }
+        }
+    }
+
+    // Returns why the row was rejected, or null once the account is registered
+    private String importAccount(CsvCursor cursor) {
+        if (!cursor.isAccountNumber()) {
+            return "Bad account number";
+        }
+        String accountNumber = cursor.ascii();
+        if (!cursor.nextField()) {
+            return "Missing account type";
+        }
+        boolean savings = cursor.fieldEqualsIgnoreCase(SAVINGS);
+        if (!savings && !cursor.fieldEqualsIgnoreCase(CHECKING)) {
+            return "Unknown account type";
+        }
+        if (!cursor.nextField() || cursor.isEmpty()) {
+            return "Missing holder";
+        }
+        String holder = cursor.text();
+        long balance = cursor.nextField() ? cursor.cents() : CsvCursor.MALFORMED;
+        if (balance == CsvCursor.MALFORMED) {
+            return "Bad balance";
+        }
+        if (!cursor.nextField()) {
+            return savings ? "Missing interest rate" : "Missing overdraft limit";
+        }
+
+        Account account;
+        try {
+            if (savings) {
+                double rate = cursor.decimal();
+                if (Double.isNaN(rate)) {
+                    return "Bad interest rate";
+                }
+                account = bank.newSavingsAccount(accountNumber, holder, 0, rate);
+            } else {
+                long limit = cursor.cents();
+                if (limit == CsvCursor.MALFORMED) {
+                    return "Bad overdraft limit";
+                }
+                account = bank.newCheckingAccount(accountNumber, holder, 0, Money.toDollars(limit));
+            }
+            account.importBalance(balance);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return bank.registerImported(account) ? null : "Duplicate account";
+    }
+
+    // ==================== Transactions ====================
+
+    private void parseTransactions(Chunk chunk) {
+        CsvCursor cursor = new CsvCursor(chunk.data, chunk.length);
+        boolean first = chunk.first;
+
+        // Exports are usually grouped by account, so reuse the last lookup while it matches
+        Account previous = null;
+        int previousStart = 0;
+        int previousEnd = -1;
+
+        while (cursor.nextLine()) {
+            cursor.nextField();
+            if (first) {
+                first = false;
+                if (cursor.fieldEqualsIgnoreCase(HEADER)) {
+                    continue;
+                }
+            }
+            if (!cursor.isAccountNumber()) {
+                chunk.reject(cursor, "Bad account number");
+                continue;
+            }
+            if (previousEnd < 0 || !cursor.fieldEquals(previousStart, previousEnd)) {
+                previous = bank.lookup(cursor.ascii());
+                previousStart = cursor.start;
+                previousEnd = cursor.end;
+            }
+            String rejection = previous == null ? "Unknown account" : parseTransaction(cursor, previous, chunk);
+            if (rejection != null) {
+                chunk.reject(cursor, rejection);
+            }
+        }
+    }
+
+    // Returns why the row was rejected, or null once it is added to the chunk
+    private static String parseTransaction(CsvCursor cursor, Account account, Chunk chunk) {
+        int type = cursor.nextField() ? cursor.indexIn(TYPE_NAMES) : -1;
+        if (type < 0) {
+            return "Unknown transaction type";
+        }
+        long amount = cursor.nextField() ? cursor.cents() : CsvCursor.MALFORMED;
+        if (amount == CsvCursor.MALFORMED || amount < 0) {
+            return "Bad amount";
+        }
+        long balanceAfter = cursor.nextField() ? cursor.cents() : CsvCursor.MALFORMED;
+        if (balanceAfter == CsvCursor.MALFORMED) {
+            return "Bad balance";
+        }
+        long timestamp = cursor.nextField() ? cursor.epochNanos() : CsvCursor.MALFORMED;
+        if (timestamp == CsvCursor.MALFORMED) {
+            return "Bad timestamp";
+        }
+        int description = cursor.nextField() ? cursor.indexIn(DESCRIPTION_NAMES) : -1;
+        if (description < 0) {
+            return "Unknown description";
+        }
+        long argument = 0;
+        if (cursor.nextField() && !cursor.isEmpty()) {
+            argument = cursor.signedInteger();
+            if (argument == CsvCursor.MALFORMED) {
+                return "Bad description argument";
+            }
+        }
+        chunk.add(account, (byte) type, amount, balanceAfter, timestamp, (byte) description, argument);
+        return null;
+    }
+
+    // Runs on the importing thread, one chunk at a time in file order
+    private void appendTransactions(Chunk chunk) {
+        int i = 0;
+        while (i < chunk.count) {
+            Account account = chunk.accounts[i];
+            account.getLock().lock();
+            try {
+                do {
+                    Transaction.TransactionType type = TYPES[chunk.types[i]];
+                    TransactionDescription description = DESCRIPTIONS[chunk.descriptions[i]];
+                    if (account.hasTransaction(type, chunk.amounts[i], chunk.balances[i], chunk.timestamps[i],
+                            description, chunk.arguments[i])) {
+                        chunk.reject("Already imported: " + account.getAccountNumber());
+                    } else {
+                        account.importTransaction(type, chunk.amounts[i], chunk.balances[i], chunk.timestamps[i],
+                                description, chunk.arguments[i]);
+                        chunk.imported++;
+                    }
+                    i++;
+                } while (i < chunk.count && chunk.accounts[i] == account);
+            } finally {
+                account.getLock().unlock();
+            }
+        }
+    }
+
+    // ==================== Pipeline ====================
+
+    /**
+     * One import: the calling thread reads chunks and completes them in file order,
+     * while up to {@code parallelism} workers parse.
+     */
+    private final class Run {
+        private final Path file;
+        private final Consumer<Chunk> parser;
+        private final Consumer<Chunk> applier;
+        private final List<String> rejectedSamples = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private long bytesRead;
+        private long totalBytes;
+
+        Run(Path file, Consumer<Chunk> parser, Consumer<Chunk> applier) {
+            this.file = file;
+            this.parser = parser;
+            this.applier = applier;
+        }
+
+        ImportReport execute() throws IOException {
+            long started = System.nanoTime();
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r, "bank-import");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            // Two chunks per worker: one being parsed, one queued or awaiting its turn
+            Deque<Chunk> free = new ArrayDeque<>();
+            for (int i = 0; i < 2 * parallelism; i++) {
+                free.add(new Chunk(chunkSize));
+            }
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                totalBytes = channel.size();
+                byte[] carry = new byte[chunkSize]; // Partial last line of the previous chunk
+                int carried = 0;
+                boolean first = true;
+                boolean eof = false;
+                while (!eof) {
+                    if (free.isEmpty()) {
+                        free.add(complete(pending.poll()));
+                    }
+                    Chunk chunk = free.poll();
+                    chunk.reset();
+                    System.arraycopy(carry, 0, chunk.data, 0, carried);
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk.data, carried, chunkSize - carried);
+                    while (buffer.hasRemaining() && !eof) {
+                        eof = channel.read(buffer) < 0;
+                    }
+                    int filled = buffer.position();
+                    int end = eof ? filled : lastLineEnd(chunk.data, filled);
+                    if (end == 0 && !eof) {
+                        throw new IOException("Line longer than the chunk size of " + chunkSize + " bytes");
+                    }
+                    carried = filled - end;
+                    System.arraycopy(chunk.data, end, carry, 0, carried);
+                    chunk.length = end;
+                    chunk.first = first;
+                    first = false;
+                    pending.add(workers.submit(() -> {
+                        parser.accept(chunk);
+                        return chunk;
+                    }));
+                }
+                while (!pending.isEmpty()) {
+                    complete(pending.poll());
+                }
+            } finally {
+                // Even a failed import leaves its accounts published, so let parses still
+                // running finish and make what they registered durable
+                workers.shutdownNow();
+                try {
+                    workers.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                bank.awaitJournal();
+            }
+
+            if (bank.isJournaled()) {
+                bank.snapshot();
+            }
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            return new ImportReport(imported, rejected, bytesRead, elapsedMillis, rejectedSamples);
+        }
+
+        private Chunk complete(Future<Chunk> future) throws IOException {
+            Chunk chunk;
+            try {
+                chunk = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IOException("Import failed", e.getCause());
+            }
+            applier.accept(chunk);
+            imported += chunk.imported;
+            rejected += chunk.rejected;
+            bytesRead += chunk.length;
+            for (String sample : chunk.rejectedSamples) {
+                if (rejectedSamples.size() < MAX_REJECTED_SAMPLES) {
+                    rejectedSamples.add(sample);
+                }
+            }
+            ImportProgressListener progress = listener;
+            if (progress != null) {
+                progress.onProgress(imported + rejected, bytesRead, totalBytes);
+            }
+            return chunk;
+        }
+    }
+
+    // Just past the last newline, or 0 if there is none
+    private static int lastLineEnd(byte[] data, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (data[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A buffer and what was parsed from it. Pooled, so the column arrays only grow to
+     * the most rows a chunk has held.
+     */
+    private static final class Chunk {
+        private static final int INITIAL_ROWS = 1024;
+
+        final byte[] data;
+        int length;
+        boolean first;
+        long imported;
+        long rejected;
+        final List<String> rejectedSamples = new ArrayList<>();
+
+        // Transaction rows awaiting their turn to be appended
+        int count;
+        Account[] accounts = new Account[INITIAL_ROWS];
+        byte[] types = new byte[INITIAL_ROWS];
+        long[] amounts = new long[INITIAL_ROWS];
+        long[] balances = new long[INITIAL_ROWS];
+        long[] timestamps = new long[INITIAL_ROWS];
+        byte[] descriptions = new byte[INITIAL_ROWS];
+        long[] arguments = new long[INITIAL_ROWS];
+
+        Chunk(int size) {
+            this.data = new byte[size];
+        }
+
+        void reset() {
+            Arrays.fill(accounts, 0, count, null);
+            count = 0;
+            imported = 0;
+            rejected = 0;
+            rejectedSamples.clear();
+        }
+
+        void reject(CsvCursor cursor, String reason) {
+            reject(reason + ": " + cursor.line());
+        }
+
+        void reject(String sample) {
+            rejected++;
+            if (rejectedSamples.size() < MAX_REJECTED_SAMPLES) {
+                rejectedSamples.add(sample);
+            }
+        }
+
+        void add(Account account, byte type, long amount, long balanceAfter, long timestamp,
+                 byte description, long argument) {
+            if (count == accounts.length) {
+                int capacity = count * 2;
+                accounts = Arrays.copyOf(accounts, capacity);
+                types = Arrays.copyOf(types, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                balances = Arrays.copyOf(balances, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+                arguments = Arrays.copyOf(arguments, capacity);
+            }
+            accounts[count] = account;
+            types[count] = type;
+            amounts[count] = amount;
+            balances[count] = balanceAfter;
+            timestamps[count] = timestamp;
+            descriptions[count] = description;
+            arguments[count] = argument;
+            count++;
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] names(Enum<?>[] constants) {
+        byte[][] names = new byte[constants.length][];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = ascii(constants[i].name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Secondary index from case-folded holder name to that holder's accounts.
+ *
+ * Names are kept in a sorted concurrent map, so an exact lookup is O(log N) and a
+ * prefix search is a range scan over only the matching names. Each entry holds a
+ * small copy-on-write array, replaced atomically, since holders have few accounts.
+ */
+class HolderIndex {
+    private static final Account[] NO_ACCOUNTS = new Account[0];
+
+    private final ConcurrentSkipListMap<String, Account[]> byHolder = new ConcurrentSkipListMap<>();
+
+    void add(Account account) {
+        byHolder.compute(fold(account.getAccountHolder()), (name, accounts) -> {
+            Account[] current = accounts == null ? NO_ACCOUNTS : accounts;
+            Account[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = account;
+            return updated;
+        });
+    }
+
+    void remove(Account account) {
+        byHolder.computeIfPresent(fold(account.getAccountHolder()), (name, accounts) -> {
+            Account[] updated = Arrays.stream(accounts).filter(a -> a != account).toArray(Account[]::new);
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    List<Account> get(String holderName) {
+        Account[] accounts = byHolder.get(fold(holderName));
+        return accounts == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(accounts));
+    }
+
+    /**
+     * Accounts whose holder name starts with the prefix (ignoring case), in name order.
+     */
+    List<Account> getByPrefix(String prefix, int limit) {
+        List<Account> result = new ArrayList<>();
+        for (Account[] accounts : withPrefix(prefix).values()) {
+            for (Account account : accounts) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(account);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Distinct holder names starting with the prefix (ignoring case), in name order.
+     */
+    List<String> getNamesByPrefix(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        for (Account[] accounts : withPrefix(prefix).values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(accounts[0].getAccountHolder());
+        }
+        return result;
+    }
+
+    private ConcurrentNavigableMap<String, Account[]> withPrefix(String prefix) {
+        String from = fold(prefix);
+        return byHolder.subMap(from, true, from + Character.MAX_VALUE, false);
+    }
+
+    // Matches equalsIgnoreCase, which compares both upper- and lower-cased characters
+    private static String fold(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
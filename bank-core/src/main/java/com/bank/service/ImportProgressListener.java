@@ -0,0 +1,10 @@
+package com.bank.service;
+
+/**
+ * Receives progress from a CSV import after each chunk, on the importing thread.
+ * Throwing aborts the import; rows already imported stay in the bank.
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+    void onProgress(long rowsProcessed, long bytesRead, long totalBytes);
+}
@@ -0,0 +1,56 @@
+package com.bank.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import.
+ */
+public class ImportReport {
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long bytesRead;
+    private final long elapsedMillis;
+    private final List<String> rejectedSamples;
+
+    public ImportReport(long rowsImported, long rowsRejected, long bytesRead, long elapsedMillis,
+                        List<String> rejectedSamples) {
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.bytesRead = bytesRead;
+        this.elapsedMillis = elapsedMillis;
+        this.rejectedSamples = List.copyOf(rejectedSamples);
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return (rowsImported + rowsRejected) * 1000 / Math.max(1, elapsedMillis);
+    }
+
+    /**
+     * The first few rejected rows, each with the reason it was rejected.
+     */
+    public List<String> getRejectedSamples() {
+        return rejectedSamples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %,d rows (%,d rejected) in %,d ms: %,d rows/s",
+                rowsImported, rowsRejected, elapsedMillis, getRowsPerSecond());
+    }
+}
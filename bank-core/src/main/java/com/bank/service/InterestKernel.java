@@ -0,0 +1,36 @@
+package com.bank.service;
+
+/**
+ * Computes monthly interest for a batch of accounts laid out as parallel primitive
+ * arrays (balances and rates), instead of one virtual call per account object.
+ *
+ * Interest is balance times rate rounded half-even to whole cents, as the accounts
+ * round it, and zero for accounts without a positive balance. Results must stay
+ * below 2^52 cents.
+ */
+public interface InterestKernel {
+
+    /**
+     * @param balances balances in cents
+     * @param rates    rate per account for the whole posting (already compounded)
+     * @param interest receives the interest in cents
+     */
+    void computeInterest(long[] balances, double[] rates, long[] interest, int length);
+
+    /**
+     * The vector kernel when {@code jdk.incubator.vector} is available at run time,
+     * otherwise the scalar one. {@code -Dbank.interest.kernel=scalar} forces scalar.
+     */
+    static InterestKernel best() {
+        if (!"scalar".equals(System.getProperty("bank.interest.kernel"))) {
+            try {
+                // Loaded by name: the vector kernel is only compiled with the incubator module
+                return (InterestKernel) Class.forName("com.bank.service.VectorInterestKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to scalar
+            }
+        }
+        return new ScalarInterestKernel();
+    }
+}
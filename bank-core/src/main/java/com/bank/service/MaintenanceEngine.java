@@ -0,0 +1,149 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Runs a per-account task over an ordered array of accounts on a {@link ForkJoinPool}.
+ *
+ * The array is cut into fixed chunks of {@link #CHUNK_SIZE} accounts, which are split
+ * between workers recursively and each processed sequentially. A chunk first copies
+ * its balances and rates into primitive arrays and quotes everyone's interest with
+ * one {@link InterestKernel} call; the task then posts each quote under the account's
+ * lock, or recomputes it if the balance moved in between. Chunks may finish out
+ * of order, so the checkpoint callback only advances over the completed prefix: every
+ * account before the reported index is done. An engine runs once.
+ */
+class MaintenanceEngine {
+    static final int CHUNK_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final InterestKernel kernel;
+    private final MaintenanceProgressListener listener;
+    private final IntConsumer checkpoint;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder progress = new LongAdder();
+    private final LongAdder interest = new LongAdder();
+    private volatile RuntimeException failure;
+
+    // Guarded by this
+    private boolean[] chunkDone;
+    private int completedChunks;
+
+    /**
+     * @param checkpoint called, one call at a time, with the end of the completed prefix
+     */
+    MaintenanceEngine(ForkJoinPool pool, InterestKernel kernel, MaintenanceProgressListener listener,
+                      IntConsumer checkpoint) {
+        this.pool = pool;
+        this.kernel = kernel;
+        this.listener = listener;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Maintains one account given the interest quoted for it.
+     */
+    interface Task {
+        /**
+         * @return the interest posted in cents, or -1 if the account was skipped
+         */
+        long maintain(Account account, long quotedBalanceCents, long quotedInterestCents);
+    }
+
+    /**
+     * @param rate rate to quote each account at, already compounded over its periods
+     * @return {accounts processed, interest posted in cents}
+     */
+    long[] run(Account[] accounts, ToDoubleFunction<Account> rate, Task task) {
+        int chunks = (accounts.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkDone = new boolean[chunks];
+        pool.invoke(new Chunks(accounts, rate, task, 0, chunks));
+        if (failure != null) {
+            throw failure;
+        }
+        return new long[] {processed.sum(), interest.sum()};
+    }
+
+    private synchronized void chunkCompleted(int chunk, int accountCount) {
+        chunkDone[chunk] = true;
+        int before = completedChunks;
+        while (completedChunks < chunkDone.length && chunkDone[completedChunks]) {
+            completedChunks++;
+        }
+        if (completedChunks > before && checkpoint != null) {
+            checkpoint.accept(Math.min(completedChunks * CHUNK_SIZE, accountCount));
+        }
+    }
+
+    private final class Chunks extends RecursiveAction {
+        private final Account[] accounts;
+        private final ToDoubleFunction<Account> rate;
+        private final Task task;
+        private final int fromChunk;
+        private final int toChunk;
+
+        Chunks(Account[] accounts, ToDoubleFunction<Account> rate, Task task, int fromChunk, int toChunk) {
+            this.accounts = accounts;
+            this.rate = rate;
+            this.task = task;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new Chunks(accounts, rate, task, fromChunk, middle),
+                        new Chunks(accounts, rate, task, middle, toChunk));
+            } else if (toChunk > fromChunk && failure == null) {
+                try {
+                    processChunk(fromChunk);
+                } catch (RuntimeException e) {
+                    // Stop the remaining chunks; run() rethrows once all workers are done
+                    failure = e;
+                }
+            }
+        }
+
+        private void processChunk(int chunk) {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, accounts.length);
+            int length = to - from;
+
+            // Struct-of-arrays copy of the chunk, quoted in one kernel call
+            long[] balances = new long[length];
+            double[] rates = new double[length];
+            long[] quotes = new long[length];
+            for (int i = 0; i < length; i++) {
+                balances[i] = accounts[from + i].getBalanceCents();
+                rates[i] = rate.applyAsDouble(accounts[from + i]);
+            }
+            kernel.computeInterest(balances, rates, quotes, length);
+
+            long done = 0;
+            long posted = 0;
+            for (int i = 0; i < length; i++) {
+                long result = task.maintain(accounts[from + i], balances[i], quotes[i]);
+                if (result >= 0) {
+                    done++;
+                    posted += result;
+                }
+            }
+            processed.add(done);
+            interest.add(posted);
+            chunkCompleted(chunk, accounts.length);
+            progress.add(length);
+            if (listener != null) {
+                listener.onProgress(progress.sum(), accounts.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.service;
+
+/**
+ * Receives progress from a parallel maintenance run.
+ * Called from worker threads after each chunk, so implementations must be thread-safe.
+ * Throwing aborts the run; the next maintenance call resumes it from its checkpoint.
+ */
+@FunctionalInterface
+public interface MaintenanceProgressListener {
+    void onProgress(long accountsProcessed, long totalAccounts);
+}
@@ -0,0 +1,46 @@
+package com.bank.service;
+
+import com.bank.model.Money;
+
+/**
+ * Outcome of a maintenance run.
+ */
+public class MaintenanceReport {
+    private final int period;
+    private final long accountsProcessed;
+    private final long interestPostedCents;
+    private final long elapsedMillis;
+
+    public MaintenanceReport(int period, long accountsProcessed, long interestPostedCents, long elapsedMillis) {
+        this.period = period;
+        this.accountsProcessed = accountsProcessed;
+        this.interestPostedCents = interestPostedCents;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Accounts maintained by the run itself; accounts caught up early by an online
+     * operation after the cut-over are not counted.
+     */
+    public long getAccountsProcessed() {
+        return accountsProcessed;
+    }
+
+    public long getInterestPostedCents() {
+        return interestPostedCents;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Maintenance period %d: %,d accounts, %s interest in %,d ms",
+                period, accountsProcessed, Money.format(interestPostedCents), elapsedMillis);
+    }
+}
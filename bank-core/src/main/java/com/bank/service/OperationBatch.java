@@ -0,0 +1,87 @@
+package com.bank.service;
+
+import com.bank.model.Money;
+
+import java.util.Arrays;
+
+/**
+ * A packed list of deposits and withdrawals for {@link BankService#apply(OperationBatch)}.
+ *
+ * Operations are stored in parallel arrays (kind, account number, amount in cents),
+ * so a feed of hundreds of thousands of items costs no object per operation.
+ */
+public class OperationBatch {
+    public static final byte DEPOSIT = 0;
+    public static final byte WITHDRAWAL = 1;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private byte[] kinds;
+    private String[] accountNumbers;
+    private long[] amounts; // in cents
+    private int size;
+
+    public OperationBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OperationBatch(int expectedSize) {
+        int capacity = Math.max(1, expectedSize);
+        this.kinds = new byte[capacity];
+        this.accountNumbers = new String[capacity];
+        this.amounts = new long[capacity];
+    }
+
+    public OperationBatch deposit(String accountNumber, double amount) {
+        return add(DEPOSIT, accountNumber, Money.toCents(amount));
+    }
+
+    public OperationBatch withdraw(String accountNumber, double amount) {
+        return add(WITHDRAWAL, accountNumber, Money.toCents(amount));
+    }
+
+    /**
+     * Appends an operation; amounts that are not positive or over the transaction limit
+     * are kept and reported as invalid when the batch is applied.
+     */
+    public OperationBatch add(byte kind, String accountNumber, long amountCents) {
+        if (kind != DEPOSIT && kind != WITHDRAWAL) {
+            throw new IllegalArgumentException("Unknown operation kind: " + kind);
+        }
+        if (size == kinds.length) {
+            int capacity = kinds.length * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            accountNumbers = Arrays.copyOf(accountNumbers, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        kinds[size] = kind;
+        accountNumbers[size] = accountNumber;
+        amounts[size] = amountCents;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the batch for reuse, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(accountNumbers, 0, size, null);
+        size = 0;
+    }
+
+    public byte getKind(int index) {
+        return kinds[index];
+    }
+
+    public String getAccountNumber(int index) {
+        return accountNumbers[index];
+    }
+
+    public long getAmountCents(int index) {
+        return amounts[index];
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.service;
+
+/**
+ * Plain loop over the batch; also the tail loop of the vector kernel.
+ */
+public final class ScalarInterestKernel implements InterestKernel {
+
+    @Override
+    public void computeInterest(long[] balances, double[] rates, long[] interest, int length) {
+        for (int i = 0; i < length; i++) {
+            interest[i] = interest(balances[i], rates[i]);
+        }
+    }
+
+    static long interest(long balance, double rate) {
+        if (balance <= 0) {
+            return 0;
+        }
+        return Math.max(0, (long) Math.rint(balance * rate));
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,310 @@
+package com.bank.service;
+
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionDescription;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Streams an account's statement to a file or channel in constant memory.
+ *
+ * The date range is found through the history's time index and walked in primitive
+ * form (see {@link Account#forEachTransactionBetween}); each row is encoded as ASCII
+ * straight into one reused buffer, so no {@link Transaction} or string is created per
+ * row. The date of the last timestamp is cached until local midnight, and description
+ * text is cached per code and argument. Timestamps are in the system time zone, like
+ * {@link Transaction#getTimestamp()}.
+ *
+ * Not thread-safe: the buffer and caches are reused from one export to the next.
+ */
+public class StatementExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ROW_WITHOUT_DESCRIPTION = 256;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private static final byte[] CSV_HEADER =
+            ascii("transactionId,timestamp,type,amount,balanceAfter,description\n");
+    private static final byte[][] TYPE_NAMES = typeNames();
+
+    private final StatementFormat format;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long fromNanos = Long.MIN_VALUE;
+    private long toNanos = Long.MAX_VALUE;
+    private int typeMask = -1;
+
+    // Per export
+    private WritableByteChannel channel;
+    private byte[] idPrefix;
+    private long rowsWritten;
+
+    // Date of the last timestamp, valid for epoch seconds in [dateStart, dateEnd)
+    private final ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+    private final byte[] date = new byte[10];
+    private long dateStart = Long.MAX_VALUE;
+    private long dateEnd = Long.MIN_VALUE;
+    private int offsetSeconds;
+
+    // Rendered descriptions by code, with the argument they were rendered for
+    private final byte[][] descriptionText = new byte[TransactionDescription.values().length][];
+    private final long[] descriptionArgument = new long[TransactionDescription.values().length];
+
+    private final byte[] digits = new byte[24];
+
+    public StatementExporter(StatementFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Limits the statement to transactions at or after {@code from} and before {@code to};
+     * either may be null for an open end.
+     */
+    public StatementExporter between(LocalDateTime from, LocalDateTime to) {
+        this.fromNanos = from == null ? Long.MIN_VALUE : Transaction.toEpochNanos(from);
+        this.toNanos = to == null ? Long.MAX_VALUE : Transaction.toEpochNanos(to);
+        return this;
+    }
+
+    /**
+     * Limits the statement to the given transaction types; none means all.
+     */
+    public StatementExporter ofTypes(Transaction.TransactionType... types) {
+        int mask = 0;
+        for (Transaction.TransactionType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        this.typeMask = types.length == 0 ? -1 : mask;
+        return this;
+    }
+
+    /**
+     * Writes the statement to a file, replacing it, and returns the number of rows.
+     */
+    public long export(Account account, Path file) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return export(account, out);
+        }
+    }
+
+    /**
+     * Writes the statement to a channel, which is left open, and returns the number of rows.
+     * Transactions recorded while the export runs are not included.
+     */
+    public long export(Account account, WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.idPrefix = ascii(account.transactionIdPrefix() + "-");
+        this.rowsWritten = 0;
+        buffer.clear();
+        try {
+            if (format == StatementFormat.CSV) {
+                buffer.put(CSV_HEADER);
+            } else {
+                buffer.put(ascii(Transaction.getTableHeader() + "\n"));
+            }
+            account.forEachTransactionBetween(fromNanos, toNanos, this::writeRow);
+            flush();
+            return rowsWritten;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    private void writeRow(long sequence, Transaction.TransactionType type, long amount, long balanceAfter,
+                          long timestamp, TransactionDescription description, long argument) {
+        if ((typeMask & (1 << type.ordinal())) == 0) {
+            return;
+        }
+        byte[] text = describe(description, argument);
+        if (buffer.remaining() < MAX_ROW_WITHOUT_DESCRIPTION + 2 * text.length) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (format == StatementFormat.CSV) {
+            writeId(sequence, 0);
+            buffer.put((byte) ',');
+            writeTimestamp(timestamp);
+            buffer.put((byte) ',');
+            buffer.put(TYPE_NAMES[type.ordinal()]);
+            buffer.put((byte) ',');
+            writeCents(amount, 0);
+            buffer.put((byte) ',');
+            writeCents(balanceAfter, 0);
+            buffer.put((byte) ',');
+            writeCsvText(text);
+        } else {
+            // Matches Transaction.toString(): "| %-12s | %-12s | %10.2f | %12.2f | %-20s | %s |"
+            buffer.put((byte) '|').put((byte) ' ');
+            writeId(sequence, 12);
+            buffer.put((byte) ' ').put((byte) '|').put((byte) ' ');
+            writePadded(TYPE_NAMES[type.ordinal()], 12);
+            buffer.put((byte) ' ').put((byte) '|').put((byte) ' ');
+            writeCents(amount, 10);
+            buffer.put((byte) ' ').put((byte) '|').put((byte) ' ');
+            writeCents(balanceAfter, 12);
+            buffer.put((byte) ' ').put((byte) '|').put((byte) ' ');
+            writeTimestamp(timestamp);
+            pad(1);
+            buffer.put((byte) ' ').put((byte) '|').put((byte) ' ');
+            buffer.put(text);
+            buffer.put((byte) ' ').put((byte) '|');
+        }
+        buffer.put((byte) '\n');
+        rowsWritten++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Prefix plus the sequence zero-padded to four digits, as in Transaction.formatId
+    private void writeId(long sequence, int width) {
+        int start = formatDigits(sequence, 4);
+        int length = idPrefix.length + digits.length - start;
+        buffer.put(idPrefix).put(digits, start, digits.length - start);
+        pad(width - length);
+    }
+
+    // Dollars with two decimals, right-aligned in the given width
+    private void writeCents(long cents, int width) {
+        long magnitude = Math.abs(cents);
+        int start = formatDigits(magnitude / 100, 1);
+        int length = digits.length - start + 3 + (cents < 0 ? 1 : 0);
+        pad(width - length);
+        if (cents < 0) {
+            buffer.put((byte) '-');
+        }
+        buffer.put(digits, start, digits.length - start).put((byte) '.');
+        long fraction = magnitude % 100;
+        buffer.put((byte) ('0' + fraction / 10)).put((byte) ('0' + fraction % 10));
+    }
+
+    // Writes the digits right-aligned in the scratch array and returns where they start
+    private int formatDigits(long value, int minDigits) {
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0 || digits.length - i < minDigits);
+        return i;
+    }
+
+    // yyyy-MM-dd HH:mm:ss in the system time zone
+    private void writeTimestamp(long epochNanos) {
+        long second = Math.floorDiv(epochNanos, NANOS_PER_SECOND);
+        if (second < dateStart || second >= dateEnd) {
+            cacheDate(second);
+        }
+        int secondOfDay = (int) Math.floorMod(second + offsetSeconds, (long) SECONDS_PER_DAY);
+        buffer.put(date).put((byte) ' ');
+        writeTwoDigits(secondOfDay / 3600);
+        buffer.put((byte) ':');
+        writeTwoDigits(secondOfDay / 60 % 60);
+        buffer.put((byte) ':');
+        writeTwoDigits(secondOfDay % 60);
+    }
+
+    // The local date and UTC offset hold until local midnight or the zone's next transition
+    private void cacheDate(long second) {
+        Instant instant = Instant.ofEpochSecond(second);
+        offsetSeconds = zoneRules.getOffset(instant).getTotalSeconds();
+        long localDay = Math.floorDiv(second + offsetSeconds, (long) SECONDS_PER_DAY);
+        dateStart = localDay * SECONDS_PER_DAY - offsetSeconds;
+        dateEnd = dateStart + SECONDS_PER_DAY;
+        ZoneOffsetTransition previous = zoneRules.previousTransition(instant.plusSeconds(1));
+        if (previous != null) {
+            dateStart = Math.max(dateStart, previous.toEpochSecond());
+        }
+        ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+        if (next != null) {
+            dateEnd = Math.min(dateEnd, next.toEpochSecond());
+        }
+        byte[] text = ascii(LocalDate.ofEpochDay(localDay).toString());
+        if (text.length != date.length) {
+            throw new IllegalArgumentException("Timestamp out of range: " + instant);
+        }
+        System.arraycopy(text, 0, date, 0, date.length);
+    }
+
+    private void writeTwoDigits(int value) {
+        buffer.put((byte) ('0' + value / 10)).put((byte) ('0' + value % 10));
+    }
+
+    private byte[] describe(TransactionDescription description, long argument) {
+        int code = description.ordinal();
+        byte[] text = descriptionText[code];
+        if (text == null || descriptionArgument[code] != argument) {
+            text = description.render(argument).getBytes(StandardCharsets.UTF_8);
+            descriptionText[code] = text;
+            descriptionArgument[code] = argument;
+        }
+        return text;
+    }
+
+    // Quoted, with quotes doubled, only if the text contains a comma or quote
+    private void writeCsvText(byte[] text) {
+        boolean quote = false;
+        for (byte b : text) {
+            quote |= b == ',' || b == '"';
+        }
+        if (!quote) {
+            buffer.put(text);
+            return;
+        }
+        buffer.put((byte) '"');
+        for (byte b : text) {
+            if (b == '"') {
+                buffer.put((byte) '"');
+            }
+            buffer.put(b);
+        }
+        buffer.put((byte) '"');
+    }
+
+    private void writePadded(byte[] text, int width) {
+        buffer.put(text);
+        pad(width - text.length);
+    }
+
+    private void pad(int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.put((byte) ' ');
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] typeNames() {
+        Transaction.TransactionType[] types = Transaction.TransactionType.values();
+        byte[][] names = new byte[types.length][];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = ascii(types[i].name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.service;
+
+/**
+ * Layouts a {@link StatementExporter} can write.
+ */
+public enum StatementFormat {
+    /** Header line, then transactionId,timestamp,type,amount,balanceAfter,description rows. */
+    CSV,
+
+    /** The transaction table shown by the CLI, as in {@link com.bank.model.Transaction#toString()}. */
+    FIXED_WIDTH
+}
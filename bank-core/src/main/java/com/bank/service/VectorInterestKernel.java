@@ -0,0 +1,58 @@
+package com.bank.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Interest kernel on the incubating Vector API, processing a full hardware vector of
+ * accounts per step. Needs {@code --add-modules jdk.incubator.vector} both to compile
+ * and to run; {@link InterestKernel#best()} falls back to the scalar kernel without it.
+ */
+public final class VectorInterestKernel implements InterestKernel {
+    // Longs and doubles are both 64 bits, so the two species have the same lane count
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    // A double holding 2^52 + n has n as the low bits of its representation, for any
+    // integer 0 <= n < 2^52. That converts balances to doubles and rounded interest back
+    // with plain integer ops, and the addition itself rounds half-even like Math.rint.
+    // (Lane conversions and rint are not reliably intrinsified in JDK 17.)
+    private static final double TWO_52 = 0x1p52;
+    private static final long TWO_52_BITS = Double.doubleToRawLongBits(TWO_52);
+
+    @Override
+    public void computeInterest(long[] balances, double[] rates, long[] interest, int length) {
+        int i = 0;
+        int bound = LONGS.loopBound(length);
+        for (; i < bound; i += LONGS.length()) {
+            LongVector balance = LongVector.fromArray(LONGS, balances, i);
+            if (balance.compare(VectorOperators.GE, 1L << 52).anyTrue()) {
+                scalar(balances, rates, interest, i, i + LONGS.length());
+                continue;
+            }
+            DoubleVector amount = balance.or(TWO_52_BITS).reinterpretAsDoubles().sub(TWO_52);
+            DoubleVector exact = amount.mul(DoubleVector.fromArray(DOUBLES, rates, i));
+            LongVector cents = exact.add(TWO_52).reinterpretAsLongs().sub(TWO_52_BITS);
+
+            // Other lanes (non-positive balances) hold meaningless values and are zeroed
+            VectorMask<Long> earning = balance.compare(VectorOperators.GT, 0)
+                    .and(cents.compare(VectorOperators.GT, 0));
+            LongVector.zero(LONGS).blend(cents, earning).intoArray(interest, i);
+        }
+        scalar(balances, rates, interest, i, length);
+    }
+
+    private static void scalar(long[] balances, double[] rates, long[] interest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            interest[i] = ScalarInterestKernel.interest(balances[i], rates[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector (" + LONGS.length() + " lanes)";
+    }
+}
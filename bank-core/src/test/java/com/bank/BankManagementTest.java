@@ -0,0 +1,2782 @@
+package com.bank;
+
+import com.bank.exception.*;
+import com.bank.model.*;
+import com.bank.persistence.Journal;
+import com.bank.persistence.JournalRecord;
+import com.bank.persistence.MappedTransactionStore;
+import com.bank.persistence.TieredTransactionStore;
+import com.bank.server.BankHttpServer;
+import com.bank.server.BankWireClient;
+import com.bank.server.BankWireServer;
+import com.bank.server.WireProtocol;
+import com.bank.service.BankService;
+import com.bank.service.BatchResult;
+import com.bank.service.CsvImporter;
+import com.bank.service.ImportReport;
+import com.bank.service.InterestKernel;
+import com.bank.service.MaintenanceProgressListener;
+import com.bank.service.MaintenanceReport;
+import com.bank.service.OperationBatch;
+import com.bank.service.ScalarInterestKernel;
+import com.bank.service.StatementExporter;
+import com.bank.service.StatementFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mock tests for the Bank Management System.
+ * Demonstrates testing without external test frameworks.sti
+ * 
+ * Tests cover:
+ * - Account creation
+ * - Deposits and withdrawals
+ * - Transfers between accounts
+ * - Interest calculations
+ * - Overdraft handling
+ * - Exception scenarios
+ * - Concurrent access
+ * - Fixed-point money arithmetic
+ * - Journal durability and recovery
+ * - Snapshots and journal truncation
+ * - Memory-mapped transaction history
+ * - Holder name lookup and prefix search
+ * - Type-partitioned account registry
+ * - Running bank-wide totals
+ * - Parallel monthly maintenance and resumable checkpoints
+ * - Interest accrual on read
+ * - Batch interest kernels
+ * - Batch deposits and withdrawals with per-item status codes
+ * - Non-throwing operations and stackless decline exceptions
+ * - Streaming CSV import of accounts and history
+ * - Streaming statement export
+ * - Time-indexed date-range and balance-as-of queries
+ * - Tiered history with a hot ring and cached cold blocks
+ * - HTTP/JSON server
+ * - Binary wire protocol with pipelining
+ */
+public class BankManagementTest {
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("\n╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║           BANK MANAGEMENT SYSTEM - TEST SUITE                ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+
+        // Run all test categories
+        testAccountCreation();
+        testSavingsAccountOperations();
+        testCheckingAccountOperations();
+        testTransferOperations();
+        testInterestCalculations();
+        testOverdraftHandling();
+        testExceptionScenarios();
+        testTransactionHistory();
+        testConcurrency();
+        testMoney();
+        testPersistence();
+        testTransactionStore();
+        testHolderLookup();
+        testAccountRegistry();
+        testBankTotals();
+        testMaintenance();
+        testInterestAccrual();
+        testInterestKernel();
+        testBatchOperations();
+        testStatusCodes();
+        testCsvImport();
+        testStatementExport();
+        testTimeIndex();
+        testTieredHistory();
+        testHttpServer();
+        testWireProtocol();
+
+        // Print summary
+        printTestSummary();
+
+        // Non-zero exit so the build fails on a failed test
+        if (testsFailed > 0) {
+            System.exit(1);
+        }
+    }
+
+    // ==================== Account Creation Tests ====================
+    private static void testAccountCreation() {
+        printTestCategory("Account Creation");
+
+        // Test 1: Create Savings Account
+        test("Create Savings Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("John Doe", 1000.0);
+            
+            assertEqual("John Doe", account.getAccountHolder());
+            assertEqual(1000.0, account.getBalance());
+            assertEqual("Savings", account.getAccountType());
+            assertTrue(account.getAccountNumber().startsWith("SAV-"));
+        });
+
+        // Test 2: Create Checking Account
+        test("Create Checking Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Jane Doe", 500.0);
+            
+            assertEqual("Jane Doe", account.getAccountHolder());
+            assertEqual(500.0, account.getBalance());
+            assertEqual("Checking", account.getAccountType());
+            assertTrue(account.getAccountNumber().startsWith("CHK-"));
+        });
+
+        // Test 3: Create Savings Account with Custom Interest Rate
+        test("Savings Account with Custom Interest Rate", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Alice", 2000.0, 0.05);
+            
+            assertEqual(0.05, account.getInterestRate());
+        });
+
+        // Test 4: Create Checking Account with Custom Overdraft Limit
+        test("Checking Account with Custom Overdraft", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Bob", 1000.0, 1500.0);
+            
+            assertEqual(1500.0, account.getOverdraftLimit());
+        });
+    }
+
+    // ==================== Savings Account Operations ====================
+    private static void testSavingsAccountOperations() {
+        printTestCategory("Savings Account Operations");
+
+        // Test 1: Deposit to Savings
+        test("Deposit to Savings Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            account.deposit(500.0);
+            assertEqual(1500.0, account.getBalance());
+        });
+
+        // Test 2: Withdraw from Savings
+        test("Withdraw from Savings Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            account.withdraw(400.0);
+            assertEqual(600.0, account.getBalance());
+        });
+
+        // Test 3: Withdrawal counter
+        test("Savings Withdrawal Counter", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 5000.0);
+            
+            assertEqual(6, account.getRemainingWithdrawals());
+            account.withdraw(100.0);
+            assertEqual(5, account.getRemainingWithdrawals());
+        });
+
+        // Test 4: Available balance respects minimum
+        test("Savings Available Balance with Minimum", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 500.0);
+            
+            // Available should be balance minus $100 minimum
+            assertEqual(400.0, account.getAvailableBalance());
+        });
+    }
+
+    // ==================== Checking Account Operations ====================
+    private static void testCheckingAccountOperations() {
+        printTestCategory("Checking Account Operations");
+
+        // Test 1: Deposit to Checking
+        test("Deposit to Checking Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 1000.0);
+            
+            account.deposit(250.0);
+            assertEqual(1250.0, account.getBalance());
+        });
+
+        // Test 2: Withdraw from Checking
+        test("Withdraw from Checking Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 1000.0);
+            
+            account.withdraw(300.0);
+            assertEqual(700.0, account.getBalance());
+        });
+
+        // Test 3: Available balance includes overdraft
+        test("Checking Available Balance with Overdraft", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 1000.0, 500.0);
+            
+            // Available should be balance plus overdraft limit
+            assertEqual(1500.0, account.getAvailableBalance());
+        });
+    }
+
+    // ==================== Transfer Operations ====================
+    private static void testTransferOperations() {
+        printTestCategory("Transfer Operations");
+
+        // Test 1: Basic Transfer
+        test("Basic Transfer Between Accounts", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount savings = bank.createSavingsAccount("User 1", 1000.0);
+            CheckingAccount checking = bank.createCheckingAccount("User 2", 500.0);
+            
+            bank.transfer(savings.getAccountNumber(), checking.getAccountNumber(), 200.0);
+            
+            assertEqual(800.0, savings.getBalance());
+            assertEqual(700.0, checking.getBalance());
+        });
+
+        // Test 2: Transfer between same account type
+        test("Transfer Between Savings Accounts", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount acc1 = bank.createSavingsAccount("User 1", 2000.0);
+            SavingsAccount acc2 = bank.createSavingsAccount("User 2", 1000.0);
+            
+            bank.transfer(acc1.getAccountNumber(), acc2.getAccountNumber(), 500.0);
+            
+            assertEqual(1500.0, acc1.getBalance());
+            assertEqual(1500.0, acc2.getBalance());
+        });
+
+        // Test 3: Transfer to pay off overdraft
+        test("Transfer to Pay Off Overdraft", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount savings = bank.createSavingsAccount("User 1", 1000.0);
+            CheckingAccount checking = bank.createCheckingAccount("User 2", 100.0);
+            
+            // Put checking in overdraft
+            checking.withdraw(200.0); // Uses overdraft
+            assertTrue(checking.isInOverdraft());
+            
+            // Transfer to pay off
+            bank.transfer(savings.getAccountNumber(), checking.getAccountNumber(), 300.0);
+            assertFalse(checking.isInOverdraft());
+        });
+    }
+
+    // ==================== Interest Calculations ====================
+    private static void testInterestCalculations() {
+        printTestCategory("Interest Calculations");
+
+        // Test 1: Savings Interest Application
+        test("Savings Account Interest Application", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 12000.0, 0.12); // 12% annual
+            
+            account.applyInterest(); // Monthly = 1%
+            
+            // 12000 * 0.01 = 120 interest
+            assertEqual(12120.0, account.getBalance());
+            assertEqual(120.0, account.getAccumulatedInterest());
+        });
+
+        // Test 2: Checking Account Minimal Interest
+        test("Checking Account Interest (Minimal)", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 10000.0);
+            
+            double beforeBalance = account.getBalance();
+            account.applyInterest();
+            
+            // Checking earns 0.1% annual = ~0.00833% monthly
+            assertTrue(account.getBalance() >= beforeBalance);
+        });
+
+        // Test 3: Bank-wide Interest Application
+        test("Apply Interest to All Accounts", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.createSavingsAccount("User 1", 1000.0);
+            bank.createSavingsAccount("User 2", 2000.0);
+            bank.createCheckingAccount("User 3", 3000.0);
+            
+            bank.applyInterestToAllAccounts();
+            
+            // Verify all accounts have more than initial deposit
+            double total = bank.getTotalDeposits();
+            assertTrue(total > 6000.0);
+        });
+    }
+
+    // ==================== Overdraft Handling ====================
+    private static void testOverdraftHandling() {
+        printTestCategory("Overdraft Handling");
+
+        // Test 1: Enter Overdraft
+        test("Enter Overdraft on Withdrawal", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 500.0);
+            
+            account.withdraw(300.0); // $200 overdraft used + $35 fee
+            
+            assertTrue(account.isInOverdraft());
+            assertEqual(235.0, account.getCurrentOverdraft()); // 200 + 35 fee
+        });
+
+        // Test 2: Overdraft Fee Applied
+        test("Overdraft Fee Applied", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 500.0);
+            
+            account.withdraw(200.0); // Uses $100 overdraft, triggers $35 fee
+            
+            assertTrue(account.getTotalOverdraftFees() > 0);
+        });
+
+        // Test 3: Deposit Pays Off Overdraft First
+        test("Deposit Pays Off Overdraft First", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 500.0);
+            
+            account.withdraw(300.0); // Uses overdraft
+            double overdraftBefore = account.getCurrentOverdraft();
+            
+            account.deposit(100.0); // Should reduce overdraft
+            
+            assertTrue(account.getCurrentOverdraft() < overdraftBefore);
+        });
+
+        // Test 4: Full Overdraft Repayment
+        test("Full Overdraft Repayment", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 500.0);
+            
+            account.withdraw(200.0); // Uses overdraft + fee
+            double totalOwed = account.getCurrentOverdraft();
+            
+            account.deposit(totalOwed + 50.0); // Pay off plus extra
+            
+            assertFalse(account.isInOverdraft());
+            assertEqual(50.0, account.getBalance()); // Balance should match the exact calculation
+        });
+    }
+
+    // ==================== Exception Scenarios ====================
+    private static void testExceptionScenarios() {
+        printTestCategory("Exception Scenarios");
+
+        // Test 1: Insufficient Funds in Savings
+        test("Insufficient Funds - Savings (Below Minimum)", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 200.0);
+            
+            expectException(InsufficientFundsException.class, () -> {
+                account.withdraw(150.0); // Would leave less than $100 minimum
+            });
+        });
+
+        // Test 2: Insufficient Funds with Overdraft
+        test("Insufficient Funds - Exceeds Overdraft Limit", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 200.0);
+            
+            expectException(InsufficientFundsException.class, () -> {
+                account.withdraw(400.0); // Exceeds balance + overdraft
+            });
+        });
+
+        // Test 3: Invalid Amount - Negative
+        test("Invalid Amount - Negative Deposit", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            expectException(InvalidAmountException.class, () -> {
+                account.deposit(-100.0);
+            });
+        });
+
+        // Test 4: Account Not Found
+        test("Account Not Found", () -> {
+            BankService bank = new BankService("Test Bank");
+            
+            expectException(AccountNotFoundException.class, () -> {
+                bank.getAccount("INVALID-9999");
+            });
+        });
+
+        // Test 5: Transfer to Same Account
+        test("Transfer to Same Account", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            expectException(TransferException.class, () -> {
+                bank.transfer(account.getAccountNumber(), account.getAccountNumber(), 100.0);
+            });
+        });
+
+        // Test 6: Withdrawal Limit Exceeded
+        test("Savings Withdrawal Limit Exceeded", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 10000.0);
+            
+            // Make 6 withdrawals (the limit)
+            for (int i = 0; i < 6; i++) {
+                account.withdraw(100.0);
+            }
+            
+            // 7th should fail
+            expectException(WithdrawalLimitException.class, () -> {
+                account.withdraw(100.0);
+            });
+        });
+    }
+
+    // ==================== Transaction History ====================
+    private static void testTransactionHistory() {
+        printTestCategory("Transaction History");
+
+        // Test 1: Initial Deposit Recorded
+        test("Initial Deposit in Transaction History", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            assertEqual(1, account.getTransactionHistory().size());
+            assertEqual(Transaction.TransactionType.DEPOSIT, 
+                    account.getTransactionHistory().get(0).getType());
+        });
+
+        // Test 2: Multiple Transactions Recorded
+        test("Multiple Transactions Recorded", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            account.deposit(500.0);
+            account.withdraw(200.0);
+            account.deposit(100.0);
+            
+            assertEqual(4, account.getTransactionHistory().size());
+        });
+
+        // Test 3: Transaction Contains Correct Data
+        test("Transaction Data Integrity", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            account.deposit(500.0);
+            
+            Transaction lastTxn = account.getTransactionHistory().get(1);
+            
+            assertEqual(500.0, lastTxn.getAmount());
+            assertEqual(1500.0, lastTxn.getBalanceAfter());
+            assertEqual(Transaction.TransactionType.DEPOSIT, lastTxn.getType());
+        });
+
+        // Test 4: Recent Transactions Filter
+        test("Get Recent Transactions", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+            
+            for (int i = 0; i < 10; i++) {
+                account.deposit(100.0);
+            }
+            
+            assertEqual(5, account.getRecentTransactions(5).size());
+        });
+
+        // Test 5: Coded descriptions render to the familiar text on demand
+        test("Coded Descriptions Rendered Lazily", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount savings = bank.createSavingsAccount("User 1", 1000.0, 0.06);
+            CheckingAccount checking = bank.createCheckingAccount("User 2", 100.0, 500.0);
+
+            savings.withdraw(100.0);
+            savings.applyInterest();
+            checking.withdraw(150.0);
+            checking.deposit(60.0);
+
+            List<Transaction> savingsHistory = savings.getTransactionHistory();
+            List<Transaction> checkingHistory = checking.getTransactionHistory();
+            assertEqual("Initial deposit", savingsHistory.get(0).getDescription());
+            assertEqual("Withdrawal (1/6 this month)", savingsHistory.get(1).getDescription());
+            assertEqual("Monthly interest @ 6.00%", savingsHistory.get(2).getDescription());
+            assertEqual("Withdrawal (used $50.00 overdraft)", checkingHistory.get(2).getDescription());
+            assertEqual("Partial overdraft repayment ($25.00 remaining)", checkingHistory.get(3).getDescription());
+            assertTrue(savingsHistory.get(1).getTransactionId().endsWith("-0002"));
+        });
+
+        // Test 6: Recording into a mapped history does not allocate per deposit
+        test("Deposit Recording Is Allocation-Free", () -> {
+            try (MappedTransactionStore store = new MappedTransactionStore(tempDirectory("history"))) {
+                CheckingAccount account = new CheckingAccount("CHK-1", "Test User", 0.0);
+                account.moveTransactionHistory(store::newHistory);
+                for (int i = 0; i < 20000; i++) {
+                    account.deposit(1.0); // Warm up and map the first region
+                }
+
+                com.sun.management.ThreadMXBean threads =
+                        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < 20000; i++) {
+                    account.deposit(1.0);
+                }
+                long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+                assertEqual(40000, account.getTransactionCount());
+                assertTrue(allocated / 20000 < 8); // Only the occasional block-table copy
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== Concurrency ====================
+    private static void testConcurrency() {
+        printTestCategory("Concurrency");
+
+        // Test 1: Concurrent deposits are not lost
+        test("Concurrent Deposits Not Lost", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 0.0);
+            String number = account.getAccountNumber();
+
+            runConcurrently(8, 1000, () -> bank.deposit(number, 1.0));
+
+            assertEqual(8000.0, account.getBalance());
+            assertEqual(8000, account.getTransactionHistory().size());
+        });
+
+        // Test 2: Random transfers conserve money and never deadlock
+        test("Concurrent Transfers Conserve Money", () -> {
+            BankService bank = new BankService("Test Bank");
+            List<String> numbers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                // No overdraft, so no fees leave the system
+                numbers.add(bank.createCheckingAccount("User " + i, 1000.0, 0.0).getAccountNumber());
+            }
+            double totalBefore = bank.getTotalDeposits();
+
+            runConcurrently(8, 5000, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String from = numbers.get(random.nextInt(numbers.size()));
+                String to = numbers.get(random.nextInt(numbers.size()));
+                try {
+                    bank.transfer(from, to, random.nextInt(1, 200));
+                } catch (TransferException e) {
+                    // Same-account or insufficient funds - expected under load
+                }
+            });
+
+            assertEqual(totalBefore, bank.getTotalDeposits());
+            for (String number : numbers) {
+                assertTrue(bank.getAccount(number).getBalance() >= 0);
+            }
+        });
+
+        // Test 3: Lock-free hot account under concurrent deposits
+        test("Lock-Free Hot Account Deposits", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            CheckingAccount merchant = bank.createCheckingAccount("Merchant", 0.0);
+            String number = merchant.getAccountNumber();
+
+            runConcurrently(8, 2000, () -> bank.deposit(number, 0.25));
+
+            assertTrue(merchant.isLockFree());
+            assertEqual(4000.0, merchant.getBalance());
+            assertEqual(16000, merchant.getTransactionHistory().size());
+        });
+
+        // Test 4: Lock-free accounts keep savings and overdraft rules
+        test("Lock-Free Accounts Enforce Rules", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            SavingsAccount savings = bank.createSavingsAccount("Test User", 10000.0);
+            CheckingAccount checking = bank.createCheckingAccount("Test User", 100.0, 500.0);
+
+            for (int i = 0; i < 6; i++) {
+                savings.withdraw(100.0);
+            }
+            expectException(WithdrawalLimitException.class, () -> savings.withdraw(100.0));
+            savings.resetMonthlyWithdrawals();
+            expectException(InsufficientFundsException.class, () -> savings.withdraw(9350.0));
+
+            checking.withdraw(300.0); // $200 overdraft used + $35 fee
+            assertEqual(235.0, checking.getCurrentOverdraft());
+            checking.deposit(285.0);
+            assertFalse(checking.isInOverdraft());
+            assertEqual(50.0, checking.getBalance());
+            assertEqual(35.0, checking.getTotalOverdraftFees());
+        });
+
+        // Test 5: Lock-free transfers conserve money
+        test("Lock-Free Concurrent Transfers Conserve Money", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            List<String> numbers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                numbers.add(bank.createCheckingAccount("User " + i, 1000.0, 0.0).getAccountNumber());
+            }
+            double totalBefore = bank.getTotalDeposits();
+
+            runConcurrently(8, 5000, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String from = numbers.get(random.nextInt(numbers.size()));
+                String to = numbers.get(random.nextInt(numbers.size()));
+                try {
+                    bank.transfer(from, to, random.nextInt(1, 200));
+                } catch (TransferException e) {
+                    // Same-account or insufficient funds - expected under load
+                }
+            });
+
+            assertEqual(totalBefore, bank.getTotalDeposits());
+            for (String number : numbers) {
+                assertTrue(bank.getAccount(number).getBalance() >= 0);
+            }
+        });
+
+        // Test 6: Operations waiting on an account's lock while it closes are refused, not lost
+        test("Operations Racing Close Refused", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount closing = bank.createCheckingAccount("User 1", 0.0);
+            String other = bank.createCheckingAccount("User 2", 100.0).getAccountNumber();
+            String number = closing.getAccountNumber();
+            AtomicReference<Object> deposit = new AtomicReference<>();
+            AtomicReference<Object> transfer = new AtomicReference<>();
+            List<Thread> waiters = List.of(
+                    new Thread(() -> {
+                        try {
+                            bank.deposit(number, 50.0);
+                            deposit.set("completed");
+                        } catch (RuntimeException e) {
+                            deposit.set(e);
+                        }
+                    }),
+                    new Thread(() -> transfer.set(bank.tryTransfer(other, number, 25.0))));
+
+            closing.getLock().lock();
+            try {
+                waiters.forEach(Thread::start);
+                while (closing.getLock().getQueueLength() < 2) {
+                    Thread.onSpinWait();
+                }
+                bank.closeAccount(number);
+            } finally {
+                closing.getLock().unlock();
+            }
+            for (Thread waiter : waiters) {
+                try {
+                    waiter.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            assertTrue(deposit.get() instanceof AccountNotFoundException);
+            assertEqual(OperationStatus.ACCOUNT_NOT_FOUND, transfer.get());
+            assertEqual(0.0, closing.getBalance());
+            assertEqual(100.0, bank.getTotalDeposits());
+        });
+
+        // Test 7: Lock-free deposits record history while someone else holds the account lock
+        test("Lock-Free History Appends Take No Lock", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            CheckingAccount merchant = bank.createCheckingAccount("Merchant", 0.0);
+            String number = merchant.getAccountNumber();
+
+            merchant.getLock().lock();
+            try {
+                runConcurrently(8, 2000, () -> bank.deposit(number, 0.25));
+            } finally {
+                merchant.getLock().unlock();
+            }
+
+            List<Transaction> history = merchant.getTransactionHistory();
+            assertEqual(16000, history.size());
+            long total = 0;
+            for (int i = 0; i < history.size(); i++) {
+                Transaction transaction = history.get(i);
+                assertEqual((long) i + 1, transaction.getSequence());
+                assertTrue(i == 0 || history.get(i - 1).getEpochNanos() <= transaction.getEpochNanos());
+                total += transaction.getAmountCents();
+            }
+            assertEqual(400000L, total);
+        });
+
+        // Test 8: Moving a lock-free history off-heap mid-traffic loses no entries
+        test("Lock-Free History Move Under Load", () -> {
+            try (BankService bank = new BankService("Test Bank", true)) {
+                CheckingAccount merchant = bank.createCheckingAccount("Merchant", 0.0);
+                String number = merchant.getAccountNumber();
+                Thread mover = new Thread(() -> {
+                    try {
+                        bank.useMappedTransactionHistory(tempDirectory("history"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                mover.start();
+                runConcurrently(8, 2000, () -> bank.deposit(number, 0.25));
+                mover.join();
+
+                assertEqual(16000, merchant.getTransactionHistory().size());
+                bank.deposit(number, 0.25); // Now appended under the lock, to the mapped store
+                assertEqual(16001, merchant.getTransactionCount());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    // ==================== Fixed-Point Money ====================
+    private static void testMoney() {
+        printTestCategory("Fixed-Point Money");
+
+        // Test 1: Explicit rounding modes
+        test("Money Rounding Modes", () -> {
+            assertEqual(2L, Money.multiply(5, 0.5, RoundingMode.HALF_EVEN));
+            assertEqual(3L, Money.multiply(5, 0.5, RoundingMode.HALF_UP));
+            assertEqual(2L, Money.multiply(5, 0.5, RoundingMode.HALF_DOWN));
+            assertEqual(-3L, Money.multiply(-5, 0.5, RoundingMode.FLOOR));
+            assertEqual(-2L, Money.multiply(-5, 0.5, RoundingMode.DOWN));
+            assertEqual(1999L, Money.toCents(19.99));
+            assertEqual("$1,234.56", Money.ofCents(123456).toString());
+        });
+
+        // Test 2: Repeated small deposits do not drift
+        test("Totals Are Exact", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 100.0);
+
+            for (int i = 0; i < 1000; i++) {
+                account.deposit(0.10);
+            }
+
+            assertEqual(20000L, account.getBalanceCents());
+            assertEqual(20000L, bank.getTotalDepositsCents());
+        });
+
+        // Test 3: Interest rounds to whole cents
+        test("Interest Posted in Whole Cents", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount account = bank.createSavingsAccount("Test User", 1000.01, 0.025);
+
+            account.applyInterest(); // 100001 * 0.025 / 12 = 208.33 cents
+
+            assertEqual(100209L, account.getBalanceCents());
+            assertEqual(208L, account.getAccumulatedInterestCents());
+        });
+
+        // Test 4: Transaction constructors take dollars, even whole-dollar ints; cents need ofCents
+        test("Transaction Dollars Versus Cents", () -> {
+            Transaction dollars = new Transaction("T-1", Transaction.TransactionType.DEPOSIT, 50, 150, "Deposit");
+            assertEqual(5000L, dollars.getAmountCents());
+            assertEqual(150.0, dollars.getBalanceAfter());
+
+            Transaction cents = Transaction.ofCents("T-2", Transaction.TransactionType.DEPOSIT, 50, 150,
+                    LocalDateTime.now(), "Deposit");
+            assertEqual(0.5, cents.getAmount());
+            assertEqual(150L, cents.getBalanceAfterCents());
+        });
+    }
+
+    // ==================== Persistence ====================
+    private static void testPersistence() {
+        printTestCategory("Persistence");
+
+        // Test 1: Replaying the journal rebuilds every account
+        test("Journal Replay Restores State", () -> {
+            Path journal = tempFile("bank", ".journal");
+            String savingsNumber;
+            String checkingNumber;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                savingsNumber = bank.createSavingsAccount("User 1", 5000.0, 0.12).getAccountNumber();
+                checkingNumber = bank.createCheckingAccount("User 2", 100.0, 500.0).getAccountNumber();
+                String closed = bank.createCheckingAccount("User 3", 0.0).getAccountNumber();
+
+                bank.deposit(savingsNumber, 250.0);
+                bank.withdraw(savingsNumber, 50.0);
+                bank.withdraw(checkingNumber, 300.0); // Enters overdraft
+                bank.transfer(savingsNumber, checkingNumber, 100.0);
+                bank.performMonthlyMaintenance();
+                bank.closeAccount(closed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                SavingsAccount savings = (SavingsAccount) bank.getAccount(savingsNumber);
+                CheckingAccount checking = (CheckingAccount) bank.getAccount(checkingNumber);
+
+                assertEqual(2, bank.getTotalAccountCount());
+                assertEqual(5151.0, savings.getBalance()); // 5100 + 1% interest
+                assertEqual(6, savings.getRemainingWithdrawals());
+                assertEqual(135.0, checking.getCurrentOverdraft());
+                assertEqual(1, checking.getOverdraftUsageCount());
+                assertTrue(bank.createSavingsAccount("User 4", 100.0).getAccountNumber().compareTo(savingsNumber) > 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 2: Concurrent writers share fsyncs and nothing is lost
+        test("Group Commit Under Concurrency", () -> {
+            Path journal = tempFile("bank", ".journal");
+            String number;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                number = bank.createCheckingAccount("Test User", 0.0).getAccountNumber();
+                runConcurrently(8, 200, () -> bank.deposit(number, 1.0));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                assertEqual(1600.0, bank.getAccount(number).getBalance());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 3: A torn record at the tail is discarded
+        test("Torn Journal Tail Ignored", () -> {
+            Path journal = tempFile("bank", ".journal");
+            String number;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                number = bank.createSavingsAccount("Test User", 1000.0).getAccountNumber();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                Files.write(journal, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                bank.deposit(number, 10.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                assertEqual(1010.0, bank.getAccount(number).getBalance());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 4: Recovery loads the snapshot and replays only the journal tail
+        test("Snapshot Plus Journal Tail Recovery", () -> {
+            Path journal = tempFile("bank", ".journal");
+            String savingsNumber;
+            String checkingNumber;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                savingsNumber = bank.createSavingsAccount("User 1", 2000.0).getAccountNumber();
+                checkingNumber = bank.createCheckingAccount("User 2", 100.0, 500.0).getAccountNumber();
+                bank.withdraw(savingsNumber, 100.0);
+                bank.withdraw(checkingNumber, 200.0); // Enters overdraft
+                bank.snapshot();
+
+                bank.transfer(savingsNumber, checkingNumber, 50.0);
+                bank.createSavingsAccount("User 3", 700.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                SavingsAccount savings = (SavingsAccount) bank.getAccount(savingsNumber);
+                CheckingAccount checking = (CheckingAccount) bank.getAccount(checkingNumber);
+
+                assertEqual(3, bank.getTotalAccountCount());
+                assertEqual(1850.0, savings.getBalance());
+                assertEqual(4, savings.getRemainingWithdrawals());
+                assertEqual(85.0, checking.getCurrentOverdraft());
+                assertEqual(1, checking.getOverdraftUsageCount());
+                assertEqual(4, checking.getTransactionHistory().size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 5: Journal generations covered by a snapshot are deleted
+        test("Snapshot Truncates Journal", () -> {
+            Path journal = tempFile("bank", ".journal");
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                String number = bank.createCheckingAccount("Test User", 0.0).getAccountNumber();
+                for (int i = 0; i < 100; i++) {
+                    bank.deposit(number, 1.0);
+                }
+                long before = Files.size(journal);
+                bank.snapshot();
+                bank.snapshot();
+
+                assertTrue(Files.size(journal) < before);
+                try (var files = Files.list(journal.toAbsolutePath().getParent())) {
+                    String segmentPrefix = journal.getFileName() + ".";
+                    long segments = files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.startsWith(segmentPrefix) && !name.endsWith(".snapshot"))
+                        .count();
+                    assertEqual(0L, segments);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 6: A snapshot taken mid-traffic is still consistent after recovery
+        test("Snapshot During Concurrent Transfers", () -> {
+            Path journal = tempFile("bank", ".journal");
+            List<String> numbers = new ArrayList<>();
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                for (int i = 0; i < 4; i++) {
+                    numbers.add(bank.createCheckingAccount("User " + i, 1000.0, 1000.0).getAccountNumber());
+                }
+                bank.startPeriodicSnapshots(1, TimeUnit.MILLISECONDS);
+                runConcurrently(4, 200, () -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    String from = numbers.get(random.nextInt(numbers.size()));
+                    String to = numbers.get(random.nextInt(numbers.size()));
+                    if (!from.equals(to)) {
+                        try {
+                            bank.transfer(from, to, 5.0);
+                        } catch (InsufficientFundsException e) {
+                            // Acceptable under contention
+                        }
+                    }
+                });
+                bank.snapshot();
+                assertTrue(bank.getLastSnapshotFailure().isEmpty());
+                for (int i = 0; i < 10; i++) {
+                    bank.deposit(numbers.get(0), 1.0);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                double total = 0;
+                for (String number : numbers) {
+                    total += bank.getAccount(number).getBalance();
+                }
+                // Fees from entering overdraft are the only money leaving the system
+                double fees = 0;
+                for (String number : numbers) {
+                    fees += ((CheckingAccount) bank.getAccount(number)).getTotalOverdraftFees();
+                }
+                assertEqual(4010.0, Math.round((total + fees) * 100) / 100.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 7: A failing periodic snapshot is recorded, not printed or fatal to the schedule
+        test("Periodic Snapshot Failure Recorded", () -> {
+            try (BankService bank = new BankService("Test Bank")) { // Not journaled, so every snapshot fails
+                bank.startPeriodicSnapshots(1, TimeUnit.MILLISECONDS);
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (bank.getLastSnapshotFailure().isEmpty() && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                Exception first = bank.getLastSnapshotFailure().orElseThrow();
+                assertTrue(first instanceof IllegalStateException);
+                while (bank.getLastSnapshotFailure().orElseThrow() == first && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                assertTrue(bank.getLastSnapshotFailure().orElseThrow() != first); // Still running
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 8: Replay stamps history and creation with the journaled times, not the restart time
+        test("Replay Keeps Original Timestamps", () -> {
+            Path journal = tempFile("bank", ".journal");
+            LocalDateTime start = LocalDateTime.now().minusSeconds(1); // Record times are truncated to millis
+            String savingsNumber;
+            String checkingNumber;
+            int savingsCount;
+            int checkingCount;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                savingsNumber = bank.createSavingsAccount("User 1", 500.0).getAccountNumber();
+                checkingNumber = bank.createCheckingAccount("User 2", 0.0, 100.0).getAccountNumber();
+                bank.deposit(savingsNumber, 25.0);
+                bank.transfer(savingsNumber, checkingNumber, 50.0);
+                bank.withdraw(checkingNumber, 80.0); // Enters overdraft
+                savingsCount = bank.getAccount(savingsNumber).getTransactionCount();
+                checkingCount = bank.getAccount(checkingNumber).getTransactionCount();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            LocalDateTime end = LocalDateTime.now();
+
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                Account savings = bank.getAccount(savingsNumber);
+                Account checking = bank.getAccount(checkingNumber);
+                assertEqual(savingsCount, savings.getTransactionsBetween(start, end).size());
+                assertEqual(checkingCount, checking.getTransactionsBetween(start, end).size());
+                assertTrue(!savings.getCreatedAt().isBefore(start) && !savings.getCreatedAt().isAfter(end));
+                assertTrue(!checking.getCreatedAt().isAfter(end));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 9: Damage inside a closed segment fails recovery instead of skipping to the next one
+        test("Corrupt Closed Segment Fails Recovery", () -> {
+            Path journalPath = tempFile("bank", ".journal");
+            try (Journal journal = Journal.open(journalPath)) {
+                journal.replay((sequence, record) -> { });
+                journal.append(JournalRecord.createChecking("CHK-1001", "Test User", 10_000, 0));
+                journal.append(JournalRecord.deposit("CHK-1001", 500));
+                journal.rotate();
+                journal.append(JournalRecord.withdraw("CHK-1001", 200));
+                journal.awaitAllDurable();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                Path closed = journalPath.resolveSibling(journalPath.getFileName() + ".1");
+                byte[] bytes = Files.readAllBytes(closed);
+                bytes[bytes.length - 10] ^= 0x7F; // Inside the deposit frame, not at the tail of the log
+                Files.write(closed, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            expectException(UncheckedIOException.class, () -> {
+                try (BankService bank = BankService.open("Test Bank", journalPath)) {
+                    bank.getTotalAccountCount();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        });
+    }
+
+    // ==================== Transaction Store Tests ====================
+    private static void testTransactionStore() {
+        printTestCategory("Transaction Store");
+
+        // Test 1: Mapped history reads back exactly what was recorded
+        test("Mapped History Round Trip", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                bank.useMappedTransactionHistory(tempDirectory("history"));
+                CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 500.0);
+                bank.withdraw(account.getAccountNumber(), 150.0); // Fee + withdrawal
+                bank.deposit(account.getAccountNumber(), 80.25);
+
+                List<Transaction> history = account.getTransactionHistory();
+                assertEqual(4, history.size());
+                assertTrue(history.get(0).getTransactionId().endsWith("0001"));
+                assertEqual(Transaction.TransactionType.FEE, history.get(1).getType());
+                assertEqual(35.0, history.get(1).getAmount());
+                assertEqual("Overdraft fee", history.get(1).getDescription());
+                assertEqual(80.25, history.get(3).getAmount());
+                assertEqual(history.get(3).getTransactionId(), account.getRecentTransactions(1).get(0).getTransactionId());
+                assertTrue(!history.get(0).getTimestamp().isAfter(history.get(3).getTimestamp()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 2: Long interleaved histories spanning many blocks stay separate and ordered
+        test("Mapped History Across Blocks", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                bank.useMappedTransactionHistory(tempDirectory("history"));
+                String first = bank.createCheckingAccount("User 1", 0.0).getAccountNumber();
+                String second = bank.createCheckingAccount("User 2", 0.0).getAccountNumber();
+                for (int i = 1; i <= 10000; i++) {
+                    bank.deposit(first, 1.0);
+                    if (i % 3 == 0) {
+                        bank.deposit(second, 2.0);
+                    }
+                }
+
+                List<Transaction> history = bank.getAccount(first).getTransactionHistory();
+                assertEqual(10000, history.size());
+                for (int i = 0; i < history.size(); i++) {
+                    if (history.get(i).getBalanceAfterCents() != (i + 1) * 100L) {
+                        throw new AssertionError("Unexpected balance at entry " + i);
+                    }
+                }
+                assertEqual(3333, bank.getAccount(second).getTransactionHistory().size());
+                assertEqual(6666.0, bank.getAccount(second).getRecentTransactions(1).get(0).getBalanceAfter());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 3: Existing accounts move their history when the store is enabled
+        test("Existing History Moved Off-Heap", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                SavingsAccount account = bank.createSavingsAccount("Test User", 1000.0);
+                bank.withdraw(account.getAccountNumber(), 100.0);
+                String description = account.getTransactionHistory().get(1).getDescription();
+
+                bank.useMappedTransactionHistory(tempDirectory("history"));
+                bank.deposit(account.getAccountNumber(), 50.0);
+
+                assertEqual(3, account.getTransactionHistory().size());
+                assertEqual(description, account.getTransactionHistory().get(1).getDescription());
+                assertEqual(950.0, account.getTransactionHistory().get(2).getBalanceAfter());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== Holder Lookup Tests ====================
+    private static void testHolderLookup() {
+        printTestCategory("Holder Lookup");
+
+        // Test 1: Exact lookup ignores case
+        test("Accounts By Holder Ignores Case", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.createSavingsAccount("Alice Smith", 100.0);
+            bank.createCheckingAccount("ALICE SMITH", 100.0);
+            bank.createCheckingAccount("Alice Smithson", 100.0);
+
+            assertEqual(2, bank.getAccountsByHolder("alice smith").size());
+            assertEqual(0, bank.getAccountsByHolder("Bob").size());
+        });
+
+        // Test 2: Prefix search returns matches in name order, up to the limit
+        test("Holder Prefix Search", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.createSavingsAccount("Carol White", 100.0);
+            bank.createSavingsAccount("Alice Smith", 100.0);
+            bank.createCheckingAccount("alice jones", 100.0);
+            bank.createCheckingAccount("Alicia Keys", 100.0);
+
+            assertEqual(List.of("alice jones", "Alice Smith", "Alicia Keys"),
+                    bank.getHolderNamesByPrefix("ALI", 10));
+            assertEqual(2, bank.getAccountsByHolderPrefix("alice", 10).size());
+            assertEqual(1, bank.getAccountsByHolderPrefix("ali", 1).size());
+            assertEqual(0, bank.getAccountsByHolderPrefix("Zed", 10).size());
+        });
+
+        // Test 3: Closing an account removes it from the index
+        test("Closed Account Leaves Holder Index", () -> {
+            BankService bank = new BankService("Test Bank");
+            String kept = bank.createCheckingAccount("Dave Brown", 0.0).getAccountNumber();
+            String closed = bank.createCheckingAccount("Dave Brown", 0.0).getAccountNumber();
+            bank.createCheckingAccount("Erin Black", 0.0);
+            bank.closeAccount(closed);
+
+            List<Account> accounts = bank.getAccountsByHolder("dave brown");
+            assertEqual(1, accounts.size());
+            assertEqual(kept, accounts.get(0).getAccountNumber());
+
+            bank.closeAccount(kept);
+            assertEqual(0, bank.getHolderNamesByPrefix("Dave", 10).size());
+        });
+    }
+
+    // ==================== Account Registry Tests ====================
+    private static void testAccountRegistry() {
+        printTestCategory("Account Registry");
+
+        // Test 1: Type partitions and counts track creation and closing
+        test("Type Partitions Track Accounts", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.createSavingsAccount("User 1", 100.0);
+            bank.createSavingsAccount("User 2", 100.0);
+            String checking = bank.createCheckingAccount("User 3", 0.0).getAccountNumber();
+
+            assertEqual(2, bank.getSavingsAccountCount());
+            assertEqual(1, bank.getCheckingAccountCount());
+            assertEqual(2, bank.getSavingsAccounts().size());
+
+            bank.closeAccount(checking);
+            assertEqual(0, bank.getCheckingAccountCount());
+            assertEqual(0, bank.getCheckingAccounts().size());
+        });
+
+        // Test 2: Views are live, shared and read-only
+        test("Type Views Are Live And Read-Only", () -> {
+            BankService bank = new BankService("Test Bank");
+            Collection<SavingsAccount> savings = bank.getSavingsAccountsView();
+            assertTrue(savings == bank.getSavingsAccountsView());
+            assertEqual(0, savings.size());
+
+            bank.createSavingsAccount("User 1", 100.0);
+            bank.createCheckingAccount("User 2", 100.0);
+            assertEqual(1, savings.size());
+            assertEqual(1, bank.getCheckingAccountsView().size());
+
+            expectException(UnsupportedOperationException.class, savings::clear);
+        });
+    }
+
+    // ==================== Bank Totals Tests ====================
+    private static void testBankTotals() {
+        printTestCategory("Bank Totals");
+
+        // Test 1: Running totals follow every kind of balance change
+        test("Running Totals Match Balances", () -> {
+            BankService bank = new BankService("Test Bank");
+            SavingsAccount savings = bank.createSavingsAccount("User 1", 1000.0, 0.12);
+            CheckingAccount checking = bank.createCheckingAccount("User 2", 100.0, 500.0);
+            String empty = bank.createCheckingAccount("User 3", 0.0).getAccountNumber();
+
+            bank.withdraw(checking.getAccountNumber(), 300.0); // Overdraft + fee
+            bank.transfer(savings.getAccountNumber(), checking.getAccountNumber(), 50.0);
+            savings.deposit(25.0); // Direct account calls are counted too
+            bank.performMonthlyMaintenance();
+            bank.closeAccount(empty);
+
+            Map<String, Double> summary = bank.getAccountBalanceSummary();
+            assertEqual(savings.getBalance(), (double) summary.get("Total Savings"));
+            assertEqual(checking.getBalance(), (double) summary.get("Total Checking"));
+            assertEqual(185.0, (double) summary.get("Total Overdraft Used"));
+            assertEqual(sumOfBalancesCents(bank), bank.getTotalDepositsCents());
+            assertEqual(1, bank.getCheckingAccountCount());
+        });
+
+        // Test 2: Concurrent lock-free writers do not lose updates
+        test("Running Totals Under Concurrency", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            String savings = bank.createSavingsAccount("User 1", 1000.0).getAccountNumber();
+            String checking = bank.createCheckingAccount("User 2", 0.0, 1000.0).getAccountNumber();
+
+            runConcurrently(8, 500, () -> {
+                bank.deposit(savings, 1.0);
+                try {
+                    bank.withdraw(checking, 0.5);
+                } catch (InsufficientFundsException e) {
+                    // Overdraft limit reached
+                }
+            });
+
+            assertEqual(sumOfBalancesCents(bank), bank.getTotalDepositsCents());
+            assertEqual(((CheckingAccount) bank.getAccount(checking)).getCurrentOverdraftCents(),
+                    Money.toCents(bank.getAccountBalanceSummary().get("Total Overdraft Used")));
+        });
+
+        // Test 3: Totals are rebuilt on recovery
+        test("Running Totals After Recovery", () -> {
+            Path journal = tempFile("bank", ".journal");
+            long expected;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                String number = bank.createCheckingAccount("User 1", 500.0).getAccountNumber();
+                bank.createSavingsAccount("User 2", 700.0);
+                bank.snapshot();
+                bank.withdraw(number, 800.0);
+                expected = sumOfBalancesCents(bank);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                assertEqual(expected, bank.getTotalDepositsCents());
+                assertEqual(1, bank.getSavingsAccountCount());
+                assertEqual(1, bank.getCheckingAccountCount());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== Maintenance Tests ====================
+    private static void testMaintenance() {
+        printTestCategory("Maintenance");
+
+        // Test 1: A parallel run maintains every account exactly once
+        test("Parallel Maintenance Run", () -> {
+            BankService bank = new BankService("Test Bank");
+            for (int i = 0; i < 5000; i++) {
+                bank.createSavingsAccount("User " + i, 1000.0, 0.12);
+            }
+            AtomicLong progress = new AtomicLong();
+            MaintenanceReport report = bank.performMonthlyMaintenance(ForkJoinPool.commonPool(),
+                    (processed, total) -> progress.accumulateAndGet(processed, Math::max));
+
+            assertEqual(1, report.getPeriod());
+            assertEqual(5000L, report.getAccountsProcessed());
+            assertEqual(5000L * 1000, report.getInterestPostedCents());
+            assertEqual(5000L, progress.get());
+            for (Account account : bank.getAllAccounts()) {
+                assertEqual(1010.0, account.getBalance());
+                assertEqual(1L, interestEntries(account));
+            }
+        });
+
+        // Test 2: Touching an account after the cut-over maintains it first, once
+        test("Catch-Up After Cut-Over", () -> {
+            BankService bank = new BankService("Test Bank");
+            for (int i = 0; i < 3000; i++) {
+                bank.createSavingsAccount("User " + i, 1000.0, 0.12);
+            }
+            AtomicBoolean touched = new AtomicBoolean();
+            ForkJoinPool pool = new ForkJoinPool(1);
+            MaintenanceReport report;
+            try {
+                // The first chunk's callback deposits into every account, mostly ahead of the run
+                report = bank.performMonthlyMaintenance(pool, (processed, total) -> {
+                    if (touched.compareAndSet(false, true)) {
+                        for (Account account : bank.getAllAccounts()) {
+                            bank.deposit(account.getAccountNumber(), 100.0);
+                        }
+                    }
+                });
+            } finally {
+                pool.shutdown();
+            }
+
+            assertTrue(report.getAccountsProcessed() < 3000); // Caught-up accounts are skipped
+            assertEqual(report.getAccountsProcessed() * 1000, report.getInterestPostedCents());
+            for (Account account : bank.getAllAccounts()) {
+                assertEqual(1110.0, account.getBalance()); // Interest on the cut-over balance
+                assertEqual(1L, interestEntries(account));
+            }
+        });
+
+        // Test 3: Online traffic during a run is neither lost nor double-credited
+        test("Maintenance With Concurrent Deposits", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            List<String> numbers = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                numbers.add(bank.createSavingsAccount("User " + i, 1000.0, 0.0).getAccountNumber());
+            }
+            Thread maintenance = new Thread(bank::performMonthlyMaintenance);
+            maintenance.start();
+            runConcurrently(4, 2000, () -> {
+                String number = numbers.get(ThreadLocalRandom.current().nextInt(numbers.size()));
+                bank.deposit(number, 1.0);
+            });
+            try {
+                maintenance.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted while waiting for maintenance");
+            }
+
+            assertEqual((2000L * 1000 + 4 * 2000) * 100, bank.getTotalDepositsCents());
+            assertEqual(bank.getTotalDepositsCents(), sumOfBalancesCents(bank));
+            for (Account account : bank.getAllAccounts()) {
+                assertEqual(1, account.getMaintenancePeriod());
+            }
+        });
+
+        // Test 4: Rerunning after a failure finishes the same period instead of crediting again
+        test("Interrupted Run Resumes", () -> {
+            BankService bank = new BankService("Test Bank");
+            for (int i = 0; i < 3000; i++) {
+                bank.createSavingsAccount("User " + i, 1000.0, 0.12);
+            }
+            expectException(IllegalStateException.class, () ->
+                    bank.performMonthlyMaintenance(ForkJoinPool.commonPool(), failAfterFirstChunk()));
+            assertTrue(bank.hasInterruptedMaintenance());
+
+            MaintenanceReport report = bank.performMonthlyMaintenance();
+            assertEqual(1, report.getPeriod());
+            assertTrue(report.getAccountsProcessed() < 3000);
+            assertTrue(!bank.hasInterruptedMaintenance());
+            for (Account account : bank.getAllAccounts()) {
+                assertEqual(1010.0, account.getBalance());
+                assertEqual(1L, interestEntries(account));
+            }
+        });
+
+        // Test 5: The journaled high-water mark lets a restarted bank skip finished chunks
+        test("Resume After Restart", () -> {
+            Path journal = tempFile("bank", ".journal");
+            runInterruptedMaintenance(journal, false);
+            assertResumedOnce(journal);
+        });
+
+        // Test 6: The checkpoint also survives in the snapshot header
+        test("Resume After Snapshot", () -> {
+            Path journal = tempFile("bank", ".journal");
+            runInterruptedMaintenance(journal, true);
+            assertResumedOnce(journal);
+        });
+    }
+
+    // ==================== Interest Accrual Tests ====================
+    private static void testInterestAccrual() {
+        printTestCategory("Interest Accrual");
+
+        // Test 1: Month-end skips dormant accounts; a read posts every missed month at once
+        test("Accrued Interest Posted On Read", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.setInterestAccrual(true);
+            String number = bank.createSavingsAccount("User 1", 1000.0, 0.12).getAccountNumber();
+            for (int month = 0; month < 3; month++) {
+                assertEqual(0L, bank.performMonthlyMaintenance().getAccountsProcessed());
+            }
+
+            Account account = bank.getAccount(number);
+            assertEqual(1030.30, account.getBalance()); // 1000 * 1.01^3, rounded once
+            assertEqual(1L, interestEntries(account));
+            assertEqual("Interest for 3 months @ 12.00%", account.getRecentTransactions(1).get(0).getDescription());
+            assertEqual(sumOfBalancesCents(bank), bank.getTotalDepositsCents());
+        });
+
+        // Test 2: A change catches up first, including a missed withdrawal counter reset
+        test("Accrued Interest Posted On Change", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.setInterestAccrual(true);
+            SavingsAccount savings = bank.createSavingsAccount("User 1", 1000.0, 0.12);
+            bank.withdraw(savings.getAccountNumber(), 100.0);
+            bank.withdraw(savings.getAccountNumber(), 100.0);
+            bank.performMonthlyMaintenance();
+            bank.applyInterestToAllAccounts(); // Interest-only period
+
+            bank.deposit(savings.getAccountNumber(), 100.0);
+            assertEqual(6, savings.getRemainingWithdrawals());
+            assertEqual(916.08, savings.getBalance()); // 800 * 1.01^2 + 100
+            assertEqual(2, savings.getMaintenancePeriod());
+        });
+
+        // Test 3: Catch-ups are journaled, so recovery lands on the same balances
+        test("Accrued Interest After Recovery", () -> {
+            Path journal = tempFile("bank", ".journal");
+            String active;
+            String dormant;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                bank.setInterestAccrual(true);
+                active = bank.createSavingsAccount("User 1", 1000.0, 0.12).getAccountNumber();
+                dormant = bank.createSavingsAccount("User 2", 1000.0, 0.12).getAccountNumber();
+                bank.performMonthlyMaintenance();
+                bank.performMonthlyMaintenance();
+                bank.deposit(active, 100.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                bank.setInterestAccrual(true);
+                bank.performMonthlyMaintenance();
+                assertEqual(1131.30, bank.getAccount(active).getBalance()); // (1020.10 + 100) * 1.01
+                assertEqual(1030.30, bank.getAccount(dormant).getBalance());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 4: Every lookup catches up, so they all report the same balance
+        test("Accrued Interest Posted On Lookup", () -> {
+            for (int lookup = 0; lookup < 4; lookup++) {
+                BankService bank = new BankService("Test Bank");
+                bank.setInterestAccrual(true);
+                bank.createSavingsAccount("Jane Doe", 1000.0, 0.12);
+                bank.performMonthlyMaintenance();
+
+                Account account = switch (lookup) {
+                    case 0 -> bank.getAllAccounts().get(0);
+                    case 1 -> bank.getAccountsByHolder("Jane Doe").get(0);
+                    case 2 -> bank.getAccountsByHolderPrefix("jane", 10).get(0);
+                    default -> bank.getSavingsAccounts().get(0);
+                };
+                assertEqual(1010.0, account.getBalance());
+            }
+        });
+
+        // Test 5: Interest totals catch up; the live views do not until something else does
+        test("Accrued Interest In Totals Not Views", () -> {
+            BankService bank = new BankService("Test Bank");
+            bank.setInterestAccrual(true);
+            bank.createSavingsAccount("Jane Doe", 1000.0, 0.12);
+            bank.performMonthlyMaintenance();
+
+            SavingsAccount viewed = bank.getSavingsAccountsView().iterator().next();
+            assertEqual(1000.0, viewed.getBalance());
+            assertEqual(10.0, bank.calculateTotalInterestEarned());
+            assertEqual(1010.0, viewed.getBalance());
+        });
+    }
+
+    // ==================== Interest Kernel Tests ====================
+    private static void testInterestKernel() {
+        printTestCategory("Interest Kernel");
+
+        // Test 1: Batch kernels round exactly like the per-account path
+        test("Kernels Match Per-Account Interest", () -> {
+            int length = 10_001; // Not a multiple of any vector width
+            long[] balances = new long[length];
+            double[] rates = new double[length];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < length; i++) {
+                balances[i] = random.nextLong(-1_000_000, 100_000_000_000L);
+                rates[i] = random.nextDouble(0, 0.2) / 12;
+            }
+            balances[0] = 0;
+            balances[1] = 50; // 0.5 cents rounds to even
+            balances[2] = 1L << 53; // Beyond the vector kernel's fast path
+
+            for (InterestKernel kernel : List.of(new ScalarInterestKernel(), InterestKernel.best())) {
+                long[] interest = new long[length];
+                kernel.computeInterest(balances, rates, interest, length);
+                for (int i = 0; i < length; i++) {
+                    long expected = balances[i] > 0
+                            ? Math.max(0, Money.multiply(balances[i], rates[i], RoundingMode.HALF_EVEN)) : 0;
+                    assertEqual(expected, interest[i]);
+                }
+            }
+        });
+
+        // Test 2: A quote is only posted while the balance it was computed from holds
+        test("Stale Interest Quote Rejected", () -> {
+            SavingsAccount savings = new SavingsAccount("SAV-001", "Test User", 1000.0, 0.12);
+            CheckingAccount checking = new LockFreeCheckingAccount("CHK-001", "Test User", 1000.0);
+
+            assertTrue(!savings.postInterest(90_000, 1000, 1));
+            assertTrue(!checking.postInterest(90_000, 1000, 1));
+            assertEqual(1000.0, savings.getBalance());
+            assertEqual(1000.0, checking.getBalance());
+
+            assertTrue(savings.postInterest(100_000, 1000, 1));
+            assertTrue(checking.postInterest(100_000, 1000, 1));
+            assertEqual(1010.0, savings.getBalance());
+            assertEqual(1010.0, checking.getBalance());
+        });
+    }
+
+    // ==================== Batch Operation Tests ====================
+    private static void testBatchOperations() {
+        printTestCategory("Batch Operations");
+
+        // Test 1: Each item gets its own status and failures do not stop the batch
+        test("Batch Reports Status Per Item", () -> {
+            BankService bank = new BankService("Test Bank");
+            String savings = bank.createSavingsAccount("User 1", 1000.0).getAccountNumber();
+            String checking = bank.createCheckingAccount("User 2", 100.0, 500.0).getAccountNumber();
+
+            OperationBatch batch = new OperationBatch(2)
+                    .deposit(savings, 250.0)
+                    .withdraw(checking, 550.0) // Into overdraft
+                    .withdraw(savings, 1200.0) // Below the minimum balance
+                    .deposit("SAV-MISSING", 10.0)
+                    .deposit(checking, -5.0)
+                    .withdraw(checking, 100.0); // Past the overdraft limit
+            BatchResult result = bank.apply(batch);
+
+            assertEqual(6, result.size());
+            assertEqual(OperationStatus.OK, result.getStatus(0));
+            assertEqual(OperationStatus.OK, result.getStatus(1));
+            assertEqual(OperationStatus.INSUFFICIENT_FUNDS, result.getStatus(2));
+            assertEqual(OperationStatus.ACCOUNT_NOT_FOUND, result.getStatus(3));
+            assertEqual(OperationStatus.INVALID_AMOUNT, result.getStatus(4));
+            assertEqual(OperationStatus.INSUFFICIENT_FUNDS, result.getStatus(5));
+            assertEqual(2, result.getSucceeded());
+            assertEqual(1250.0, bank.getAccount(savings).getBalance());
+            assertEqual(-485.0, bank.getAccount(checking).getBalance()); // Includes the overdraft fee
+        });
+
+        // Test 2: Operations on one account run in batch order
+        test("Batch Keeps Per-Account Order", () -> {
+            BankService bank = new BankService("Test Bank");
+            String savings = bank.createSavingsAccount("User 1", 100.0).getAccountNumber();
+
+            OperationBatch batch = new OperationBatch();
+            batch.deposit(savings, 500.0);
+            for (int i = 0; i < 7; i++) {
+                batch.withdraw(savings, 10.0);
+            }
+            BatchResult result = bank.apply(batch);
+
+            assertTrue(result.isSuccess(6));
+            assertEqual(OperationStatus.WITHDRAWAL_LIMIT, result.getStatus(7)); // Seventh withdrawal
+            assertEqual(540.0, bank.getAccount(savings).getBalance());
+        });
+
+        // Test 3: A journaled batch is durable and replays like single operations
+        test("Journaled Batch Replays", () -> {
+            Path journal = tempFile("bank", ".journal");
+            List<String> numbers = new ArrayList<>();
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                for (int i = 0; i < 50; i++) {
+                    numbers.add(bank.createCheckingAccount("User " + i, 100.0).getAccountNumber());
+                }
+                OperationBatch batch = new OperationBatch(10_000);
+                for (int i = 0; i < 10_000; i++) {
+                    String number = numbers.get(i % numbers.size());
+                    if ((i / numbers.size()) % 2 == 0) {
+                        batch.deposit(number, 3.0);
+                    } else {
+                        batch.withdraw(number, 1.0);
+                    }
+                }
+                assertEqual(10_000, bank.apply(batch).getSucceeded());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                for (String number : numbers) {
+                    assertEqual(300.0, bank.getAccount(number).getBalance()); // 100 + 100 * (3 - 1)
+                }
+                assertEqual(15_000.0, bank.getTotalDeposits());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== Status Code Tests ====================
+    private static void testStatusCodes() {
+        printTestCategory("Status Codes");
+
+        // Test 1: Declines come back as codes, leave the account untouched, and explain themselves
+        test("Try Operations Return Status Codes", () -> {
+            BankService bank = new BankService("Test Bank");
+            String savings = bank.createSavingsAccount("User 1", 200.0).getAccountNumber();
+            String checking = bank.createCheckingAccount("User 2", 100.0, 200.0).getAccountNumber();
+
+            assertEqual(OperationStatus.INSUFFICIENT_FUNDS, bank.tryWithdraw(savings, 150.0));
+            assertEqual(OperationStatus.INSUFFICIENT_FUNDS, bank.tryWithdraw(checking, 400.0));
+            assertEqual(OperationStatus.INVALID_AMOUNT, bank.tryDeposit(savings, -5.0));
+            assertEqual(OperationStatus.ACCOUNT_NOT_FOUND, bank.tryWithdraw("CHK-MISSING", 1.0));
+            assertEqual(200.0, bank.getAccount(savings).getBalance());
+            assertEqual(100.0, bank.getAccount(checking).getBalance());
+            assertTrue(bank.declineReason(checking, OperationStatus.INSUFFICIENT_FUNDS, 400.0)
+                    .equals("Cannot withdraw $400.00. Available (incl. overdraft): $300.00"));
+
+            assertEqual(OperationStatus.OK, bank.tryDeposit(savings, 1000.0));
+            for (int i = 0; i < 6; i++) {
+                assertEqual(OperationStatus.OK, bank.tryWithdraw(savings, 10.0));
+            }
+            assertEqual(OperationStatus.WITHDRAWAL_LIMIT, bank.tryWithdraw(savings, 10.0));
+            assertEqual(1140.0, bank.getAccount(savings).getBalance());
+        });
+
+        // Test 2: Transfers report the same codes and the throwing variant keeps its exceptions
+        test("Try Transfer Returns Status Codes", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            String from = bank.createCheckingAccount("User 1", 100.0, 0.0).getAccountNumber();
+            String to = bank.createCheckingAccount("User 2", 0.0).getAccountNumber();
+
+            assertEqual(OperationStatus.SAME_ACCOUNT, bank.tryTransfer(from, from, 10.0));
+            assertEqual(OperationStatus.ACCOUNT_NOT_FOUND, bank.tryTransfer(from, "CHK-MISSING", 10.0));
+            assertEqual(OperationStatus.INVALID_AMOUNT, bank.tryTransfer(from, to, 0.0));
+            assertEqual(OperationStatus.INSUFFICIENT_FUNDS, bank.tryTransfer(from, to, 150.0));
+            assertEqual(OperationStatus.OK, bank.tryTransfer(from, to, 60.0));
+            assertEqual(40.0, bank.getAccount(from).getBalance());
+            assertEqual(60.0, bank.getAccount(to).getBalance());
+
+            expectException(TransferException.class, () -> bank.transfer(from, to, 50.0));
+            expectException(AccountNotFoundException.class, () -> bank.transfer("CHK-MISSING", to, 1.0));
+        });
+
+        // Test 3: Decline exceptions skip the stack trace but still carry their message
+        test("Decline Exceptions Are Stackless", () -> {
+            SavingsAccount account = new SavingsAccount("SAV-001", "Test User", 200.0);
+            try {
+                account.withdraw(150.0);
+                throw new AssertionError("Expected InsufficientFundsException");
+            } catch (InsufficientFundsException e) {
+                assertEqual(0, e.getStackTrace().length);
+                assertTrue(e.getMessage().endsWith("Available: $100.00"));
+            }
+            try {
+                account.deposit(-1.0);
+                throw new AssertionError("Expected InvalidAmountException");
+            } catch (InvalidAmountException e) {
+                assertEqual(0, e.getStackTrace().length);
+                assertTrue(e.getMessage().equals("Amount must be positive"));
+            }
+        });
+    }
+
+    // ==================== CSV Import Tests ====================
+    private static void testCsvImport() {
+        printTestCategory("CSV Import");
+
+        // Test 1: Accounts import with quoted fields, and bad or duplicate rows are reported
+        test("Import Accounts From CSV", () -> {
+            BankService bank = new BankService("Test Bank");
+            String csv = ("accountNumber,type,holder,balance,interestRateOrOverdraftLimit\r\n"
+                    + "SAV-1001,Savings,\"Smith, John\",5000.00,0.025\r\n"
+                    + "CHK-1002,checking,\"Jane \"\"JD\"\" Doe\",-120.5,500\r\n"
+                    + "\r\n"
+                    + "SAV-1001,Savings,Someone Else,10.00,0.01\n"
+                    + "CHK-1003,Checking,Over Limit,-900.00,500\n"
+                    + "BAD,Savings,Nobody,1.00,0.01\n"
+                    + "SAV-1004,Savings,Nobody,12.345,0.01\n"
+                    + "SAV-1005,Bond,Nobody,1.00,0.01\n"
+                    + "SAV-1006,Savings,Last Row,42.00,0.02");
+
+            ImportReport report = importAccounts(importer(bank), csv);
+            assertEqual(3L, report.getRowsImported());
+            assertEqual(5L, report.getRowsRejected());
+            assertEqual(5, report.getRejectedSamples().size());
+            assertTrue(report.getRejectedSamples().get(0).startsWith("Duplicate account"));
+
+            Account savings = bank.getAccount("SAV-1001");
+            assertTrue(savings.getAccountHolder().equals("Smith, John"));
+            assertEqual(5000.0, savings.getBalance());
+            assertEqual(0.025, ((SavingsAccount) savings).getInterestRate());
+            CheckingAccount checking = (CheckingAccount) bank.getAccount("CHK-1002");
+            assertTrue(checking.getAccountHolder().equals("Jane \"JD\" Doe"));
+            assertEqual(-120.5, checking.getBalance());
+            assertEqual(379.5, checking.getAvailableBalance());
+            assertEqual(42.0, bank.getAccount("SAV-1006").getBalance());
+            assertEqual(3, bank.getAllAccounts().size());
+
+            // Imported numbers are not issued again
+            assertTrue(!bank.createSavingsAccount("New User", 10.0).getAccountNumber().equals("SAV-1001"));
+        });
+
+        // Test 2: History is appended in file order, across chunks and workers, without moving balances
+        test("Import Transaction History In Order", () -> {
+            BankService bank = new BankService("Test Bank");
+            StringBuilder accounts = new StringBuilder();
+            StringBuilder history = new StringBuilder("accountNumber,type,amount,balanceAfter,timestamp,description\n");
+            for (int a = 0; a < 20; a++) {
+                accounts.append("SAV-").append(2000 + a).append(",Savings,User ").append(a).append(",100.00,0.01\n");
+            }
+            for (int i = 0; i < 5000; i++) {
+                history.append("SAV-").append(2000 + (i / 5) % 20).append(",DEPOSIT,1.00,")
+                        .append(i).append(".00,").append(1_700_000_000_000L + i).append(",CASH_DEPOSIT\n");
+            }
+            history.append("SAV-9999,DEPOSIT,1.00,1.00,1700000000000,CASH_DEPOSIT\n")
+                    .append("SAV-2000,DEPOSIT,1.00,1.00,yesterday,CASH_DEPOSIT\n");
+
+            CsvImporter importer = new CsvImporter(bank, 4, 4096);
+            importAccounts(importer, accounts.toString());
+            AtomicLong lastProgress = new AtomicLong();
+            importer.setProgressListener((rows, bytes, total) -> lastProgress.set(rows));
+            ImportReport report = importTransactions(importer, history.toString());
+
+            assertEqual(5000L, report.getRowsImported());
+            assertEqual(2L, report.getRowsRejected());
+            assertEqual(5002L, lastProgress.get());
+            for (int a = 0; a < 20; a++) {
+                Account account = bank.getAccount("SAV-" + (2000 + a));
+                assertEqual(100.0, account.getBalance());
+                assertEqual(250, account.getTransactionHistory().size());
+                long previous = -1;
+                for (Transaction transaction : account.getTransactionHistory()) {
+                    assertTrue(transaction.getBalanceAfterCents() > previous);
+                    previous = transaction.getBalanceAfterCents();
+                }
+            }
+            assertTrue(report.getRejectedSamples().get(0).startsWith("Unknown account"));
+            assertTrue(report.getRejectedSamples().get(1).startsWith("Bad timestamp"));
+        });
+
+        // Test 3: ISO timestamps and description arguments survive the import, on lock-free accounts too
+        test("Import Parses Timestamps And Descriptions", () -> {
+            BankService bank = new BankService("Test Bank", true);
+            CsvImporter importer = importer(bank);
+            importAccounts(importer, "CHK-3001,Checking,Jane Doe,-120.50,500\nSAV-3002,Savings,John Doe,75.25,0.02\n");
+            assertEqual(-120.5, bank.getAccount("CHK-3001").getBalance());
+            assertEqual(75.25, bank.getAccount("SAV-3002").getBalance());
+            importTransactions(importer,
+                    "CHK-3001,WITHDRAWAL,620.50,-120.50,2024-01-31T09:30:00.250Z,OVERDRAFT_WITHDRAWAL,12050\n");
+
+            Transaction transaction = bank.getAccount("CHK-3001").getTransactionHistory().get(0);
+            assertTrue(transaction.getType() == Transaction.TransactionType.WITHDRAWAL);
+            assertEqual(62050L, transaction.getAmountCents());
+            assertEqual(-12050L, transaction.getBalanceAfterCents());
+            assertTrue(transaction.getTimestamp().toString().equals("2024-01-31T09:30:00.250"));
+            assertTrue(transaction.getDescription().equals("Withdrawal (used $120.50 overdraft)"));
+            assertEqual(OperationStatus.OK, bank.tryDeposit("CHK-3001", 20.5));
+            assertEqual(-100.0, bank.getAccount("CHK-3001").getBalance());
+        });
+
+        // Test 4: A journaled bank snapshots after each import, so imports survive a restart
+        test("Imported Accounts Survive Restart", () -> {
+            Path journal = tempFile("bank-import", ".journal");
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                CsvImporter importer = importer(bank);
+                importAccounts(importer, "SAV-4001,Savings,User 1,250.00,0.03\nCHK-4002,Checking,User 2,-50.00,100\n");
+                importTransactions(importer, "SAV-4001,DEPOSIT,250.00,250.00,1700000000000,INITIAL_DEPOSIT\n");
+                bank.deposit("SAV-4001", 50.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                assertEqual(300.0, bank.getAccount("SAV-4001").getBalance());
+                assertEqual(2, bank.getAccount("SAV-4001").getTransactionHistory().size());
+                assertEqual(-50.0, bank.getAccount("CHK-4002").getBalance());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 5: Accounts published by a failed import are journaled, so transfers to them replay
+        test("Failed Import Leaves Accounts Durable", () -> {
+            Path journal = tempFile("bank-import", ".journal");
+            String existing;
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                existing = bank.createSavingsAccount("User 0", 500.0).getAccountNumber();
+                String csv = "CHK-5001,Checking,User 1,-50.00,100\n"
+                        + "SAV-5002,Savings," + "x".repeat(2000) + ",1.00,0.01\n"; // Longer than a chunk
+                expectException(UncheckedIOException.class, () -> importAccounts(importer(bank), csv));
+                bank.transfer(existing, "CHK-5001", 80.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                assertEqual(420.0, bank.getAccount(existing).getBalance());
+                assertEqual(30.0, bank.getAccount("CHK-5001").getBalance());
+                assertEqual(2, bank.getAccount("CHK-5001").getTransactionHistory().size()); // Repayment, deposit
+                assertEqual(45000L, bank.getTotalDepositsCents());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 6: Rerunning both imports after an interruption skips what the bank already holds
+        test("Interrupted Import Rerunnable", () -> {
+            Path journal = tempFile("bank-import", ".journal");
+            String accounts = "CHK-6001,Checking,User 1,70.00,0\n";
+            String history = "CHK-6001,DEPOSIT,100.00,100.00,1700000000000,DEPOSIT\n"
+                    + "CHK-6001,WITHDRAWAL,50.00,50.00,1700000060000,WITHDRAWAL\n"
+                    + "CHK-6001,DEPOSIT,20.00,70.00,1700000120000,DEPOSIT\n";
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                importAccounts(importer(bank), accounts);
+                importTransactions(importer(bank), history.substring(0, history.indexOf("CHK", 60))); // First two rows
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                assertEqual(1L, importAccounts(importer(bank), accounts).getRowsRejected());
+                ImportReport report = importTransactions(importer(bank), history);
+                assertEqual(1L, report.getRowsImported());
+                assertEqual(2L, report.getRowsRejected());
+                assertTrue(report.getRejectedSamples().get(0).startsWith("Already imported"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (BankService bank = BankService.open("Test Bank", journal)) {
+                List<Transaction> entries = bank.getAccount("CHK-6001").getTransactionHistory();
+                assertEqual(3, entries.size());
+                assertEqual(70.0, entries.get(2).getBalanceAfter());
+                assertEqual(70.0, bank.getAccount("CHK-6001").getBalance());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static CsvImporter importer(BankService bank) {
+        return new CsvImporter(bank, 2, 1024);
+    }
+
+    private static ImportReport importAccounts(CsvImporter importer, String csv) {
+        try {
+            return importer.importAccounts(Files.writeString(tempFile("bank-accounts", ".csv"), csv));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ImportReport importTransactions(CsvImporter importer, String csv) {
+        try {
+            return importer.importTransactions(Files.writeString(tempFile("bank-history", ".csv"), csv));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== Statement Export Tests ====================
+    private static void testStatementExport() {
+        printTestCategory("Statement Export");
+
+        // Test 1: The fixed-width layout is the CLI table, byte for byte
+        test("Fixed-Width Statement Matches Table Rows", () -> {
+            BankService bank = new BankService("Test Bank");
+            CheckingAccount account = bank.createCheckingAccount("Test User", 100.0, 500.0);
+            bank.withdraw(account.getAccountNumber(), 150.0); // Fee + withdrawal
+            bank.deposit(account.getAccountNumber(), 1234.56);
+
+            StringBuilder expected = new StringBuilder(Transaction.getTableHeader()).append('\n');
+            for (Transaction transaction : account.getTransactionHistory()) {
+                expected.append(transaction).append('\n');
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long rows = exportStatement(new StatementExporter(StatementFormat.FIXED_WIDTH), account, out);
+            assertEqual((long) account.getTransactionCount(), rows);
+            assertEqual(expected.toString(), out.toString());
+        });
+
+        // Test 2: CSV rows honour the date range and type filters
+        test("CSV Statement Filters By Date And Type", () -> {
+            BankService bank = new BankService("Test Bank");
+            Account account = bank.createSavingsAccount("Test User", 0.0);
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+            account.getLock().lock();
+            try {
+                for (int day = 0; day < 60; day++) {
+                    long timestamp = Transaction.toEpochNanos(start.plusDays(day).plusHours(9).plusSeconds(day));
+                    boolean deposit = day % 2 == 0;
+                    account.importTransaction(deposit ? Transaction.TransactionType.DEPOSIT
+                                    : Transaction.TransactionType.WITHDRAWAL, 1050, day * 100L - 2500,
+                            timestamp, deposit ? TransactionDescription.CASH_DEPOSIT
+                                    : TransactionDescription.CASH_WITHDRAWAL, 0);
+                }
+            } finally {
+                account.getLock().unlock();
+            }
+
+            StatementExporter exporter = new StatementExporter(StatementFormat.CSV)
+                    .between(LocalDateTime.of(2024, 1, 10, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0))
+                    .ofTypes(Transaction.TransactionType.WITHDRAWAL);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEqual(11L, exportStatement(exporter, account, out));
+            String[] lines = out.toString().split("\n");
+            assertEqual(12, lines.length);
+            assertEqual("transactionId,timestamp,type,amount,balanceAfter,description", lines[0]);
+            assertEqual("SAV--0010,2024-01-10 09:00:09,WITHDRAWAL,10.50,-16.00,Cash withdrawal", lines[1]);
+            assertEqual("SAV--0030,2024-01-30 09:00:29,WITHDRAWAL,10.50,4.00,Cash withdrawal", lines[11]);
+
+            // The same exporter can be reused with its filters widened
+            out.reset();
+            assertEqual(60L, exportStatement(exporter.between(null, null).ofTypes(), account, out));
+        });
+
+        // Test 3: A long memory-mapped history streams to a file through the small reused buffer
+        test("Statement Streams Long History To File", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                bank.useMappedTransactionHistory(tempDirectory("history"));
+                String number = bank.createCheckingAccount("Test User", 0.0, 500.0).getAccountNumber();
+                for (int i = 0; i < 20000; i++) {
+                    bank.deposit(number, 1.25);
+                }
+                bank.withdraw(number, 25500.0);
+                Account account = bank.getAccount(number);
+
+                Path file = tempFile("statement", ".csv");
+                long rows = new StatementExporter(StatementFormat.CSV).export(account, file);
+                List<String> lines = Files.readAllLines(file);
+                assertEqual(20002L, rows);
+                assertEqual(20003, lines.size());
+                assertTrue(lines.get(1).startsWith("CHK--0001,"));
+                assertTrue(lines.get(1).endsWith(",DEPOSIT,1.25,1.25,Deposit"));
+                assertTrue(lines.get(20002).endsWith(",WITHDRAWAL,25500.00,0.00,Withdrawal (used $500.00 overdraft)"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static long exportStatement(StatementExporter exporter, Account account, ByteArrayOutputStream out) {
+        try {
+            return exporter.export(account, Channels.newChannel(out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== Time Index Tests ====================
+    private static void testTimeIndex() {
+        printTestCategory("Time Index");
+
+        // Test 1: Range and balance-as-of lookups on a history recorded in time order
+        test("Date Range And Balance As Of", () -> {
+            Account account = new SavingsAccount("SAV-001", "Test User", 0.0);
+            LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+            long[] timestamps = new long[1000];
+            for (int i = 0; i < timestamps.length; i++) {
+                timestamps[i] = Transaction.toEpochNanos(start.plusHours(i));
+            }
+            appendHistory(account, timestamps);
+
+            List<Transaction> day = account.getTransactionsBetween(start.plusDays(10), start.plusDays(11));
+            assertEqual(24, day.size());
+            assertEqual(241L, day.get(0).getSequence());
+            assertEqual(264L, day.get(23).getSequence());
+            assertEqual(0, account.getTransactionsBetween(start.minusDays(1), start).size());
+            assertEqual(1000, account.getTransactionsBetween(start, start.plusYears(1)).size());
+
+            assertEqual(0.0, account.getBalanceAsOf(start));
+            assertEqual(0.0, account.getBalanceAsOf(start.plusMinutes(30))); // First entry records 0.00
+            assertEqual(1.0, account.getBalanceAsOf(start.plusHours(1).plusMinutes(30)));
+            assertEqual(1.0, account.getBalanceAsOf(start.plusHours(2))); // Exclusive of the instant itself
+            assertEqual(999.0, account.getBalanceAsOf(start.plusYears(1)));
+        });
+
+        // Test 2: Out-of-order timestamps still give exact answers, in memory and memory-mapped
+        test("Out Of Order History Matches A Full Scan", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                bank.useMappedTransactionHistory(tempDirectory("history"));
+                Account mapped = bank.createSavingsAccount("Mapped User", 0.0);
+                Account inMemory = new SavingsAccount("SAV-002", "Test User", 0.0);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] timestamps = new long[5000];
+                for (int i = 0; i < timestamps.length; i++) {
+                    // Mostly increasing, with an unsorted stretch in the middle
+                    timestamps[i] = i >= 2000 && i < 2100 ? random.nextLong(0, 5000L) : i * 10L;
+                }
+                appendHistory(mapped, timestamps);
+                appendHistory(inMemory, timestamps);
+
+                for (int query = 0; query < 200; query++) {
+                    long from = random.nextLong(-100, 51000);
+                    long to = from + random.nextLong(0, 5000);
+                    List<Long> expected = new ArrayList<>();
+                    long expectedBalance = 0;
+                    for (int i = 0; i < timestamps.length; i++) {
+                        if (timestamps[i] >= from && timestamps[i] < to) {
+                            expected.add(i + 1L);
+                        }
+                        if (timestamps[i] < from) {
+                            expectedBalance = i * 100L;
+                        }
+                    }
+                    for (Account account : List.of(mapped, inMemory)) {
+                        List<Long> actual = new ArrayList<>();
+                        account.forEachTransactionBetween(from, to,
+                                (sequence, type, amount, balanceAfter, timestamp, description, argument) ->
+                                        actual.add(sequence));
+                        assertTrue(expected.equals(actual));
+                        assertEqual(expectedBalance, account.getBalanceCentsAsOf(from));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== Tiered History Tests ====================
+    private static void testTieredHistory() {
+        printTestCategory("Tiered History");
+
+        // Test 1: Entries read back identically from the ring and the compressed segment
+        test("Tiered History Round Trip", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                CheckingAccount existing = bank.createCheckingAccount("User 1", 100.0, 500.0);
+                bank.withdraw(existing.getAccountNumber(), 150.0); // Fee + withdrawal, moved into the store
+                TieredTransactionStore store = bank.useTieredTransactionHistory(tempDirectory("tiered"), 64, 1 << 20);
+                String second = bank.createSavingsAccount("User 2", 0.0).getAccountNumber();
+                for (int i = 1; i <= 3000; i++) {
+                    bank.deposit(existing.getAccountNumber(), 1.0);
+                    if (i % 3 == 0) {
+                        bank.deposit(second, 2.0);
+                    }
+                }
+
+                List<Transaction> history = existing.getTransactionHistory();
+                assertEqual(3003, history.size());
+                assertEqual("Overdraft fee", history.get(1).getDescription());
+                for (int i = 3; i < history.size(); i++) {
+                    assertEqual(1.0, history.get(i).getAmount());
+                    assertEqual((long) i + 1, history.get(i).getSequence());
+                }
+                assertEqual(1000, bank.getAccount(second).getTransactionHistory().size());
+                assertEqual(2.0, bank.getAccount(second).getTransactionHistory().get(0).getAmount());
+                assertEqual(history.get(3002).getTransactionId(),
+                        existing.getRecentTransactions(1).get(0).getTransactionId());
+
+                // Everything but the last hot window and a partial block went to disk, compressed
+                assertTrue(store.getColdEntries() >= 3000 - 2 * (64 + 256));
+                assertTrue(store.getSegmentBytes() < store.getColdEntries() * 34);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 2: Cold reads stay within the cache budget, and date lookups page in only what they need
+        test("Cold Blocks Cached Within Budget", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                TieredTransactionStore store = bank.useTieredTransactionHistory(tempDirectory("tiered"), 16, 32 * 1024);
+                Account account = bank.createSavingsAccount("Test User", 0.0);
+                long[] timestamps = new long[20000];
+                for (int i = 0; i < timestamps.length; i++) {
+                    timestamps[i] = 1_000_000L * i;
+                }
+                appendHistory(account, timestamps);
+
+                for (int pass = 0; pass < 2; pass++) {
+                    long[] total = new long[1];
+                    account.forEachTransaction((sequence, type, amount, balanceAfter, timestamp, description,
+                                                argument) -> total[0] += balanceAfter);
+                    assertEqual(100L * 19999 * 20000 / 2, total[0]);
+                }
+                assertTrue(store.getCacheBytes() <= 32 * 1024);
+
+                long misses = store.getCacheMisses();
+                assertEqual(500000L, account.getBalanceCentsAsOf(5_000_000_000L + 1));
+                assertEqual(10, account.getTransactionsBetween(Transaction.fromEpochNanos(7_000_000_000L),
+                        Transaction.fromEpochNanos(7_010_000_000L)).size());
+                assertTrue(store.getCacheMisses() - misses <= 4);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 3: Readers racing appends never see a ring slot that is being reused
+        test("Concurrent Reads During Spills", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                bank.useTieredTransactionHistory(tempDirectory("tiered"), 8, 64 * 1024);
+                Account account = bank.createSavingsAccount("Test User", 0.0);
+                AtomicBoolean failed = new AtomicBoolean();
+                AtomicLong appended = new AtomicLong();
+                runConcurrently(4, 1, () -> {
+                    if (appended.getAndIncrement() == 0) {
+                        for (int i = 0; i < 20000; i++) {
+                            account.getLock().lock();
+                            try {
+                                account.importTransaction(Transaction.TransactionType.DEPOSIT, i, i, i,
+                                        TransactionDescription.DEPOSIT, 0);
+                            } finally {
+                                account.getLock().unlock();
+                            }
+                        }
+                    } else {
+                        for (int read = 0; read < 200; read++) {
+                            account.forEachTransaction((sequence, type, amount, balanceAfter, timestamp,
+                                                        description, argument) -> {
+                                if (amount != sequence - 1 || timestamp != amount) {
+                                    failed.set(true);
+                                }
+                            });
+                        }
+                    }
+                });
+                assertTrue(!failed.get());
+                assertEqual(20000, account.getTransactionCount());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 4: Irregular entries survive the columnar encoding unchanged
+        test("Segment Encoding Round Trip", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                bank.useTieredTransactionHistory(tempDirectory("tiered"), 16, 1 << 20);
+                Account account = bank.createSavingsAccount("Test User", 0.0);
+                Transaction.TransactionType[] types = Transaction.TransactionType.values();
+                TransactionDescription[] descriptions = TransactionDescription.values();
+                Random random = new Random(42);
+                int count = 3000;
+                long[][] expected = new long[5][count];
+                account.getLock().lock();
+                try {
+                    for (int i = 0; i < count; i++) {
+                        expected[0][i] = random.nextInt(types.length) * 100 + random.nextInt(descriptions.length);
+                        expected[1][i] = i % 97 == 0 ? Long.MAX_VALUE - i : random.nextInt(200_000) - 1000;
+                        expected[2][i] = i % 89 == 0 ? Long.MIN_VALUE + i : random.nextLong() >> random.nextInt(64);
+                        expected[3][i] = 1_700_000_000_000_000_000L + random.nextInt(1_000_000) * 1000L; // Unordered
+                        expected[4][i] = i % 7 == 0 ? random.nextLong() : i % 3;
+                        account.importTransaction(types[(int) expected[0][i] / 100], expected[1][i], expected[2][i],
+                                expected[3][i], descriptions[(int) expected[0][i] % 100], expected[4][i]);
+                    }
+                } finally {
+                    account.getLock().unlock();
+                }
+                AtomicLong mismatches = new AtomicLong();
+                account.forEachTransaction((sequence, type, amount, balanceAfter, timestamp, description, argument) -> {
+                    int i = (int) sequence - 1;
+                    if (type.ordinal() * 100 + description.ordinal() != expected[0][i] || amount != expected[1][i]
+                            || balanceAfter != expected[2][i] || timestamp != expected[3][i]
+                            || argument != expected[4][i]) {
+                        mismatches.incrementAndGet();
+                    }
+                });
+                assertEqual(0L, mismatches.get());
+                assertEqual(count, account.getTransactionCount());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 5: Regular history (whole-dollar deposits, weekly withdrawals, monthly interest)
+        // takes a tenth of its 34-byte raw size on disk
+        test("Segments Ten Times Smaller", () -> {
+            try (BankService bank = new BankService("Test Bank")) {
+                TieredTransactionStore store = bank.useTieredTransactionHistory(tempDirectory("tiered"), 16, 1 << 20);
+                Account account = bank.createSavingsAccount("Test User", 0.0);
+                long balance = 0;
+                account.getLock().lock();
+                try {
+                    for (int day = 0; day < 3000; day++) {
+                        long timestamp = 1_700_000_000_000_000_000L + day * 86_400_000_000_000L;
+                        if (day % 30 == 29) {
+                            long interest = balance / 100;
+                            balance += interest;
+                            account.importTransaction(Transaction.TransactionType.INTEREST, interest, balance,
+                                    timestamp, TransactionDescription.MONTHLY_INTEREST, Double.doubleToLongBits(0.12));
+                        } else if (day % 7 == 6) {
+                            balance -= 20_000;
+                            account.importTransaction(Transaction.TransactionType.WITHDRAWAL, 20_000, balance,
+                                    timestamp, TransactionDescription.WITHDRAWAL, 0);
+                        } else {
+                            balance += 5_000 + (day % 4) * 100;
+                            account.importTransaction(Transaction.TransactionType.DEPOSIT, 5_000 + (day % 4) * 100,
+                                    balance, timestamp, TransactionDescription.DEPOSIT, 0);
+                        }
+                    }
+                } finally {
+                    account.getLock().unlock();
+                }
+                assertTrue(store.getColdEntries() >= 2560);
+                assertTrue(store.getSegmentBytes() * 10 <= store.getColdEntries() * 34);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Deposits of $1.00 at the given times; entry i records a balance of i dollars
+    private static void appendHistory(Account account, long[] timestamps) {
+        account.getLock().lock();
+        try {
+            for (int i = 0; i < timestamps.length; i++) {
+                account.importTransaction(Transaction.TransactionType.DEPOSIT, 100, i * 100L, timestamps[i],
+                        TransactionDescription.DEPOSIT, 0);
+            }
+        } finally {
+            account.getLock().unlock();
+        }
+    }
+
+    // ==================== HTTP Server Tests ====================
+    private static void testHttpServer() {
+        printTestCategory("HTTP Server");
+        BankHttpServer.enableNoDelay(); // As Main's serve path does, before the first server
+
+        // Test 1: Endpoints map onto bank operations, with declines and bad requests as status codes
+        test("HTTP Account Operations", () -> {
+            BankService bank = new BankService("Test Bank");
+            try (BankHttpServer server = new BankHttpServer(bank, new InetSocketAddress("127.0.0.1", 0), 4)) {
+                server.start();
+                HttpClient http = HttpClient.newHttpClient();
+                String url = "http://127.0.0.1:" + server.getPort();
+
+                HttpResponse<String> created = http(http, "POST", url + "/accounts",
+                        "{\"type\": \"savings\", \"holder\": \"Jane \\\"JD\\\" Doe\", \"initialDeposit\": 100}");
+                assertEqual(201, created.statusCode());
+                assertTrue(created.body().contains("\"holder\":\"Jane \\\"JD\\\" Doe\""));
+                String savings = bank.getAccountsByHolder("Jane \"JD\" Doe").get(0).getAccountNumber();
+                String checking = bank.createCheckingAccount("John Doe", 50.0, 100.0).getAccountNumber();
+
+                HttpResponse<String> deposited = http(http, "POST", url + "/accounts/" + savings + "/deposit",
+                        "{\"amount\": 25.5}");
+                assertEqual(200, deposited.statusCode());
+                assertTrue(deposited.body().contains("\"balance\":125.50"));
+                assertEqual(422, http(http, "POST", url + "/accounts/" + savings + "/withdraw",
+                        "{\"amount\": 5000}").statusCode());
+                assertEqual(404, http(http, "GET", url + "/accounts/SAV-9999", null).statusCode());
+                assertEqual(400, http(http, "POST", url + "/accounts/" + savings + "/deposit",
+                        "{\"amount\": }").statusCode());
+                assertEqual(400, http(http, "POST", url + "/accounts/" + savings + "/deposit",
+                        "{\"amount\": -5}").statusCode());
+                assertEqual(405, http(http, "GET", url + "/accounts/" + savings + "/deposit", null).statusCode());
+
+                HttpResponse<String> transferred = http(http, "POST", url + "/transfers",
+                        "{\"from\": \"" + checking + "\", \"to\": \"" + savings + "\", \"amount\": 120}");
+                assertEqual(200, transferred.statusCode());
+                assertEqual(245.50, bank.getAccount(savings).getBalance());
+                assertEqual(422, http(http, "POST", url + "/transfers",
+                        "{\"from\": \"" + savings + "\", \"to\": \"" + savings + "\", \"amount\": 1}").statusCode());
+
+                HttpResponse<String> history = http(http, "GET",
+                        url + "/accounts/" + savings + "/transactions?limit=2", null);
+                assertEqual(200, history.statusCode());
+                assertTrue(history.body().contains("\"amount\":25.50"));
+                assertTrue(history.body().contains("\"amount\":120.00,\"balanceAfter\":245.50"));
+                assertTrue(!history.body().contains("Initial deposit"));
+                assertTrue(http(http, "GET", url + "/bank", null).body().contains("\"accounts\":2"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 2: Concurrent clients on one account lose no deposits
+        test("HTTP Concurrent Deposits", () -> {
+            BankService bank = new BankService("Test Bank");
+            String account = bank.createSavingsAccount("Test User", 0.0).getAccountNumber();
+            try (BankHttpServer server = new BankHttpServer(bank, new InetSocketAddress("127.0.0.1", 0), 8)) {
+                server.start();
+                HttpClient http = HttpClient.newHttpClient();
+                String url = "http://127.0.0.1:" + server.getPort() + "/accounts/" + account + "/deposit";
+                AtomicLong failures = new AtomicLong();
+                runConcurrently(8, 50, () -> {
+                    if (http(http, "POST", url, "{\"amount\": 1.00}").statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                });
+                assertEqual(0L, failures.get());
+                assertEqual(400.0, bank.getAccount(account).getBalance());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 3: Date ranges come back in capped pages
+        test("HTTP Range Pages", () -> {
+            BankService bank = new BankService("Test Bank");
+            try (BankHttpServer server = new BankHttpServer(bank, new InetSocketAddress("127.0.0.1", 0), 4)) {
+                server.start();
+                HttpClient http = HttpClient.newHttpClient();
+                String account = bank.createCheckingAccount("Test User", 0.0).getAccountNumber();
+                for (int i = 0; i < 10_001; i++) {
+                    bank.getAccount(account).deposit(1.0);
+                }
+                String range = "http://127.0.0.1:" + server.getPort() + "/accounts/" + account
+                        + "/transactions?from=2000-01-01T00:00:00";
+
+                String first = http(http, "GET", range, null).body();
+                assertEqual(10_000, first.split("\"transactionId\"").length - 1);
+                assertTrue(first.endsWith("],\"nextAfter\":10000}"));
+                String second = http(http, "GET", range + "&after=10000", null).body();
+                assertEqual(1, second.split("\"transactionId\"").length - 1);
+                assertTrue(second.endsWith("]}"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 4: Oversized bodies and unexpected failures still get a status, not a reset
+        test("HTTP Oversized And Failing Requests", () -> {
+            Path journal = tempFile("bank-http", ".journal");
+            try (BankService bank = BankService.open("Test Bank", journal);
+                 BankHttpServer server = new BankHttpServer(bank, new InetSocketAddress("127.0.0.1", 0), 4)) {
+                server.start();
+                HttpClient http = HttpClient.newHttpClient();
+                String account = bank.createCheckingAccount("Test User", 0.0).getAccountNumber();
+                String deposit = "http://127.0.0.1:" + server.getPort() + "/accounts/" + account + "/deposit";
+
+                assertEqual(413, http(http, "POST", deposit, "{\"amount\": 1" + " ".repeat(70_000) + "}").statusCode());
+                bank.close(); // Journal appends now fail
+                assertEqual(500, http(http, "POST", deposit, "{\"amount\": 1}").statusCode());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== Wire Protocol Tests ====================
+    private static void testWireProtocol() {
+        printTestCategory("Wire Protocol");
+
+        // Test 1: Each operation round trips, with declines as status codes
+        test("Wire Operations Round Trip", () -> {
+            BankService bank = new BankService("Test Bank");
+            String savings = bank.createSavingsAccount("Jane Doe", 500.0).getAccountNumber();
+            String checking = bank.createCheckingAccount("John Doe", 100.0, 50.0).getAccountNumber();
+            try (BankWireServer server = new BankWireServer(bank, new InetSocketAddress("127.0.0.1", 0), 2);
+                 BankWireClient client = startWireClient(server)) {
+                assertEqual(OperationStatus.OK, client.deposit(savings, 2_550));
+                assertEqual(OperationStatus.INSUFFICIENT_FUNDS, client.withdraw(checking, 100_000));
+                assertEqual(OperationStatus.INVALID_AMOUNT, client.deposit(savings, -1));
+                assertEqual(OperationStatus.ACCOUNT_NOT_FOUND, client.deposit("SAV-9999", 100));
+                assertEqual(OperationStatus.OK, client.transfer(checking, savings, 12_000));
+                assertEqual(OperationStatus.SAME_ACCOUNT, client.transfer(savings, savings, 100));
+                assertEqual(64_550L, client.getBalanceCents(savings));
+                assertEqual(bank.getAccount(checking).getBalanceCents(), client.getBalanceCents(checking));
+                expectException(AccountNotFoundException.class, () -> {
+                    try {
+                        client.getBalanceCents("CHK-9999");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                List<Transaction> expected = bank.getAccount(checking).getRecentTransactions(10);
+                List<Transaction> received = client.getRecentTransactions(checking, 10);
+                assertEqual(expected.size(), received.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEqual(expected.get(i).toString(), received.get(i).toString());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 2: Pipelined requests answer in order, exactly as if sent one at a time
+        test("Pipelined Requests In Order", () -> {
+            BankService bank = new BankService("Test Bank");
+            BankService reference = new BankService("Reference Bank");
+            String[] accounts = new String[3];
+            for (int i = 0; i < accounts.length; i++) {
+                accounts[i] = bank.createCheckingAccount("User " + i, 100.0, 100.0).getAccountNumber();
+                reference.createCheckingAccount("User " + i, 100.0, 100.0);
+            }
+            Random random = new Random(7);
+            try (BankWireServer server = new BankWireServer(bank, new InetSocketAddress("127.0.0.1", 0), 1);
+                 BankWireClient client = startWireClient(server)) {
+                byte[] expected = new byte[5000];
+                int received = 0;
+                for (int i = 0; i < expected.length; i++) {
+                    String account = accounts[random.nextInt(accounts.length)];
+                    String other = accounts[random.nextInt(accounts.length)];
+                    long cents = 1 + random.nextInt(15_000);
+                    switch (random.nextInt(3)) {
+                        case 0 -> {
+                            client.sendDeposit(account, cents);
+                            expected[i] = reference.tryDeposit(account, cents / 100.0);
+                        }
+                        case 1 -> {
+                            client.sendWithdraw(account, cents);
+                            expected[i] = reference.tryWithdraw(account, cents / 100.0);
+                        }
+                        default -> {
+                            client.sendTransfer(account, other, cents);
+                            expected[i] = reference.tryTransfer(account, other, cents / 100.0);
+                        }
+                    }
+                    if (client.getOutstanding() == 1000) {
+                        while (client.getOutstanding() > 0) {
+                            assertEqual(expected[received++], client.receiveStatus());
+                        }
+                    }
+                }
+                while (client.getOutstanding() > 0) {
+                    assertEqual(expected[received++], client.receiveStatus());
+                }
+                assertEqual(expected.length, received);
+                for (String account : accounts) {
+                    assertEqual(reference.getAccount(account).getBalanceCents(), client.getBalanceCents(account));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 3: Concurrent pipelining connections lose no deposits; a bad frame gets BAD_REQUEST
+        test("Concurrent Wire Connections", () -> {
+            BankService bank = new BankService("Test Bank");
+            String account = bank.createSavingsAccount("Test User", 0.0).getAccountNumber();
+            try (BankWireServer server = new BankWireServer(bank, new InetSocketAddress("127.0.0.1", 0), 2)) {
+                server.start();
+                AtomicLong failures = new AtomicLong();
+                runConcurrently(4, 1, () -> {
+                    try (BankWireClient client = new BankWireClient("127.0.0.1", server.getPort())) {
+                        for (int i = 0; i < 2000; i++) {
+                            client.sendDeposit(account, 100);
+                            while (client.getOutstanding() >= 256) {
+                                if (client.receiveStatus() != OperationStatus.OK) {
+                                    failures.incrementAndGet();
+                                }
+                            }
+                        }
+                        while (client.getOutstanding() > 0) {
+                            if (client.receiveStatus() != OperationStatus.OK) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                assertEqual(0L, failures.get());
+                assertEqual(8000.0, bank.getAccount(account).getBalance());
+
+                try (SocketChannel raw = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()))) {
+                    raw.write(ByteBuffer.allocate(9).putInt(5).put((byte) 99).putInt(42).flip());
+                    ByteBuffer reply = ByteBuffer.allocate(9);
+                    while (reply.hasRemaining() && raw.read(reply) >= 0) {
+                        // Until the whole reply is in
+                    }
+                    reply.flip();
+                    assertEqual(5, reply.getInt());
+                    assertEqual(42, reply.getInt());
+                    assertEqual(WireProtocol.BAD_REQUEST, reply.get());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 4: A request the bank throws on closes its connection, but the event loop lives on
+        test("Wire Loop Survives Failed Operation", () -> {
+            Path journal = tempFile("bank-wire", ".journal");
+            try (BankService bank = BankService.open("Test Bank", journal);
+                 BankWireServer server = new BankWireServer(bank, new InetSocketAddress("127.0.0.1", 0), 1);
+                 BankWireClient failing = startWireClient(server)) {
+                String account = bank.createSavingsAccount("Test User", 100.0).getAccountNumber();
+                bank.close(); // Journal appends now fail
+                expectException(UncheckedIOException.class, () -> {
+                    try {
+                        failing.deposit(account, 100);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                try (BankWireClient client = new BankWireClient("127.0.0.1", server.getPort())) {
+                    assertEqual(bank.getAccount(account).getBalanceCents(), client.getBalanceCents(account));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Test 5: Large replies pause parsing until they drain, then every request is still answered in order
+        test("Wire Replies Bounded By Reader", () -> {
+            BankService bank = new BankService("Test Bank");
+            String account = bank.createSavingsAccount("Test User", 0.0).getAccountNumber();
+            for (int i = 0; i < WireProtocol.MAX_HISTORY_ENTRIES; i++) {
+                bank.getAccount(account).deposit(1.0);
+            }
+            int requests = 500;
+            try (BankWireServer server = new BankWireServer(bank, new InetSocketAddress("127.0.0.1", 0), 1)) {
+                server.start();
+                try (SocketChannel raw = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()))) {
+                    Thread sender = new Thread(() -> {
+                        ByteBuffer request = ByteBuffer.allocate(requests * (4 + 10 + account.length()));
+                        for (int id = 0; id < requests; id++) {
+                            request.putInt(10 + account.length()).put(WireProtocol.HISTORY).putInt(id)
+                                    .put((byte) account.length()).put(account.getBytes(StandardCharsets.US_ASCII))
+                                    .putInt(WireProtocol.MAX_HISTORY_ENTRIES);
+                        }
+                        try {
+                            raw.write(request.flip());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    sender.start();
+
+                    int replyBytes = 4 + 5 + 1 + bank.getAccount(account).transactionIdPrefix().length() + 4
+                            + WireProtocol.MAX_HISTORY_ENTRIES * (8 + 1 + 8 + 8 + 8 + 1 + 8);
+                    ByteBuffer reply = ByteBuffer.allocate(replyBytes);
+                    for (int id = 0; id < requests; id++) {
+                        reply.clear();
+                        while (reply.hasRemaining() && raw.read(reply) >= 0) {
+                            // Until the whole reply is in
+                        }
+                        reply.flip();
+                        assertEqual(replyBytes - 4, reply.getInt());
+                        assertEqual(id, reply.getInt());
+                        assertEqual(OperationStatus.OK, reply.get());
+                    }
+                    sender.join();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static BankWireClient startWireClient(BankWireServer server) throws IOException {
+        server.start();
+        return new BankWireClient("127.0.0.1", server.getPort());
+    }
+
+    private static HttpResponse<String> http(HttpClient http, String method, String url, String json) {
+        HttpRequest.BodyPublisher body = json == null
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json);
+        try {
+            return http.send(HttpRequest.newBuilder(URI.create(url)).method(method, body).build(),
+                    HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted during request");
+        }
+    }
+
+    // 3000 accounts, maintained on one worker until the first chunk's progress callback fails
+    private static void runInterruptedMaintenance(Path journal, boolean snapshot) {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try (BankService bank = BankService.open("Test Bank", journal)) {
+            for (int i = 0; i < 3000; i++) {
+                bank.createSavingsAccount("User " + i, 1000.0, 0.12);
+            }
+            expectException(IllegalStateException.class, () ->
+                    bank.performMonthlyMaintenance(pool, failAfterFirstChunk()));
+            if (snapshot) {
+                bank.snapshot();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertResumedOnce(Path journal) {
+        try (BankService bank = BankService.open("Test Bank", journal)) {
+            assertTrue(bank.hasInterruptedMaintenance());
+            MaintenanceReport report = bank.performMonthlyMaintenance();
+            assertEqual(1, report.getPeriod());
+            assertEqual(3000L - 1024, report.getAccountsProcessed());
+            for (Account account : bank.getAllAccounts()) {
+                assertEqual(1010.0, account.getBalance());
+                assertEqual(1L, interestEntries(account));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MaintenanceProgressListener failAfterFirstChunk() {
+        AtomicBoolean failed = new AtomicBoolean();
+        return (processed, total) -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Simulated failure");
+            }
+        };
+    }
+
+    private static long interestEntries(Account account) {
+        return account.getTransactionHistory().stream()
+                .filter(t -> t.getType() == Transaction.TransactionType.INTEREST)
+                .count();
+    }
+
+    private static long sumOfBalancesCents(BankService bank) {
+        long total = 0;
+        for (Account account : bank.getAllAccounts()) {
+            total += account.getBalanceCents();
+        }
+        return total;
+    }
+
+    // ==================== Test Utilities ====================
+
+    private static Path tempDirectory(String prefix) {
+        try {
+            Path directory = Files.createTempDirectory(prefix);
+            directory.toFile().deleteOnExit();
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path tempFile(String prefix, String suffix) {
+        try {
+            Path file = Files.createTempFile(prefix, suffix);
+            Files.delete(file);
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void runConcurrently(int threads, int iterationsPerThread, Runnable task) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < iterationsPerThread; i++) {
+                    task.run();
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                throw new AssertionError("Concurrent workers did not finish (possible deadlock)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while waiting for workers");
+        }
+    }
+    
+    private static void test(String name, Runnable testCode) {
+        testsRun++;
+        try {
+            testCode.run();
+            testsPassed++;
+            System.out.println("  ✓ " + name);
+        } catch (AssertionError e) {
+            testsFailed++;
+            System.out.println("  ✗ " + name);
+            System.out.println("      Assertion failed: " + e.getMessage());
+        } catch (Exception e) {
+            testsFailed++;
+            System.out.println("  ✗ " + name);
+            System.out.println("      Exception: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+        }
+    }
+
+    private static void assertEqual(Object expected, Object actual) {
+        if (expected == null && actual == null) return;
+        if (expected == null || !expected.equals(actual)) {
+            throw new AssertionError("Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    private static void assertEqual(double expected, double actual) {
+        if (Math.abs(expected - actual) > 0.01) {
+            throw new AssertionError("Expected: " + expected + ", Actual: " + actual);
+        }
+    }
+
+    private static void assertTrue(boolean condition) {
+        if (!condition) {
+            throw new AssertionError("Expected true but was false");
+        }
+    }
+
+    private static void assertFalse(boolean condition) {
+        if (condition) {
+            throw new AssertionError("Expected false but was true");
+        }
+    }
+
+    private static <T extends Exception> void expectException(Class<T> exceptionClass, Runnable code) {
+        try {
+            code.run();
+            throw new AssertionError("Expected " + exceptionClass.getSimpleName() + " but no exception was thrown");
+        } catch (Exception e) {
+            if (!exceptionClass.isInstance(e)) {
+                throw new AssertionError("Expected " + exceptionClass.getSimpleName() + 
+                        " but got " + e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private static void printTestCategory(String category) {
+        System.out.println("\n▶ " + category);
+        System.out.println("─".repeat(50));
+    }
+
+    private static void printTestSummary() {
+        System.out.println("\n╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║                      TEST SUMMARY                            ║");
+        System.out.println("╠══════════════════════════════════════════════════════════════╣");
+        System.out.printf("║  Total Tests: %-47d║%n", testsRun);
+        System.out.printf("║  Passed:      %-47d║%n", testsPassed);
+        System.out.printf("║  Failed:      %-47d║%n", testsFailed);
+        System.out.println("╠══════════════════════════════════════════════════════════════╣");
+        
+        if (testsFailed == 0) {
+            System.out.println("║             ✓ ALL TESTS PASSED SUCCESSFULLY!                 ║");
+        } else {
+            System.out.printf("║             ✗ %d TEST(S) FAILED                               ║%n", testsFailed);
+        }
+        
+        System.out.println("╚══════════════════════════════════════════════════════════════╝\n");
+    }
+}
@@ -5,12 +5,12 @@ echo.
 echo Starting Bank Management System...
 echo.
 
-REM Check if compiled classes exist
-if not exist "out\production\com\bank\Main.class" (
+REM Check if the application jar exists
+if not exist "bank-cli\target\bank.jar" (
     echo Application not compiled. Running build first...
     call build.bat
     if %errorlevel% neq 0 exit /b 1
 )
 
 REM Run the application
-java -cp out/production com.bank.Main
+java -jar bank-cli\target\bank.jar